@@ -0,0 +1,40 @@
+package Benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+
+/**
+ * BENCHMARK entry point, runs PersistenceBenchmarks and LoginBenchmarks once per dataset size.
+ * each size gets its own directory under bench.dir [default bench-work] which becomes
+ * the working directory of the forked jvm, so erp.db of the project is never used.
+ *
+ * usage: BenchmarkMain [sizes, default 1000,10000,100000] [benchmark regex]
+ */
+public class BenchmarkMain {
+
+    public static void main(String[] args) throws RunnerException {
+        String sizes = args.length > 0 ? args[0] : "1000,10000,100000";
+        String include = args.length > 1 ? args[1] : "Benchmarks\\.(PersistenceBenchmarks|LoginBenchmarks)";
+        File root = new File(System.getProperty("bench.dir", "bench-work")).getAbsoluteFile();
+
+        for (String size : sizes.split(",")) {
+            File dir = new File(root, "students-" + size.trim());
+            if (!dir.isDirectory() && !dir.mkdirs()) {
+                throw new IllegalStateException("could not create " + dir);
+            }
+
+            ChainedOptionsBuilder options = new OptionsBuilder()
+                    .include(include)
+                    .param("students", size.trim())
+                    .jvmArgsAppend("-Duser.dir=" + dir.getPath())
+                    .result(new File(root, "results-" + size.trim() + ".json").getPath())
+                    .resultFormat(ResultFormatType.JSON);
+            new Runner(options.build()).run();
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package Benchmarks;
+
+import Domain.Abstracts.UserEntity;
+import Domain.Concretes.Course;
+import Domain.Concretes.Instructor;
+import Domain.Concretes.Section;
+import Domain.Concretes.Student;
+import Domain.Database.SchemaRegistry;
+import Domain.Database.UnitOfWork;
+import Domain.Database.sqliteConnector;
+import Domain.Rules.ApplicationRules;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * DATASET generator filling erp.db and credentials.db of the working directory
+ * with a deterministic population sized by student count [1k / 10k / 100k].
+ * everything is written through the domain entities so the rows look exactly like
+ * the ones the application produces, grouped into units of work for speed.
+ *
+ * a generated database is tagged in settings [bench.dataset] and reused when the tag
+ * matches, a database holding anything else is never touched [REFUSE].
+ */
+public final class Dataset {
+    public static final String SEMESTER = "BENCH_2025";
+    public static final String PASSWORD = "123";
+    public static final String SPARE_SECTION = "BSEC_SPARE";
+
+    public static final int COURSES_PER_SECTION_BLOCK = 8;
+    public static final int SECTIONS_PER_STUDENT = 4;
+    public static final int SECTION_FILL = 50;
+    public static final int SECTION_CAPACITY = 60;
+    public static final int STUDENTS_PER_INSTRUCTOR = 500;
+
+    private static final String markerKey = "bench.dataset";
+    private static final String[] days = {"Monday", "Tuesday", "Wednesday", "Thursday", "Friday"};
+    private static final int batch = 500;
+
+    private final int students;
+    private final int sections;
+    private final int courses;
+    private final int instructors;
+
+    public Dataset(int students) {
+        if (students < 1) throw new IllegalArgumentException("dataset needs at least one student");
+        this.students = students;
+        this.sections = Math.max(1, (students * SECTIONS_PER_STUDENT + SECTION_FILL - 1) / SECTION_FILL);
+        this.courses = Math.max(1, sections / COURSES_PER_SECTION_BLOCK);
+        this.instructors = Math.max(1, students / STUDENTS_PER_INSTRUCTOR);
+    }
+
+    public int getStudents()    { return students; }
+    public int getSections()    { return sections; }
+    public int getCourses()     { return courses; }
+    public int getInstructors() { return instructors; }
+
+    public static String studentId(int i)    { return String.format("BSTU_%06d", i); }
+    public static String sectionId(int i)    { return String.format("BSEC_%05d", i); }
+    public static String courseId(int i)     { return String.format("BCRS_%04d", i); }
+    public static String instructorId(int i) { return String.format("BINS_%04d", i); }
+
+    /**
+     * @return index of the j-th section student i is enrolled in, every section ends up with SECTION_FILL students.
+     */
+    public int sectionOf(int student, int j) {
+        return (int) (((long) student * SECTIONS_PER_STUDENT + j) % sections);
+    }
+
+    public int instructorOf(int section) {
+        return section % instructors;
+    }
+
+    /**
+     * MAKES sure the working directory holds this dataset, generating it when absent.
+     */
+    public void ensure() throws SQLException {
+        SchemaRegistry.bootstrap();
+        String tag = tag();
+        String existing = readMarker();
+        if (tag.equals(existing)) return;
+        if (existing != null || countRows("students") > 0 || countRows("sections") > 0) {
+            throw new IllegalStateException("refusing to generate benchmark data into a database holding other data ("
+                    + System.getProperty("user.dir") + "), run benchmarks from an empty directory");
+        }
+        generate();
+        writeMarker(tag);
+        sqliteConnector.checkpoint();
+    }
+
+    private void generate() throws SQLException {
+        Random random = new Random(students);
+        Section[] loaded = new Section[sections];
+        ApplicationRules.setCurrentSemester(SEMESTER);
+
+        UnitOfWork.execute(() -> {
+            for (int i = 0; i < courses; i++) {
+                new Course(courseId(i), "Benchmark Course " + i, 2 + i % 3, SECTION_CAPACITY).onPresistenceSave();
+            }
+            new Section(SPARE_SECTION, "Spare Section", courseId(0), instructorId(0),
+                    SEMESTER, Integer.MAX_VALUE, 0).onPresistenceSave();
+        });
+
+        for (int from = 0; from < sections; from += batch) {
+            int to = Math.min(sections, from + batch);
+            int start = from;
+            UnitOfWork.execute(() -> {
+                for (int i = start; i < to; i++) {
+                    Section section = new Section(sectionId(i), "Benchmark Section " + i, courseId(i % courses),
+                            instructorId(instructorOf(i)), SEMESTER, SECTION_CAPACITY, 0);
+                    section.onPresistenceSave();
+                    List<Section.TimeSlot> slots = new ArrayList<>();
+                    // a student's sections differ in i % SECTIONS_PER_STUDENT, hours follow it [NO CLASH]
+                    String hour = String.format("%02d:00", 8 + 2 * (i % SECTIONS_PER_STUDENT));
+                    int block = i / SECTIONS_PER_STUDENT;
+                    slots.add(new Section.TimeSlot(days[block % days.length], hour, 60, "R" + block));
+                    slots.add(new Section.TimeSlot(days[(block + 2) % days.length], hour, 60, "R" + block));
+                    section.updateTimetable(slots, UserEntity.Permission.PERMISSION_ADMIN);
+                }
+            });
+        }
+
+        UnitOfWork.execute(() -> {
+            for (int i = 0; i < instructors; i++) {
+                Instructor instructor = new Instructor(instructorId(i), "Benchmark Instructor " + i,
+                        "bins" + i + "@bench.edu", "9" + i, PASSWORD);
+                instructor.onPresistenceSave();
+                for (int s = i; s < sections; s += instructors) instructor.assignToSection(sectionId(s));
+                instructor.assignToSection(SPARE_SECTION);
+            }
+        });
+
+        for (int from = 0; from < students; from += batch) {
+            int to = Math.min(students, from + batch);
+            int start = from;
+            UnitOfWork.execute(() -> {
+                for (int i = start; i < to; i++) {
+                    Student student = new Student(studentId(i), "Benchmark Student " + i, "2025-01-01",
+                            "bstu" + i + "@bench.edu", "8" + i, PASSWORD);
+                    student.onPresistenceSave();
+                    for (int j = 0; j < SECTIONS_PER_STUDENT; j++) {
+                        int index = sectionOf(i, j);
+                        student.enrollInCourse(sectionId(index));
+                        if (loaded[index] == null) loaded[index] = new Section(sectionId(index));
+                        Section.StudentGradeProxy marks = loaded[index]
+                                .getStudentGradeRecord(student.getId(), UserEntity.Permission.PERMISSION_ADMIN);
+                        marks.setLabs(random.nextInt(16));
+                        marks.setQuiz(random.nextInt(11));
+                        marks.setMidExams(random.nextInt(26));
+                        marks.setEndExams(random.nextInt(26));
+                        marks.setAssignments(random.nextInt(16));
+                        marks.setProjects(random.nextInt(11));
+                        marks.setBonus(0);
+                        marks.WriteToDatabase();
+                    }
+                }
+            });
+        }
+    }
+
+    private String tag() {
+        return "students=" + students + ";sections=" + sections + ";courses=" + courses + ";instructors=" + instructors;
+    }
+
+    private String readMarker() throws SQLException {
+        try (Connection c = sqliteConnector.borrow(sqliteConnector.ERP_DATABASE);
+             PreparedStatement s = c.prepareStatement("SELECT value FROM settings WHERE key = ?")) {
+            s.setString(1, markerKey);
+            ResultSet rs = s.executeQuery();
+            return rs.next() ? rs.getString(1) : null;
+        }
+    }
+
+    private void writeMarker(String tag) throws SQLException {
+        try (Connection c = sqliteConnector.borrow(sqliteConnector.ERP_DATABASE);
+             PreparedStatement s = c.prepareStatement("INSERT OR REPLACE INTO settings(key, value) VALUES(?, ?)")) {
+            s.setString(1, markerKey);
+            s.setString(2, tag);
+            s.executeUpdate();
+        }
+    }
+
+    private int countRows(String table) throws SQLException {
+        try (Connection c = sqliteConnector.borrow(sqliteConnector.ERP_DATABASE);
+             ResultSet rs = c.createStatement().executeQuery("SELECT COUNT(*) FROM " + table)) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+}
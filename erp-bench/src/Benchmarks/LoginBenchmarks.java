@@ -0,0 +1,73 @@
+package Benchmarks;
+
+import Domain.Abstracts.UserEntity;
+import Domain.Concretes.Student;
+import Domain.Services.AuthenticationService;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * LOGIN BENCHMARKS measuring throughput of concurrent logins [LOGIN STORM].
+ * legacy benchmarks load the Student first and check the password afterwards as LoginView
+ * used to, service benchmarks go through AuthenticationService which checks credentials first.
+ * rejected benchmarks use a wrong password, the cost of a failed or brute force attempt.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class LoginBenchmarks {
+
+    private static final String WRONG_PASSWORD = "not-" + Dataset.PASSWORD;
+
+    @Param({"1000"})
+    public int students;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        new Dataset(students).ensure();
+    }
+
+    /**
+     * CURSOR per benchmark thread, each thread starts at a different offset so
+     * concurrent logins do not hit the same student.
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+        private static final AtomicInteger offsets = new AtomicInteger();
+        private int next = offsets.getAndIncrement() * 104729;
+
+        String nextStudent(int bound) {
+            next = Math.floorMod(next + 7919, bound);
+            return Dataset.studentId(next);
+        }
+    }
+
+    @Benchmark
+    public boolean legacyLogin(Cursor cursor) throws SQLException {
+        return new Student(cursor.nextStudent(students)).authenticate(Dataset.PASSWORD);
+    }
+
+    @Benchmark
+    public boolean legacyRejectedLogin(Cursor cursor) throws SQLException {
+        return new Student(cursor.nextStudent(students)).authenticate(WRONG_PASSWORD);
+    }
+
+    @Benchmark
+    public UserEntity serviceLogin(Cursor cursor) throws SQLException {
+        return AuthenticationService.login(cursor.nextStudent(students), Dataset.PASSWORD,
+                UserEntity.Permission.PERMISSION_STUDENT);
+    }
+
+    @Benchmark
+    public UserEntity rejectedLogin(Cursor cursor) throws SQLException {
+        return AuthenticationService.login(cursor.nextStudent(students), WRONG_PASSWORD,
+                UserEntity.Permission.PERMISSION_STUDENT);
+    }
+}
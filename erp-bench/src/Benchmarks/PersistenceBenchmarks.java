@@ -0,0 +1,138 @@
+package Benchmarks;
+
+import Domain.Concretes.Instructor;
+import Domain.Concretes.Section;
+import Domain.Concretes.Student;
+import Domain.Services.WeeklySchedule;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PERSISTENCE BENCHMARKS for the domain hot paths, run against a generated Dataset.
+ * every benchmark walks ids round robin so consecutive calls hit different rows,
+ * the entity caches are bypassed by constructing entities directly [COLD PATH].
+ *
+ * the dataset lives in the working directory of the forked jvm, BenchmarkMain
+ * points each size at its own directory, see README for how to run it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PersistenceBenchmarks {
+
+    @Param({"1000"})
+    public int students;
+
+    private Dataset dataset;
+    private Student loggedIn;
+    private Student enroller;
+    private Instructor grader;
+    private String gradedSection;
+    private String gradedStudent;
+    private List<Section.GradeRow> gradebookRows;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        dataset = new Dataset(students);
+        dataset.ensure();
+
+        loggedIn = new Student(Dataset.studentId(students / 2));
+        enroller = new Student(Dataset.studentId(0));
+        grader = new Instructor(Dataset.instructorId(dataset.instructorOf(0)));
+        gradedSection = Dataset.sectionId(0);
+        gradedStudent = Dataset.studentId(0);
+        gradebookRows = new ArrayList<>();
+        for (Section.GradebookRow row : Section.loadGradebook(gradedSection)) {
+            gradebookRows.add(new Section.GradeRow(row.studentId, row.labs, row.quiz, row.midExams,
+                    row.endExams, row.assignments, row.projects, row.bonus));
+        }
+    }
+
+    private int nextIndex(int bound) {
+        next = (next + 7919) % bound;
+        return next;
+    }
+
+    @Benchmark
+    public Section loadSection() throws SQLException {
+        return new Section(Dataset.sectionId(nextIndex(dataset.getSections())));
+    }
+
+    @Benchmark
+    public Student loadStudent() throws SQLException {
+        return new Student(Dataset.studentId(nextIndex(students)));
+    }
+
+    @Benchmark
+    public boolean authenticate() {
+        return loggedIn.authenticate(Dataset.PASSWORD);
+    }
+
+    /**
+     * login as LoginView does it, load the user then check the password.
+     */
+    @Benchmark
+    public boolean login() throws SQLException {
+        return new Student(Dataset.studentId(nextIndex(students))).authenticate(Dataset.PASSWORD);
+    }
+
+    /**
+     * one enroll plus one drop per operation, so the dataset is left as it was.
+     */
+    @Benchmark
+    public void enrollAndDrop() throws SQLException {
+        enroller.enrollInCourse(Dataset.SPARE_SECTION);
+        enroller.dropFromCourse(Dataset.SPARE_SECTION);
+    }
+
+    @Benchmark
+    public void enterMarks() throws SQLException {
+        int labs = nextIndex(16);
+        grader.enterMarks(gradedSection, gradedStudent, labs, 5, 20, 20, 10, 5, 0);
+    }
+
+    /**
+     * a whole section gradebook (SECTION_FILL students) submitted in one batch.
+     */
+    @Benchmark
+    public void enterMarksBatch() throws SQLException {
+        grader.enterMarksBatch(gradedSection, gradebookRows);
+    }
+
+    @Benchmark
+    public Instructor.CourseStatsModel sectionStats() throws SQLException {
+        return grader.getSectionStats(gradedSection);
+    }
+
+    @Benchmark
+    public List<Section.GradebookRow> gradebook() throws SQLException {
+        return Section.loadGradebook(Dataset.sectionId(nextIndex(dataset.getSections())));
+    }
+
+    @Benchmark
+    public void weeklySchedule(Blackhole bh) throws SQLException {
+        Student student = new Student(Dataset.studentId(nextIndex(students)));
+        Map<String, List<Section.TimeSlot>> schedule = student.getWeeklySchedule(Dataset.SEMESTER);
+        bh.consume(schedule);
+    }
+
+    /**
+     * what the timetable tab loads, the student is already in memory and the cached schedule is dropped first.
+     */
+    @Benchmark
+    public WeeklySchedule timetableTab() throws SQLException {
+        String studentId = Dataset.studentId(nextIndex(students));
+        WeeklySchedule.invalidate(studentId, Dataset.SEMESTER);
+        return WeeklySchedule.of(studentId, Dataset.SEMESTER);
+    }
+}
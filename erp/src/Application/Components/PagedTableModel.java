@@ -0,0 +1,197 @@
+package Application.Components;
+
+import Domain.Services.AsyncDataService;
+import Domain.Services.KeysetPager;
+
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Table model showing a KeysetPager projection one page at a time.
+ * Only the row count is loaded up front. A page is fetched on the data service pool the
+ * first time one of its rows is painted, together with the next page as prefetch margin,
+ * and only the most recently used pages are kept, so heap stays bounded for any list size.
+ * Clicking a sortable header orders the list on the database side.
+ *
+ * An optional action column (e.g. "EDIT") is appended after the projection columns,
+ * it reads empty until the row is loaded so clicks never act on a placeholder.
+ * filter() narrows the list to given ids (search results), sorting keeps working on them.
+ */
+public class PagedTableModel extends AbstractTableModel {
+    public static final int PAGE_SIZE = 100;
+    public static final int MAX_PAGES = 12;
+    private static final String PENDING = "...";
+
+    private final KeysetPager pager;
+    private final String[] headers;
+    private final String action;
+
+    private final Map<Integer, List<Object[]>> pages = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Integer, List<Object[]>> eldest) {
+            return size() > MAX_PAGES;
+        }
+    };
+    // last row of page n-1 under key n, written by loads so a later page can continue from it
+    private Map<Integer, Object[]> anchors = new ConcurrentHashMap<>();
+    private final Set<Integer> pending = new HashSet<>();
+
+    private List<String> only;
+    private int rowCount;
+    private int sortColumn = 0;
+    private boolean ascending = true;
+    private int generation;
+
+    public PagedTableModel(KeysetPager pager, String[] headers, String action) {
+        this.pager = pager;
+        this.headers = headers.clone();
+        this.action = action;
+    }
+
+    /**
+     * RELOADS the row count and drops every cached page, call after inserts or deletes.
+     */
+    public void refresh() {
+        int expected = reset();
+        if (only != null) {
+            rowCount = Math.min(only.size(), KeysetPager.MAX_IDS);
+            fireTableDataChanged();
+            return;
+        }
+        AsyncDataService.supply(pager::count).whenComplete((count, error) -> SwingUtilities.invokeLater(() -> {
+            if (expected != generation) return;
+            if (error != null) {
+                if (!AsyncDataService.isCancellation(error)) error.printStackTrace();
+                return;
+            }
+            rowCount = count;
+            fireTableDataChanged();
+        }));
+    }
+
+    /**
+     * SHOWS only the rows of given ids, null shows every row again.
+     */
+    public void filter(List<String> ids) {
+        only = ids == null ? null : new ArrayList<>(ids);
+        refresh();
+    }
+
+    public boolean isFiltered() { return only != null; }
+
+    /**
+     * ORDERS the list by given column, clicking the current sort column flips the direction.
+     */
+    public void sortBy(int column) {
+        if (!pager.isSortable(column)) return;
+        ascending = column != sortColumn || !ascending;
+        sortColumn = column;
+        reset();
+        fireTableDataChanged();
+    }
+
+    /**
+     * SORTS on header clicks of given table, which must use this model.
+     */
+    public void installSorting(JTable table) {
+        table.getTableHeader().addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                int column = table.columnAtPoint(e.getPoint());
+                if (column >= 0) sortBy(table.convertColumnIndexToModel(column));
+            }
+        });
+    }
+
+    public int getSortColumn() { return sortColumn; }
+    public boolean isAscending() { return ascending; }
+
+    /**
+     * @return number of pages held in memory right now.
+     */
+    public int getCachedPageCount() { return pages.size(); }
+
+    @Override public int getRowCount() { return rowCount; }
+    @Override public int getColumnCount() { return headers.length; }
+    @Override public boolean isCellEditable(int row, int column) { return false; }
+
+    @Override public String getColumnName(int column) { return headers[column]; }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        int page = row / PAGE_SIZE;
+        List<Object[]> rows = pages.get(page);
+        if (rows == null) {
+            request(page);
+            return column == 0 ? PENDING : "";
+        }
+        int index = row % PAGE_SIZE;
+        if (index >= rows.size()) return "";
+        return column == pager.getColumnCount() ? action : rows.get(index)[column];
+    }
+
+    private int reset() {
+        generation++;
+        pages.clear();
+        anchors = new ConcurrentHashMap<>();
+        pending.clear();
+        return generation;
+    }
+
+    private void request(int page) {
+        if (!pending.add(page)) return;
+        int expected = generation;
+        int column = sortColumn;
+        boolean asc = ascending;
+        Map<Integer, Object[]> known = anchors;
+        List<String> ids = only;
+
+        AsyncDataService.supply(() -> load(page, column, asc, known, ids)).whenComplete((rows, error) ->
+                SwingUtilities.invokeLater(() -> {
+                    if (expected != generation) return;
+                    pending.remove(page);
+                    if (error != null) {
+                        if (!AsyncDataService.isCancellation(error)) error.printStackTrace();
+                        return;
+                    }
+                    int first = page * PAGE_SIZE;
+                    pages.put(page, new ArrayList<>(rows.subList(0, Math.min(PAGE_SIZE, rows.size()))));
+                    if (rows.size() > PAGE_SIZE) {
+                        pages.put(page + 1, new ArrayList<>(rows.subList(PAGE_SIZE, rows.size())));
+                        pending.remove(page + 1);
+                    }
+                    if (rows.size() < 2 * PAGE_SIZE && first + rows.size() < rowCount) {
+                        // rows were removed since counting, or filtered ids no longer exist
+                        rowCount = first + rows.size();
+                        fireTableDataChanged();
+                        return;
+                    }
+                    int last = Math.min(rowCount, first + rows.size()) - 1;
+                    if (last >= first) fireTableRowsUpdated(first, last);
+                }));
+    }
+
+    // runs on the data service pool, reads the page and the one after it [PREFETCH]
+    private List<Object[]> load(int page, int column, boolean asc, Map<Integer, Object[]> anchors,
+                                List<String> ids) throws Exception {
+        Object[] after = null;
+        if (page > 0) {
+            after = anchors.get(page);
+            if (after == null) after = pager.seek(column, asc, page * PAGE_SIZE - 1, ids);
+            if (after == null) return new ArrayList<>();
+        }
+        List<Object[]> rows = pager.page(column, asc, after, 2 * PAGE_SIZE, ids);
+        if (rows.size() >= PAGE_SIZE) anchors.put(page + 1, rows.get(PAGE_SIZE - 1));
+        if (rows.size() == 2 * PAGE_SIZE) anchors.put(page + 2, rows.get(rows.size() - 1));
+        return rows;
+    }
+}
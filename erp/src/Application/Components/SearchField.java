@@ -0,0 +1,51 @@
+package Application.Components;
+
+import Domain.Services.AsyncDataService;
+import Domain.Services.KeysetPager;
+import Domain.Services.SearchIndex;
+
+import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Type-ahead search box over a SearchIndex.
+ * Every edit runs a search on the data service pool, a newer keystroke cancels the one
+ * still running so only the latest results reach the listener (on the event dispatch thread).
+ * An empty box reports null, meaning show everything again.
+ * The index is warmed up in the background as soon as the field is created.
+ */
+public class SearchField extends StyledField {
+
+    private final AsyncDataService.Channel channel = new AsyncDataService.Channel();
+
+    public SearchField(String placeholder, SearchIndex index, Consumer<List<String>> onResults) {
+        super(placeholder);
+
+        AsyncDataService.supply(() -> {
+            index.ensureLoaded();
+            return null;
+        }).whenComplete((ignored, error) -> {
+            if (error != null && !AsyncDataService.isCancellation(error)) error.printStackTrace();
+        });
+
+        getDocument().addDocumentListener(new DocumentListener() {
+            @Override public void insertUpdate(DocumentEvent e) { search(index, onResults); }
+            @Override public void removeUpdate(DocumentEvent e) { search(index, onResults); }
+            @Override public void changedUpdate(DocumentEvent e) { search(index, onResults); }
+        });
+    }
+
+    private void search(SearchIndex index, Consumer<List<String>> onResults) {
+        String query = getText().trim();
+        if (query.isEmpty()) {
+            channel.cancel();
+            onResults.accept(null);
+            return;
+        }
+        channel.submit(() -> index.search(query, KeysetPager.MAX_IDS), SwingUtilities::invokeLater,
+                onResults, Throwable::printStackTrace);
+    }
+}
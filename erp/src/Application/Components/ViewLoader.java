@@ -0,0 +1,57 @@
+package Application.Components;
+
+import Domain.Services.AsyncDataService;
+
+import javax.swing.*;
+import java.awt.event.HierarchyEvent;
+import java.util.function.Consumer;
+
+/**
+ * Loads data for one view on the AsyncDataService pool and applies it on the EDT.
+ * A newer load replaces the one in flight. Hiding the view (switching tab) cancels
+ * a running load, and the view reloads the next time it is shown. Hiding is seen
+ * through the showing state, so a loader bound to a nested panel notices its card
+ * being switched away as well.
+ */
+public class ViewLoader {
+
+    private final AsyncDataService.Channel channel = new AsyncDataService.Channel();
+    private Runnable lastRequest;
+    private boolean stale = false;
+
+    public ViewLoader(JComponent view) {
+        view.addHierarchyListener(e -> {
+            if ((e.getChangeFlags() & HierarchyEvent.SHOWING_CHANGED) == 0) return;
+            if (view.isShowing()) shown();
+            else hidden();
+        });
+    }
+
+    private void hidden() {
+        if (channel.isBusy()) {
+            channel.cancel();
+            stale = true;
+        }
+    }
+
+    private void shown() {
+        if (stale && lastRequest != null) {
+            stale = false;
+            lastRequest.run();
+        }
+    }
+
+    public <T> void load(AsyncDataService.Query<T> query, Consumer<T> onResult) {
+        lastRequest = () -> load(query, onResult);
+        stale = false;
+        channel.submit(query, SwingUtilities::invokeLater, onResult, Throwable::printStackTrace);
+    }
+
+    public boolean isLoading() {
+        return channel.isBusy();
+    }
+
+    public void cancel() {
+        channel.cancel();
+    }
+}
@@ -4,7 +4,9 @@ import Application.Components.StyleConstants;
 import Application.Components.StyledButton;
 import Application.Views.AdminViews.*;
 import Domain.Concretes.Admin;
+import Domain.Database.sqliteConnector;
 import Domain.Rules.ApplicationRules;
+import Domain.Services.ChangeFeed;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
@@ -143,6 +145,7 @@ public class AdminDashboard extends JFrame {
             if (prefix == null || prefix.trim().isEmpty()) prefix = "backup";
 
             try {
+                sqliteConnector.checkpoint();
                 File erpDb = new File("erp.db");
                 File credDb = new File("credentials.db");
 
@@ -178,6 +181,12 @@ public class AdminDashboard extends JFrame {
 
         if (confirm == JOptionPane.YES_OPTION) {
             try {
+                ChangeFeed.stop();
+                sqliteConnector.shutdown();
+                for (String db : new String[]{"erp.db", "credentials.db"}) {
+                    Files.deleteIfExists(new File(db + "-wal").toPath());
+                    Files.deleteIfExists(new File(db + "-shm").toPath());
+                }
                 if (backupErp.exists()) {
                     Files.copy(backupErp.toPath(), new File("erp.db").toPath(), StandardCopyOption.REPLACE_EXISTING);
                 }
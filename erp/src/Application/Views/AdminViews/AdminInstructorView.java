@@ -3,7 +3,10 @@ package Application.Views.AdminViews;
 import Application.Components.*;
 import Domain.Concretes.Instructor;
 import Domain.Concretes.Section;
+import Domain.Database.UnitOfWork;
 import Domain.Database.sqliteConnector;
+import Domain.Services.KeysetPager;
+import Domain.Services.SearchIndex;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
@@ -21,7 +24,7 @@ import java.util.List;
 public class AdminInstructorView extends JPanel {
 
     private StyledTable table;
-    private DefaultTableModel model;
+    private PagedTableModel model;
 
     public AdminInstructorView() {
         setLayout(new BorderLayout());
@@ -42,18 +45,21 @@ public class AdminInstructorView extends JPanel {
 
         header.add(title, BorderLayout.WEST);
         header.add(addBtn, BorderLayout.EAST);
+
+        SearchField search = new SearchField("Search by ID, name or email", SearchIndex.INSTRUCTORS, ids -> model.filter(ids));
+        JPanel searchPanel = new JPanel(new BorderLayout());
+        searchPanel.setOpaque(false);
+        searchPanel.setBorder(new EmptyBorder(0, 30, 0, 30));
+        searchPanel.add(search, BorderLayout.CENTER);
+        header.add(searchPanel, BorderLayout.CENTER);
         add(header, BorderLayout.NORTH);
 
         String[] cols = {"ID", "Name", "Email", "Phone", "Action"};
-        model = new DefaultTableModel(cols, 0) {
-            @Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
+        model = new PagedTableModel(KeysetPager.INSTRUCTORS, cols, "EDIT");
 
         table = new StyledTable(cols, new Object[][]{});
         table.setModel(model);
+        model.installSorting(table);
 
         table.getColumnModel().getColumn(4).setMinWidth(80);
         table.getColumnModel().getColumn(4).setMaxWidth(80);
@@ -64,7 +70,7 @@ public class AdminInstructorView extends JPanel {
             public void mouseClicked(MouseEvent e) {
                 int row = table.rowAtPoint(e.getPoint());
                 int col = table.columnAtPoint(e.getPoint());
-                if (row >= 0 && col == 4) {
+                if (row >= 0 && col == 4 && "EDIT".equals(model.getValueAt(row, 4))) {
                     String id = (String) model.getValueAt(row, 0);
                     try {
                         Instructor i = new Instructor(id);
@@ -85,26 +91,7 @@ public class AdminInstructorView extends JPanel {
     }
 
     public void refreshData() {
-        model.setRowCount(0);
-        List<String> ids = new ArrayList<>();
-
-        try (Connection c = sqliteConnector.connect("jdbc:sqlite:erp.db");
-             ResultSet rs = c.createStatement().executeQuery("SELECT id FROM instructors")) {
-            while (rs.next()) {
-                ids.add(rs.getString("id"));
-            }
-        } catch (Exception e) {
-            e.printStackTrace();
-        }
-
-        for (String id : ids) {
-            try {
-                Instructor i = new Instructor(id);
-                model.addRow(new Object[]{i.getId(), i.getName(), i.getEmail(), i.getPhone(), "EDIT"});
-            } catch (Exception e) {
-                e.printStackTrace();
-            }
-        }
+        model.refresh();
     }
 
     private void openEditDialog(Instructor existing) {
@@ -362,7 +349,7 @@ public class AdminInstructorView extends JPanel {
 
     private void refreshAssignedSections(Instructor instructor, DefaultTableModel model) {
         model.setRowCount(0);
-        String sql = "SELECT id FROM sections WHERE TRIM(instructor_id) = ? OR TRIM(instructor_id) = ?";
+        String sql = "SELECT id FROM sections WHERE instructor_id IN (?, ?)";
 
         try (Connection c = sqliteConnector.connect("jdbc:sqlite:erp.db");
              PreparedStatement s = c.prepareStatement(sql)) {
@@ -394,11 +381,16 @@ public class AdminInstructorView extends JPanel {
 
     private void unassignSection(Instructor instructor, String sectionId, DefaultTableModel model) {
         String sql = "DELETE FROM teaching WHERE instructor_id = ? AND section_id = ?";
-        try (Connection c = sqliteConnector.connect("jdbc:sqlite:erp.db");
-             PreparedStatement s = c.prepareStatement(sql)) {
-            s.setString(1, instructor.getId());
-            s.setString(2, sectionId);
-            s.executeUpdate();
+        try {
+            UnitOfWork.execute(() -> {
+                try (Connection c = sqliteConnector.borrow(sqliteConnector.ERP_DATABASE);
+                     PreparedStatement s = c.prepareStatement(sql)) {
+                    s.setString(1, instructor.getId());
+                    s.setString(2, sectionId);
+                    s.executeUpdate();
+                }
+            });
+            Instructor.getCache().invalidate(instructor.getId());
 
             Section sec = new Section(sectionId);
             boolean isOwner = (sec.getInstructorId() != null) &&
@@ -4,7 +4,11 @@ import Application.Components.*;
 import Domain.Concretes.Course;
 import Domain.Concretes.Instructor;
 import Domain.Concretes.Section;
+import Domain.Database.UnitOfWork;
 import Domain.Database.sqliteConnector;
+import Domain.Events.DomainEvents;
+import Domain.Events.SectionUpdated;
+import Domain.Services.KeysetPager;
 import Domain.Rules.ApplicationRules;
 
 import javax.swing.*;
@@ -23,7 +27,7 @@ import java.util.List;
 public class AdminSectionView extends JPanel {
 
     private StyledTable table;
-    private DefaultTableModel model;
+    private PagedTableModel model;
     private StyledComboBox<String> activeSemCombo;
     private StyledField deadlineField;
 
@@ -49,12 +53,11 @@ public class AdminSectionView extends JPanel {
         add(header, BorderLayout.NORTH);
 
         String[] cols = {"ID", "Name", "Course ID", "Instructor ID", "Semester", "Cap", "Enrolled", "Action"};
-        model = new DefaultTableModel(cols, 0) {
-            @Override public boolean isCellEditable(int row, int column) { return false; }
-        };
+        model = new PagedTableModel(KeysetPager.SECTIONS, cols, "EDIT");
 
         table = new StyledTable(cols, new Object[][]{});
         table.setModel(model);
+        model.installSorting(table);
 
         table.getColumnModel().getColumn(7).setPreferredWidth(80);
 
@@ -63,7 +66,7 @@ public class AdminSectionView extends JPanel {
             public void mouseClicked(MouseEvent e) {
                 int row = table.rowAtPoint(e.getPoint());
                 int col = table.columnAtPoint(e.getPoint());
-                if (row >= 0 && col == 7) {
+                if (row >= 0 && col == 7 && "EDIT".equals(model.getValueAt(row, 7))) {
                     String id = (String) model.getValueAt(row, 0);
                     try {
                         Section s = new Section(id);
@@ -134,25 +137,7 @@ public class AdminSectionView extends JPanel {
     }
 
     public void refreshData() {
-        model.setRowCount(0);
-        List<String> ids = new ArrayList<>();
-
-        try (Connection c = sqliteConnector.connect("jdbc:sqlite:erp.db");
-             ResultSet rs = c.createStatement().executeQuery("SELECT id FROM sections")) {
-            while(rs.next()) {
-                ids.add(rs.getString("id"));
-            }
-        } catch (Exception e) { e.printStackTrace(); }
-
-        for (String id : ids) {
-            try {
-                Section s = new Section(id);
-                model.addRow(new Object[]{
-                        s.getId(), s.getName(), s.getCourseId(), s.getInstructorId(),
-                        s.getSemester(), s.getCapacity(), s.getContains(), "EDIT"
-                });
-            } catch (Exception e) { e.printStackTrace(); }
-        }
+        model.refresh();
     }
 
     private String[] getAllSemesters() {
@@ -424,8 +409,14 @@ public class AdminSectionView extends JPanel {
 
                 if(!tStr.matches("\\d{2}:\\d{2}")) throw new Exception("Invalid Time Format (HH:MM)");
 
-                slots.add(new Section.TimeSlot(dStr, tStr, min, rStr));
-                targetSec.updateTimetable(slots, Domain.Abstracts.UserEntity.Permission.PERMISSION_ADMIN);
+                Section.TimeSlot added = new Section.TimeSlot(dStr, tStr, min, rStr);
+                slots.add(added);
+                try {
+                    targetSec.updateTimetable(slots, Domain.Abstracts.UserEntity.Permission.PERMISSION_ADMIN);
+                } catch (SQLException clash) {
+                    slots.remove(added);
+                    throw clash;
+                }
 
                 tModel.setRowCount(0);
                 for(Section.TimeSlot ts : slots) {
@@ -510,11 +501,17 @@ public class AdminSectionView extends JPanel {
 
     private void updateSectionCourseId(String sectionId, String newCourseId) {
         String sql = "UPDATE sections SET course_id = ? WHERE id = ?";
-        try (Connection c = sqliteConnector.connect("jdbc:sqlite:erp.db");
-             java.sql.PreparedStatement s = c.prepareStatement(sql)) {
-            s.setString(1, newCourseId);
-            s.setString(2, sectionId);
-            s.executeUpdate();
+        try {
+            UnitOfWork.execute(() -> {
+                try (Connection c = sqliteConnector.borrow(sqliteConnector.ERP_DATABASE);
+                     PreparedStatement s = c.prepareStatement(sql)) {
+                    s.setString(1, newCourseId);
+                    s.setString(2, sectionId);
+                    s.executeUpdate();
+                }
+                DomainEvents.publish(new SectionUpdated(sectionId, false));
+            });
+            Section.getCache().invalidate(sectionId);
         } catch (Exception e) { e.printStackTrace(); }
     }
 }
\ No newline at end of file
@@ -2,23 +2,19 @@ package Application.Views.AdminViews;
 
 import Application.Components.*;
 import Domain.Concretes.Student;
-import Domain.Database.sqliteConnector;
+import Domain.Services.KeysetPager;
+import Domain.Services.SearchIndex;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
-import javax.swing.table.DefaultTableModel;
 import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
-import java.sql.Connection;
-import java.sql.ResultSet;
-import java.util.ArrayList;
-import java.util.List;
 
 public class AdminStudentView extends JPanel {
 
     private StyledTable table;
-    private DefaultTableModel model;
+    private PagedTableModel model;
 
     public AdminStudentView() {
         setLayout(new BorderLayout());
@@ -38,16 +34,22 @@ public class AdminStudentView extends JPanel {
 
         header.add(title, BorderLayout.WEST);
         header.add(addBtn, BorderLayout.EAST);
+
+        SearchField search = new SearchField("Search by ID, name or email", SearchIndex.STUDENTS, ids -> model.filter(ids));
+        JPanel searchPanel = new JPanel(new BorderLayout());
+        searchPanel.setOpaque(false);
+        searchPanel.setBorder(new EmptyBorder(0, 30, 0, 30));
+        searchPanel.add(search, BorderLayout.CENTER);
+        header.add(searchPanel, BorderLayout.CENTER);
         header.setBorder(new EmptyBorder(0,0,20,0));
         add(header, BorderLayout.NORTH);
 
         String[] cols = {"ID", "Name", "Email", "Phone", "Enrolled", "Action"};
-        model = new DefaultTableModel(cols, 0) {
-            @Override public boolean isCellEditable(int row, int column) { return false; }
-        };
+        model = new PagedTableModel(KeysetPager.STUDENTS, cols, "EDIT");
 
         table = new StyledTable(cols, new Object[][]{});
         table.setModel(model);
+        model.installSorting(table);
 
         table.getColumnModel().getColumn(5).setPreferredWidth(80);
 
@@ -56,7 +58,7 @@ public class AdminStudentView extends JPanel {
             public void mouseClicked(MouseEvent e) {
                 int row = table.rowAtPoint(e.getPoint());
                 int col = table.columnAtPoint(e.getPoint());
-                if (row >= 0 && col == 5) {
+                if (row >= 0 && col == 5 && "EDIT".equals(model.getValueAt(row, 5))) {
                     String id = (String) model.getValueAt(row, 0);
                     try {
                         Student s = new Student(id);
@@ -75,26 +77,7 @@ public class AdminStudentView extends JPanel {
     }
 
     private void refreshData() {
-        model.setRowCount(0);
-        List<String> ids = new ArrayList<>();
-
-        try (Connection c = sqliteConnector.connect("jdbc:sqlite:erp.db");
-             ResultSet rs = c.createStatement().executeQuery("SELECT id FROM students")) {
-            while(rs.next()) {
-                ids.add(rs.getString("id"));
-            }
-        } catch (Exception e) { e.printStackTrace(); }
-
-        for (String id : ids) {
-            try {
-                Student s = new Student(id);
-                model.addRow(new Object[]{
-                        s.getId(), s.getName(), s.getEmail(), s.getPhone(), s.getEnrollmentDate(), "EDIT"
-                });
-            } catch (Exception e) {
-                e.printStackTrace();
-            }
-        }
+        model.refresh();
     }
 
     private void openEditDialog(Student existing) {
@@ -5,6 +5,7 @@ import Application.Components.StyledButton;
 import Domain.Concretes.Instructor;
 import Domain.Concretes.Section;
 import Domain.Database.sqliteConnector;
+import Domain.Services.SectionStatistics;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
@@ -16,8 +17,6 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -77,15 +76,14 @@ public class CourseStatisticsView extends JPanel {
             listContainer.add(Box.createVerticalStrut(50));
             listContainer.add(empty);
         } else {
-            for (String secId : mySections) {
-                try {
-                    Section section = new Section(secId);
+            try {
+                for (Section section : Section.loadAll(mySections).values()) {
                     StatsPanel panel = new StatsPanel(section);
                     listContainer.add(panel);
                     listContainer.add(Box.createVerticalStrut(15));
-                } catch (Exception e) {
-                    e.printStackTrace();
                 }
+            } catch (Exception e) {
+                e.printStackTrace();
             }
         }
 
@@ -95,7 +93,7 @@ public class CourseStatisticsView extends JPanel {
 
     private List<String> getAssignedSections() {
         List<String> sections = new ArrayList<>();
-        String sql = "SELECT id FROM sections WHERE TRIM(instructor_id) = ? OR TRIM(instructor_id) = ?";
+        String sql = "SELECT id FROM sections WHERE instructor_id IN (?, ?)";
 
         try (Connection conn = sqliteConnector.connect("jdbc:sqlite:erp.db");
              PreparedStatement stmt = conn.prepareStatement(sql)) {
@@ -117,11 +115,11 @@ public class CourseStatisticsView extends JPanel {
         private final JPanel contentPanel;
         private boolean isExpanded = false;
         private final StyledButton toggleBtn;
-        private final List<Float> totalScores;
+        private final SectionStatistics stats;
 
-        public StatsPanel(Section section) {
+        public StatsPanel(Section section) throws SQLException {
             this.section = section;
-            this.totalScores = fetchTotalScores();
+            this.stats = SectionStatistics.of(section.getId());
 
             setLayout(new BorderLayout());
             setBackground(Color.WHITE);
@@ -135,7 +133,7 @@ public class CourseStatisticsView extends JPanel {
 
             String titleText = "<html><b style='font-size:16px; color:#2c3e50'>" + section.getId() + "</b>" +
                     " <span style='color:#7f8c8d'> | " + section.getSemester() + "</span>" +
-                    " <span style='color:#95a5a6; font-size:11px'> (" + totalScores.size() + " Students)</span></html>";
+                    " <span style='color:#95a5a6; font-size:11px'> (" + stats.getCount() + " Students)</span></html>";
             JLabel title = new JLabel(titleText);
 
             toggleBtn = new StyledButton("View Analytics", StyleConstants.PRIMARY_COLOR);
@@ -172,7 +170,7 @@ public class CourseStatisticsView extends JPanel {
         private void buildAnalyticsUI() {
             contentPanel.removeAll();
 
-            if (totalScores.isEmpty()) {
+            if (stats.getCount() == 0) {
                 JLabel empty = new JLabel("Not enough data to generate statistics.");
                 empty.setAlignmentX(Component.CENTER_ALIGNMENT);
                 contentPanel.add(empty);
@@ -184,10 +182,10 @@ public class CourseStatisticsView extends JPanel {
             metricsPanel.setAlignmentX(Component.LEFT_ALIGNMENT);
             metricsPanel.setMaximumSize(new Dimension(Integer.MAX_VALUE, 80));
 
-            float max = Collections.max(totalScores);
-            float min = Collections.min(totalScores);
-            float avg = (float) totalScores.stream().mapToDouble(Float::doubleValue).average().orElse(0.0);
-            float median = calculateMedian(totalScores);
+            float max = stats.getHighest();
+            float min = stats.getLowest();
+            float avg = stats.getAverage();
+            float median = stats.getMedian();
 
             metricsPanel.add(createMetricCard("Average", String.format("%.1f", avg), new Color(52, 152, 219)));
             metricsPanel.add(createMetricCard("Median", String.format("%.1f", median), new Color(155, 89, 182)));
@@ -214,7 +212,7 @@ public class CourseStatisticsView extends JPanel {
             contentPanel.add(chartTitle);
             contentPanel.add(Box.createVerticalStrut(10));
 
-            ScoreDistributionGraph graph = new ScoreDistributionGraph(totalScores, avg, median);
+            ScoreDistributionGraph graph = new ScoreDistributionGraph(stats.getScoreBins(), avg, median);
             graph.setAlignmentX(Component.LEFT_ALIGNMENT);
             contentPanel.add(graph);
         }
@@ -239,12 +237,12 @@ public class CourseStatisticsView extends JPanel {
         }
 
         private JPanel createGradeDistributionPanel() {
-            Map<String, Integer> counts = calculateGradeCounts();
+            Map<String, Integer> counts = stats.getGradeCounts();
             JPanel p = new JPanel(new GridLayout(1, 9, 5, 0));
             p.setOpaque(false);
             p.setMaximumSize(new Dimension(Integer.MAX_VALUE, 60));
 
-            String[] grades = {"O", "A", "A-", "B", "B-", "C", "C-", "D", "F"};
+            String[] grades = SectionStatistics.GRADES;
             Color[] colors = {
                     new Color(39, 174, 96), new Color(46, 204, 113), new Color(88, 214, 141),
                     new Color(52, 152, 219), new Color(93, 173, 226),
@@ -274,87 +272,25 @@ public class CourseStatisticsView extends JPanel {
             }
             return p;
         }
-
-        private Map<String, Integer> calculateGradeCounts() {
-            Map<String, Integer> map = new HashMap<>();
-            for (float s : totalScores) {
-                String g;
-                if (s >= section.getO()) g = "O";
-                else if (s >= section.getA()) g = "A";
-                else if (s >= section.getA_()) g = "A-";
-                else if (s >= section.getB()) g = "B";
-                else if (s >= section.getB_()) g = "B-";
-                else if (s >= section.getC()) g = "C";
-                else if (s >= section.getC_()) g = "C-";
-                else if (s >= section.getD()) g = "D";
-                else g = "F";
-                map.put(g, map.getOrDefault(g, 0) + 1);
-            }
-            return map;
-        }
-
-        private float calculateMedian(List<Float> scores) {
-            List<Float> sorted = new ArrayList<>(scores);
-            Collections.sort(sorted);
-            int size = sorted.size();
-            if (size == 0) return 0;
-            if (size % 2 == 1) {
-                return sorted.get(size / 2);
-            } else {
-                return (sorted.get(size / 2 - 1) + sorted.get(size / 2)) / 2.0f;
-            }
-        }
-
-        private List<Float> fetchTotalScores() {
-            List<Float> list = new ArrayList<>();
-            String sql = "SELECT labs, quiz, mid, end, assign, proj, bonus FROM records WHERE section_id = ?";
-            try (Connection conn = sqliteConnector.connect("jdbc:sqlite:erp.db");
-                 PreparedStatement stmt = conn.prepareStatement(sql)) {
-                stmt.setString(1, section.getId());
-                ResultSet rs = stmt.executeQuery();
-                while (rs.next()) {
-                    float total = rs.getFloat("labs") + rs.getFloat("quiz") +
-                            rs.getFloat("mid") + rs.getFloat("end") +
-                            rs.getFloat("assign") + rs.getFloat("proj") +
-                            rs.getFloat("bonus");
-                    list.add(total);
-                }
-            } catch (SQLException e) {
-                e.printStackTrace();
-            }
-            return list;
-        }
     }
 
     private static class ScoreDistributionGraph extends JPanel {
-        private final List<Float> data;
         private final int[] bins;
-        private final int binSize = 10;
-        private final int numBins = 11;
+        private final int binSize = SectionStatistics.SCORE_BIN_WIDTH;
+        private final int numBins = SectionStatistics.SCORE_BINS;
         private final float average;
         private final float median;
 
-        public ScoreDistributionGraph(List<Float> data, float average, float median) {
-            this.data = data;
+        public ScoreDistributionGraph(int[] bins, float average, float median) {
+            this.bins = bins;
             this.average = average;
             this.median = median;
-            this.bins = new int[numBins];
-            calculateBins();
 
             setPreferredSize(new Dimension(0, 250));
             setBackground(Color.WHITE);
             setBorder(BorderFactory.createLineBorder(new Color(230, 230, 230)));
         }
 
-        private void calculateBins() {
-            for (float score : data) {
-                int index = (int) (score / binSize);
-                if (index >= numBins) index = numBins - 1; // 100+ goes to last bin
-                if (index < 0) index = 0;
-                bins[index]++;
-            }
-        }
-
         @Override
         protected void paintComponent(Graphics g) {
             super.paintComponent(g);
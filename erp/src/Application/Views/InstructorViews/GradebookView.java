@@ -3,11 +3,12 @@ package Application.Views.InstructorViews;
 import Application.Components.StyleConstants;
 import Application.Components.StyledButton;
 import Application.Components.StyledField;
+import Application.Components.ViewLoader;
 import Domain.Concretes.Instructor;
 import Domain.Concretes.Section;
-import Domain.Concretes.Student;
 import Domain.Database.sqliteConnector;
 import Domain.Rules.ApplicationRules;
+import Domain.Services.AsyncDataService;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
@@ -21,12 +22,15 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 public class GradebookView extends JPanel {
 
     private final Instructor instructor;
     private JPanel listContainer;
+    private final ViewLoader loader = new ViewLoader(this);
 
     public GradebookView(Instructor instructor) {
         this.instructor = instructor;
@@ -75,10 +79,32 @@ public class GradebookView extends JPanel {
 
     private void loadSections() {
         listContainer.removeAll();
+        JLabel loading = new JLabel("Loading...");
+        loading.setFont(StyleConstants.NORMAL_FONT);
+        loading.setForeground(Color.GRAY);
+        loading.setAlignmentX(Component.CENTER_ALIGNMENT);
+        listContainer.add(Box.createVerticalStrut(50));
+        listContainer.add(loading);
+        listContainer.revalidate();
+        listContainer.repaint();
+
+        loader.load(this::fetchGradebooks, this::showGradebooks);
+    }
+
+    // runs on the data service pool, loads every assigned section with its student rows
+    private Map<Section, List<StudentGradeRow>> fetchGradebooks() throws SQLException {
+        Map<Section, List<StudentGradeRow>> gradebooks = new LinkedHashMap<>();
+        for (Section section : Section.loadAll(getAssignedSections()).values()) {
+            if (Thread.currentThread().isInterrupted()) break;
+            gradebooks.put(section, fetchStudentRows(section));
+        }
+        return gradebooks;
+    }
 
-        List<String> mySections = getAssignedSections();
+    private void showGradebooks(Map<Section, List<StudentGradeRow>> gradebooks) {
+        listContainer.removeAll();
 
-        if (mySections.isEmpty()) {
+        if (gradebooks.isEmpty()) {
             JLabel empty = new JLabel("No sections assigned for grading.");
             empty.setFont(StyleConstants.NORMAL_FONT);
             empty.setForeground(Color.GRAY);
@@ -86,15 +112,10 @@ public class GradebookView extends JPanel {
             listContainer.add(Box.createVerticalStrut(50));
             listContainer.add(empty);
         } else {
-            for (String secId : mySections) {
-                try {
-                    Section section = new Section(secId);
-                    GradebookPanel panel = new GradebookPanel(section);
-                    listContainer.add(panel);
-                    listContainer.add(Box.createVerticalStrut(15));
-                } catch (Exception e) {
-                    e.printStackTrace();
-                }
+            for (Map.Entry<Section, List<StudentGradeRow>> entry : gradebooks.entrySet()) {
+                GradebookPanel panel = new GradebookPanel(entry.getKey(), entry.getValue());
+                listContainer.add(panel);
+                listContainer.add(Box.createVerticalStrut(15));
             }
         }
 
@@ -104,7 +125,7 @@ public class GradebookView extends JPanel {
 
     private List<String> getAssignedSections() {
         List<String> sections = new ArrayList<>();
-        String sql = "SELECT id FROM sections WHERE TRIM(instructor_id) = ? OR TRIM(instructor_id) = ?";
+        String sql = "SELECT id FROM sections WHERE instructor_id IN (?, ?)";
 
         try (Connection conn = sqliteConnector.connect("jdbc:sqlite:erp.db");
              PreparedStatement stmt = conn.prepareStatement(sql)) {
@@ -121,14 +142,32 @@ public class GradebookView extends JPanel {
         return sections;
     }
 
+    private List<StudentGradeRow> fetchStudentRows(Section section) {
+        List<StudentGradeRow> list = new ArrayList<>();
+        try {
+            Section.streamGradebook(section.getId(), r -> list.add(new StudentGradeRow(
+                    r.studentId, r.studentName,
+                    r.labs, r.quiz, r.midExams, r.endExams, r.assignments, r.projects, r.bonus
+            )));
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return list;
+    }
+
     private class GradebookPanel extends JPanel {
         private final Section section;
+        private final ViewLoader rowsLoader = new ViewLoader(this);
         private final JPanel contentPanel;
         private boolean isExpanded = true;
         private final StyledButton toggleBtn;
+        private final StyledButton submitBtn;
+        private boolean submitting = false; // rows are locked while a submit is in flight
         private final boolean isMaintenance;
+        private List<StudentGradeRow> currentRows = new ArrayList<>();
+        private DefaultTableModel gradeModel;
 
-        public GradebookPanel(Section section) {
+        public GradebookPanel(Section section, List<StudentGradeRow> rows) {
             this.section = section;
             this.isMaintenance = ApplicationRules.isMaintenanceMode(); // Check mode
 
@@ -160,6 +199,11 @@ public class GradebookView extends JPanel {
             editSlabsBtn.addActionListener(e -> showEditSlabsDialog());
             editSlabsBtn.setEnabled(!isMaintenance); // Disable in maintenance
 
+            submitBtn = new StyledButton("Submit Grades", StyleConstants.GREEN);
+            submitBtn.setPreferredSize(new Dimension(120, 35));
+            submitBtn.addActionListener(e -> submitEdits());
+            submitBtn.setEnabled(false);
+
             toggleBtn = new StyledButton("Close Gradebook", StyleConstants.PRIMARY_COLOR);
             toggleBtn.setPreferredSize(new Dimension(130, 35));
             toggleBtn.addActionListener(e -> toggleExpansion());
@@ -167,6 +211,8 @@ public class GradebookView extends JPanel {
             buttonsPanel.add(editWeightsBtn);
             buttonsPanel.add(Box.createHorizontalStrut(5));
             buttonsPanel.add(editSlabsBtn);
+            buttonsPanel.add(Box.createHorizontalStrut(5));
+            buttonsPanel.add(submitBtn);
             buttonsPanel.add(Box.createHorizontalStrut(10));
             buttonsPanel.add(toggleBtn);
 
@@ -183,10 +229,16 @@ public class GradebookView extends JPanel {
             add(topBar, BorderLayout.NORTH);
             add(contentPanel, BorderLayout.CENTER);
 
-            loadContent();
+            loadContent(rows);
         }
 
         private void toggleExpansion() {
+            if (isExpanded && countEdited() > 0) {
+                int confirm = JOptionPane.showConfirmDialog(this,
+                        "Discard " + countEdited() + " unsubmitted grade change(s)?",
+                        "Unsubmitted Grades", JOptionPane.YES_NO_OPTION);
+                if (confirm != JOptionPane.YES_OPTION) return;
+            }
             isExpanded = !isExpanded;
             if (isExpanded) {
                 toggleBtn.setText("Close Gradebook");
@@ -200,8 +252,28 @@ public class GradebookView extends JPanel {
             repaint();
         }
 
+        // student rows are read on the data service pool, the panel shows them once they arrive
         private void loadContent() {
             contentPanel.removeAll();
+            JLabel loading = new JLabel("Loading...");
+            loading.setFont(StyleConstants.NORMAL_FONT);
+            loading.setForeground(Color.GRAY);
+            contentPanel.add(loading);
+            rowsLoader.load(() -> fetchStudentRows(section), this::showRows);
+        }
+
+        private void showRows(List<StudentGradeRow> rows) {
+            if (!isExpanded) return;
+            loadContent(rows);
+            revalidate();
+            repaint();
+        }
+
+        private void loadContent(List<StudentGradeRow> rows) {
+            currentRows = rows;
+            gradeModel = null;
+            updateSubmitButton();
+            contentPanel.removeAll();
 
             JPanel policyWrapper = new JPanel(new GridLayout(1, 2, 30, 0));
             policyWrapper.setOpaque(false);
@@ -239,8 +311,6 @@ public class GradebookView extends JPanel {
             contentPanel.add(policyWrapper);
             contentPanel.add(Box.createVerticalStrut(20));
 
-            List<StudentGradeRow> rows = fetchStudentRows();
-
             if (rows.isEmpty()) {
                 JLabel empty = new JLabel("No students enrolled in this section.");
                 empty.setHorizontalAlignment(SwingConstants.LEFT);
@@ -260,14 +330,9 @@ public class GradebookView extends JPanel {
             };
 
             for (StudentGradeRow r : rows) {
-                float total = r.lab + r.quiz + r.mid + r.end + r.asgn + r.proj + r.bonus;
-                model.addRow(new Object[]{
-                        r.studentId, r.studentName,
-                        r.lab, r.quiz, r.mid, r.end, r.asgn, r.proj, r.bonus,
-                        String.format("%.2f", total),
-                        isMaintenance ? "Locked" : "Edit" // Change button text
-                });
+                model.addRow(toTableRow(r));
             }
+            gradeModel = model;
 
             JTable table = new JTable(model);
             table.setRowHeight(35);
@@ -318,38 +383,6 @@ public class GradebookView extends JPanel {
                     "</div><div style='text-align:center; color:#2c3e50; font-size:12px'>" + val + "</div></html>", SwingConstants.CENTER);
         }
 
-        private List<StudentGradeRow> fetchStudentRows() {
-            List<String> studentIds = new ArrayList<>();
-            String sql = "SELECT student_id FROM enrollments WHERE section_id = ?";
-
-            try (Connection conn = sqliteConnector.connect("jdbc:sqlite:erp.db");
-                 PreparedStatement stmt = conn.prepareStatement(sql)) {
-                stmt.setString(1, section.getId());
-                ResultSet rs = stmt.executeQuery();
-                while (rs.next()) {
-                    studentIds.add(rs.getString("student_id"));
-                }
-            } catch (SQLException e) {
-                e.printStackTrace();
-            }
-
-            List<StudentGradeRow> list = new ArrayList<>();
-            for (String sId : studentIds) {
-                try {
-                    Student s = new Student(sId);
-                    Section.StudentGradeProxy grades = section.getStudentGradeRecord(sId, instructor.permission);
-
-                    list.add(new StudentGradeRow(
-                            sId, s.getName(),
-                            grades.getLabs(), grades.getQuiz(), grades.getMidExams(),
-                            grades.getEndExams(), grades.getAssignments(), grades.getProjects(), grades.getBonus()
-                    ));
-                } catch (Exception ex) {
-                    System.err.println("Error loading student " + sId + ": " + ex.getMessage());
-                }
-            }
-            return list;
-        }
 
         private void showEditWeightsDialog() {
             JDialog d = new JDialog((Frame) SwingUtilities.getWindowAncestor(this), "Edit Weights - " + section.getId(), true);
@@ -410,7 +443,7 @@ public class GradebookView extends JPanel {
                     d.dispose();
 
                     if (isExpanded) {
-                        loadContent();
+                        loadContent(currentRows);
                         revalidate();
                         repaint();
                     }
@@ -501,7 +534,7 @@ public class GradebookView extends JPanel {
                     d.dispose();
 
                     if (isExpanded) {
-                        loadContent();
+                        loadContent(currentRows);
                         revalidate();
                         repaint();
                     }
@@ -521,7 +554,61 @@ public class GradebookView extends JPanel {
             d.setVisible(true);
         }
 
+        private Object[] toTableRow(StudentGradeRow r) {
+            float total = r.lab + r.quiz + r.mid + r.end + r.asgn + r.proj + r.bonus;
+            return new Object[]{
+                    r.studentId, r.studentName,
+                    r.lab, r.quiz, r.mid, r.end, r.asgn, r.proj, r.bonus,
+                    String.format("%.2f", total),
+                    isMaintenance ? "Locked" : (r.edited ? "Edited" : "Edit") // Change button text
+            };
+        }
+
+        private int countEdited() {
+            int count = 0;
+            for (StudentGradeRow r : currentRows) if (r.edited) count++;
+            return count;
+        }
+
+        private void updateSubmitButton() {
+            if (submitting) {
+                submitBtn.setText("Submitting...");
+                submitBtn.setEnabled(false);
+                return;
+            }
+            int edited = countEdited();
+            submitBtn.setText(edited > 0 ? "Submit (" + edited + ")" : "Submit Grades");
+            submitBtn.setEnabled(!isMaintenance && edited > 0);
+        }
+
+        // sends only the rows changed since the last load, all of them in one transaction
+        private void submitEdits() {
+            List<Section.GradeRow> changed = new ArrayList<>();
+            for (StudentGradeRow r : currentRows) {
+                if (r.edited) changed.add(new Section.GradeRow(r.studentId, r.lab, r.quiz, r.mid, r.end, r.asgn, r.proj, r.bonus));
+            }
+            if (changed.isEmpty()) return;
+
+            // the write waits on the write queue, it runs off the EDT together with the reload
+            submitting = true;
+            updateSubmitButton();
+            AsyncDataService.supply(() -> {
+                instructor.enterMarksBatch(section.getId(), changed);
+                return fetchStudentRows(section);
+            }).whenComplete((rows, error) -> SwingUtilities.invokeLater(() -> {
+                submitting = false;
+                if (error != null) {
+                    updateSubmitButton();
+                    JOptionPane.showMessageDialog(this, "Error saving: " + error.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+                    return;
+                }
+                JOptionPane.showMessageDialog(this, "Marks updated for " + changed.size() + " student(s).");
+                showRows(rows);
+            }));
+        }
+
         private void showEditDialog(StudentGradeRow data, String sectionId, Section section) {
+            if (submitting) return;
             JDialog dialog = new JDialog((Frame) SwingUtilities.getWindowAncestor(this), "Edit Marks: " + data.studentName, true);
             dialog.setLayout(new BorderLayout());
             dialog.setSize(400, 500);
@@ -549,10 +636,14 @@ public class GradebookView extends JPanel {
 
             JPanel btnPanel = new JPanel();
             btnPanel.setBackground(Color.WHITE);
-            StyledButton saveBtn = new StyledButton("Save Changes", StyleConstants.GREEN);
+            StyledButton saveBtn = new StyledButton("Apply", StyleConstants.GREEN);
             saveBtn.setPreferredSize(new Dimension(150, 40));
 
             saveBtn.addActionListener(e -> {
+                if (submitting) {
+                    JOptionPane.showMessageDialog(dialog, "Grades are being submitted, try again once they are saved.");
+                    return;
+                }
                 try {
                     float l = Float.parseFloat(labF.getText());
                     float q = Float.parseFloat(quizF.getText());
@@ -570,15 +661,17 @@ public class GradebookView extends JPanel {
                     validateMark(p, section.getProjects(), "Projects");
                     validateMark(b, section.getBonus(), "Bonus");
 
-                    instructor.enterMarks(sectionId, data.studentId, l, q, m, en, a, p, b);
+                    data.lab = l; data.quiz = q; data.mid = m; data.end = en;
+                    data.asgn = a; data.proj = p; data.bonus = b;
+                    data.edited = true;
 
-                    JOptionPane.showMessageDialog(dialog, "Marks updated successfully.");
-                    dialog.dispose();
-                    if (isExpanded) {
-                        loadContent();
-                        revalidate();
-                        repaint();
+                    int index = currentRows.indexOf(data);
+                    if (gradeModel != null && index >= 0) {
+                        Object[] values = toTableRow(data);
+                        for (int col = 2; col < values.length; col++) gradeModel.setValueAt(values[col], index, col);
                     }
+                    updateSubmitButton();
+                    dialog.dispose();
 
                 } catch (NumberFormatException nfe) {
                     JOptionPane.showMessageDialog(dialog, "Please enter valid numbers.", "Error", JOptionPane.ERROR_MESSAGE);
@@ -607,6 +700,7 @@ public class GradebookView extends JPanel {
     private static class StudentGradeRow {
         String studentId, studentName;
         float lab, quiz, mid, end, asgn, proj, bonus;
+        boolean edited;
 
         public StudentGradeRow(String id, String name, float l, float q, float m, float e, float a, float p, float b) {
             this.studentId = id; this.studentName = name;
@@ -72,17 +72,16 @@ public class SectionView extends JPanel {
             listContainer.add(Box.createVerticalStrut(50));
             listContainer.add(empty);
         } else {
-            for (String secId : mySectionIds) {
-                try {
-                    Section section = new Section(secId);
-                    Course course = new Course(section.getCourseId());
+            try {
+                for (Section section : Section.loadAll(mySectionIds).values()) {
+                    Course course = Course.find(section.getCourseId());
 
                     SectionInfoCard panel = new SectionInfoCard(section, course);
                     listContainer.add(panel);
                     listContainer.add(Box.createVerticalStrut(15));
-                } catch (Exception e) {
-                    e.printStackTrace();
                 }
+            } catch (Exception e) {
+                e.printStackTrace();
             }
         }
 
@@ -92,7 +91,7 @@ public class SectionView extends JPanel {
 
     private List<String> getAssignedSectionIds() {
         List<String> sections = new ArrayList<>();
-        String sql = "SELECT id FROM sections WHERE TRIM(instructor_id) = ? OR TRIM(instructor_id) = ?";
+        String sql = "SELECT id FROM sections WHERE instructor_id IN (?, ?)";
 
         try (Connection conn = sqliteConnector.connect("jdbc:sqlite:erp.db");
              PreparedStatement stmt = conn.prepareStatement(sql)) {
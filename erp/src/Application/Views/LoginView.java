@@ -3,6 +3,7 @@ package Application.Views;
 import Application.Components.*;
 import Domain.Abstracts.*;
 import Domain.Concretes.*;
+import Domain.Services.AuthenticationService;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
@@ -142,19 +143,15 @@ public class LoginView extends JFrame {
             @Override
             protected UserEntity doInBackground() {
                 try {
-                    UserEntity user = null;
+                    UserEntity.Permission permission = null;
                     switch (type) {
-                        case "Student": user = new Student(id); break;
-                        case "Instructor": user = new Instructor(id); break;
-                        case "Admin": user = new Admin(id); break;
+                        case "Student": permission = UserEntity.Permission.PERMISSION_STUDENT; break;
+                        case "Instructor": permission = UserEntity.Permission.PERMISSION_INSTRUCTOR; break;
+                        case "Admin": permission = UserEntity.Permission.PERMISSION_ADMIN; break;
                     }
 
-                    if (user != null && user.getName() != null &&
-                            !user.getName().equals("TempName") && !user.getName().equals("TempLoad")) {
-
-                        if (user.authenticate(pass)) {
-                            return user;
-                        }
+                    if (permission != null) {
+                        return AuthenticationService.login(id, pass, permission);
                     }
                 } catch (Exception ex) {
                     ex.printStackTrace();
@@ -45,7 +45,7 @@ public class StudentDashboard extends JFrame {
         timetableView = new TimetableView(student, currentSemester);
 
         contentArea.add(new MyCoursesView(student, currentSemester), "MY_COURSES");
-        contentArea.add(new ManageCoursesView(student, currentSemester, isMaintenance), "MANAGE");
+        contentArea.add(new ManageCoursesView(student, currentSemester), "MANAGE");
         contentArea.add(timetableView, "TIMETABLE");
 
         add(contentArea, BorderLayout.CENTER);
@@ -4,12 +4,17 @@ import Application.Components.StyleConstants;
 import Application.Components.StyledButton;
 import Application.Components.StyledComboBox;
 import Application.Components.StyledField;
-import Domain.Concretes.Course;
-import Domain.Concretes.Instructor;
-import Domain.Concretes.Section;
+import Application.Components.ViewLoader;
 import Domain.Concretes.Student;
 import Domain.Database.sqliteConnector;
+import Domain.Events.CachesCleared;
+import Domain.Events.DomainEvents;
+import Domain.Events.EnrollmentChanged;
+import Domain.Events.SectionUpdated;
+import Domain.Events.SettingsChanged;
 import Domain.Rules.ApplicationRules;
+import Domain.Services.AsyncDataService;
+import Domain.Services.CourseCatalog;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
@@ -23,20 +28,25 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class ManageCoursesView extends JPanel {
 
     private final Student student;
-    private final boolean isMaintenance;
     private JPanel listContainer;
     private StyledField searchField;
     private StyledComboBox<String> semFilter;
     private JLabel statusLabel;
+    private final ViewLoader loader = new ViewLoader(this);
+    private final Map<String, SectionItemPanel> sectionRows = new HashMap<>();
+    private boolean canModify;
+    private String restrictionReason = "";
+    private final List<DomainEvents.Subscription> subscriptions = new ArrayList<>();
 
-    public ManageCoursesView(Student student, String currentSemester, boolean isMaintenance) {
+    public ManageCoursesView(Student student, String currentSemester) {
         this.student = student;
-        this.isMaintenance = isMaintenance;
 
         setLayout(new BorderLayout());
         setBackground(StyleConstants.TERTIARY_COLOR);
@@ -115,75 +125,133 @@ public class ManageCoursesView extends JPanel {
         loadCourses();
     }
 
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        // seats, section edits and rule changes are patched in place, only a wiped cache reloads the list
+        subscriptions.add(DomainEvents.subscribe(EnrollmentChanged.class, SwingUtilities::invokeLater, event -> {
+            SectionItemPanel row = sectionRows.get(event.sectionId);
+            if (row != null && !event.studentId.equals(student.getId())) row.applySeats(event.contains);
+        }));
+        subscriptions.add(DomainEvents.subscribe(SectionUpdated.class, SwingUtilities::invokeLater, this::sectionUpdated));
+        subscriptions.add(DomainEvents.subscribe(SettingsChanged.class, SwingUtilities::invokeLater, event -> {
+            applyRules();
+            for (SectionItemPanel row : sectionRows.values()) row.refreshAction();
+        }));
+        subscriptions.add(DomainEvents.subscribe(CachesCleared.class, SwingUtilities::invokeLater, event -> loadCourses()));
+    }
+
+    @Override
+    public void removeNotify() {
+        for (DomainEvents.Subscription subscription : subscriptions) subscription.cancel();
+        subscriptions.clear();
+        super.removeNotify();
+    }
+
     private void updateStatusLabel() {
-        String activeSem = ApplicationRules.getCurrentSemester();
+        ApplicationRules.Settings rules = ApplicationRules.getSettings();
         String selectedSem = (String) semFilter.getSelectedItem();
 
-        if (selectedSem == null || !selectedSem.equalsIgnoreCase(activeSem)) {
+        if (selectedSem == null || !selectedSem.equalsIgnoreCase(rules.currentSemester)) {
             statusLabel.setText("View Only (Archive)");
             statusLabel.setForeground(Color.LIGHT_GRAY);
             return;
         }
 
-        String deadline = ApplicationRules.getAddDropDeadline();
-        boolean isPast = isPastDeadline(deadline);
-
-        if (isPast) {
+        if (rules.isPastAddDropDeadline(LocalDate.now())) {
             statusLabel.setText("Add/Drop Closed");
             statusLabel.setForeground(StyleConstants.RED);
         } else {
-            statusLabel.setText("Deadline: " + (deadline != null ? deadline : "None"));
+            statusLabel.setText("Deadline: " + (rules.addDropDeadline != null ? rules.addDropDeadline : "None"));
             statusLabel.setForeground(StyleConstants.GREEN);
         }
     }
 
-    private boolean isPastDeadline(String deadline) {
-        if(deadline == null || deadline.isEmpty()) return false;
-        try {
-            LocalDate d = LocalDate.parse(deadline);
-            return LocalDate.now().isAfter(d);
-        } catch (Exception e) { return false; }
+    /**
+     * EVALUATES the rules for the selected semester, rows read canModify when building their action button.
+     */
+    private void applyRules() {
+        updateStatusLabel();
+        String selectedSem = (String) semFilter.getSelectedItem();
+
+        ApplicationRules.Settings rules = ApplicationRules.getSettings();
+        boolean isActiveSemester = selectedSem != null && selectedSem.equalsIgnoreCase(rules.currentSemester);
+        boolean deadlinePassed = rules.isPastAddDropDeadline(LocalDate.now());
+
+        canModify = !rules.maintenanceMode && isActiveSemester && !deadlinePassed;
+        restrictionReason = "";
+
+        if(rules.maintenanceMode) restrictionReason = "Maintenance Mode";
+        else if(!isActiveSemester) restrictionReason = "Semester Closed";
+        else if(deadlinePassed) restrictionReason = "Deadline Passed";
+    }
+
+    // the shared semester snapshot already holds the edited section, only its row is rebuilt
+    private void sectionUpdated(SectionUpdated event) {
+        String selectedSem = (String) semFilter.getSelectedItem();
+        if (selectedSem == null) return;
+        AsyncDataService.supply(() -> CourseCatalog.of(selectedSem)).whenComplete((catalog, error) -> SwingUtilities.invokeLater(() -> {
+            if (error != null) {
+                if (!AsyncDataService.isCancellation(error)) error.printStackTrace();
+                return;
+            }
+            if (!selectedSem.equals(semFilter.getSelectedItem())) return;
+
+            SectionItemPanel row = sectionRows.get(event.sectionId);
+            CourseCatalog.SectionEntry entry = catalog.getSection(event.sectionId);
+            if (row == null && entry == null) return;
+            if (row != null && entry != null && row.section.courseId.equals(entry.courseId)) {
+                row.applySection(entry);
+            } else if (row != null && entry == null && !row.isEnrolledSection()) {
+                row.parentContainer.removeSection(row);
+            } else {
+                loadCourses(); // a section joined the list, moved course or took the student's enrollment with it
+            }
+        }));
     }
 
     private void loadCourses() {
         listContainer.removeAll();
-        updateStatusLabel();
+        applyRules();
 
         String selectedSem = (String) semFilter.getSelectedItem();
         if (selectedSem == null) return;
 
-        String activeSem = ApplicationRules.getCurrentSemester();
-        boolean isActiveSemester = selectedSem.equalsIgnoreCase(activeSem);
-        boolean deadlinePassed = isPastDeadline(ApplicationRules.getAddDropDeadline());
+        JLabel loadingLabel = new JLabel("Loading...");
+        loadingLabel.setForeground(StyleConstants.DISABLED_COLOR);
+        loadingLabel.setBorder(new EmptyBorder(10, 10, 10, 10));
+        listContainer.add(loadingLabel);
+        listContainer.revalidate();
+        listContainer.repaint();
 
-        boolean canModify = !isMaintenance && isActiveSemester && !deadlinePassed;
-        String restrictionReason = "";
+        String searchText = searchField.getText().trim().toLowerCase();
+        loader.load(() -> fetchCatalog(selectedSem, searchText), catalog -> {
+            listContainer.removeAll();
+            sectionRows.clear();
+            for (CourseCatalog.CourseEntry course : catalog.courses) {
+                CourseItemPanel panel = new CourseItemPanel(course, selectedSem, catalog.enrolledSectionIds);
+                listContainer.add(panel);
+                listContainer.add(Box.createVerticalStrut(15));
+            }
+            listContainer.revalidate();
+            listContainer.repaint();
+        });
+    }
 
-        if(isMaintenance) restrictionReason = "Maintenance Mode";
-        else if(!isActiveSemester) restrictionReason = "Semester Closed";
-        else if(deadlinePassed) restrictionReason = "Deadline Passed";
+    // runs on the data service pool, the shared semester snapshot holds everything the list shows
+    private Catalog fetchCatalog(String semester, String searchText) throws SQLException {
+        return new Catalog(getEnrolledSectionsForStudent(student.getId(), semester),
+                CourseCatalog.of(semester).search(searchText));
+    }
 
-        List<String> enrolledSectionIds = getEnrolledSectionsForStudent(student.getId(), selectedSem);
-        List<String> courseIds = getAllCourseIds();
-
-        for (String cId : courseIds) {
-            try {
-                Course course = new Course(cId);
-                String searchText = searchField.getText().trim().toLowerCase();
-                boolean matchesSearch = searchText.isEmpty() ||
-                        course.getName().toLowerCase().contains(searchText) ||
-                        cId.toLowerCase().contains(searchText);
-
-                if (matchesSearch) {
-                    CourseItemPanel panel = new CourseItemPanel(course, selectedSem, enrolledSectionIds, canModify, restrictionReason);
-                    listContainer.add(panel);
-                    listContainer.add(Box.createVerticalStrut(15));
-                }
-            } catch (Exception e) { e.printStackTrace(); }
-        }
+    private static class Catalog {
+        final List<String> enrolledSectionIds;
+        final List<CourseCatalog.CourseEntry> courses;
 
-        listContainer.revalidate();
-        listContainer.repaint();
+        Catalog(List<String> enrolledSectionIds, List<CourseCatalog.CourseEntry> courses) {
+            this.enrolledSectionIds = enrolledSectionIds;
+            this.courses = courses;
+        }
     }
 
     private String[] getAllSemesters() {
@@ -209,24 +277,13 @@ public class ManageCoursesView extends JPanel {
         return ids;
     }
 
-    private List<String> getAllCourseIds() {
-        List<String> ids = new ArrayList<>();
-        String sql = "SELECT id FROM courses";
-        try (Connection conn = sqliteConnector.connect("jdbc:sqlite:erp.db");
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            ResultSet rs = stmt.executeQuery();
-            while (rs.next()) ids.add(rs.getString("id"));
-        } catch (SQLException e) { e.printStackTrace(); }
-        return ids;
-    }
-
     private class CourseItemPanel extends JPanel {
         private final JPanel sectionsContainer;
         private final JPanel topBar;
         private boolean isExpanded = false;
         private final StyledButton infoBtn;
 
-        public CourseItemPanel(Course course, String semester, List<String> enrolledSectionIds, boolean canModify, String reason) {
+        public CourseItemPanel(CourseCatalog.CourseEntry course, String semester, List<String> enrolledSectionIds) {
             setLayout(new BorderLayout());
             setBackground(Color.WHITE);
             setBorder(BorderFactory.createCompoundBorder(
@@ -237,8 +294,8 @@ public class ManageCoursesView extends JPanel {
             topBar = new JPanel(new BorderLayout());
             topBar.setOpaque(false);
 
-            JLabel nameLabel = new JLabel("<html><span style='color:gray; font-size:12px'>" + course.getId() + "</span>" +
-                    "&nbsp;&nbsp;&nbsp;<b style='font-size:14px; color:black'>" + course.getName() + "</b></html>");
+            JLabel nameLabel = new JLabel("<html><span style='color:gray; font-size:12px'>" + course.id + "</span>" +
+                    "&nbsp;&nbsp;&nbsp;<b style='font-size:14px; color:black'>" + course.title + "</b></html>");
             nameLabel.setFont(StyleConstants.NORMAL_FONT);
 
             infoBtn = new StyledButton("Info", StyleConstants.ACCENT_COLOR);
@@ -254,7 +311,7 @@ public class ManageCoursesView extends JPanel {
             sectionsContainer.setBorder(new EmptyBorder(10, 0, 0, 0));
             sectionsContainer.setVisible(false);
 
-            loadSections(course, semester, enrolledSectionIds, canModify, reason);
+            loadSections(course, semester, enrolledSectionIds);
 
             add(topBar, BorderLayout.NORTH);
             add(sectionsContainer, BorderLayout.CENTER);
@@ -297,56 +354,67 @@ public class ManageCoursesView extends JPanel {
             }
         }
 
-        private void loadSections(Course course, String semester, List<String> enrolledSectionIds, boolean canModify, String reason) {
-            List<String> sectionIds = getSectionsForCourse(course.getId(), semester);
+        /**
+         * REMOVES the row of a section that was deleted or left the semester.
+         */
+        public void removeSection(SectionItemPanel row) {
+            sectionRows.remove(row.section.id);
+            sectionsContainer.remove(row);
+            if (sectionsContainer.getComponentCount() == 0) addEmptyLabel(row.section.semester);
+            revalidate();
+            repaint();
+        }
+
+        private void addEmptyLabel(String semester) {
+            JLabel emptyLbl = new JLabel("No sections available for " + semester);
+            emptyLbl.setForeground(StyleConstants.DISABLED_COLOR);
+            emptyLbl.setBorder(new EmptyBorder(10, 10, 10, 10));
+            sectionsContainer.add(emptyLbl);
+        }
 
-            if (sectionIds.isEmpty()) {
-                JLabel emptyLbl = new JLabel("No sections available for " + semester);
-                emptyLbl.setForeground(StyleConstants.DISABLED_COLOR);
-                emptyLbl.setBorder(new EmptyBorder(10, 10, 10, 10));
-                sectionsContainer.add(emptyLbl);
+        private void loadSections(CourseCatalog.CourseEntry course, String semester, List<String> enrolledSectionIds) {
+            List<CourseCatalog.SectionEntry> sections = course.sections;
+            if (sections.isEmpty()) {
+                addEmptyLabel(semester);
                 return;
             }
 
             String currentlyEnrolledSectionId = null;
-            for (String secId : sectionIds) {
-                if (enrolledSectionIds.contains(secId)) {
-                    currentlyEnrolledSectionId = secId;
+            for (CourseCatalog.SectionEntry section : sections) {
+                if (enrolledSectionIds.contains(section.id)) {
+                    currentlyEnrolledSectionId = section.id;
                     break;
                 }
             }
 
-            for (String secId : sectionIds) {
-                try {
-                    Section section = new Section(secId);
-                    SectionItemPanel sectionRow = new SectionItemPanel(section, course, currentlyEnrolledSectionId, this, canModify, reason);
-                    sectionsContainer.add(sectionRow);
-                } catch (Exception e) { e.printStackTrace(); }
+            for (CourseCatalog.SectionEntry section : sections) {
+                SectionItemPanel sectionRow = new SectionItemPanel(section, course, currentlyEnrolledSectionId, this);
+                sectionRows.put(section.id, sectionRow);
+                sectionsContainer.add(sectionRow);
             }
         }
-
-        private List<String> getSectionsForCourse(String courseId, String semester) {
-            List<String> ids = new ArrayList<>();
-            String sql = "SELECT id FROM sections WHERE course_id = ? AND semester = ?";
-            try (Connection conn = sqliteConnector.connect("jdbc:sqlite:erp.db");
-                 PreparedStatement stmt = conn.prepareStatement(sql)) {
-                stmt.setString(1, courseId);
-                stmt.setString(2, semester);
-                ResultSet rs = stmt.executeQuery();
-                while (rs.next()) ids.add(rs.getString("id"));
-            } catch (SQLException e) { e.printStackTrace(); }
-            return ids;
-        }
     }
 
     private class SectionItemPanel extends JPanel {
-        private final JPanel policyPanel;
+        private JPanel policyPanel;
         private boolean isPolicyVisible = false;
         private final StyledButton policyBtn;
         private final CourseItemPanel parentContainer;
 
-        public SectionItemPanel(Section section, Course course, String currentlyEnrolledSectionId, CourseItemPanel parent, boolean canModify, String reason) {
+        private CourseCatalog.SectionEntry section;
+        private final CourseCatalog.CourseEntry course;
+        private final String currentlyEnrolledSectionId;
+        private final JLabel details;
+        private final JPanel buttonPanel;
+        private StyledButton actionBtn;
+        private int seats;
+
+        public SectionItemPanel(CourseCatalog.SectionEntry section, CourseCatalog.CourseEntry course, String currentlyEnrolledSectionId, CourseItemPanel parent) {
             this.parentContainer = parent;
+            this.section = section;
+            this.course = course;
+            this.currentlyEnrolledSectionId = currentlyEnrolledSectionId;
+            this.seats = section.contains;
             setLayout(new BoxLayout(this, BoxLayout.Y_AXIS));
             setOpaque(false);
             setBorder(BorderFactory.createCompoundBorder(
@@ -360,30 +428,10 @@ public class ManageCoursesView extends JPanel {
             header.setAlignmentX(Component.LEFT_ALIGNMENT);
             header.setMaximumSize(new Dimension(Integer.MAX_VALUE, 40));
 
-            String instructorName = "Unknown";
-            String instructorContact = "N/A";
-            try {
-                Instructor instr = new Instructor(section.getInstructorId());
-                instructorName = instr.getName();
-                instructorContact = instr.getEmail();
-            } catch (Exception ignored) {}
-
-            int enrolledCount = section.getContains();
-            int capacity = section.getCapacity();
-            boolean isFull = enrolledCount >= capacity;
-            String capacityColor = isFull ? "#e74c3c" : "#7f8c8d";
-
-            String detailsHtml = "<html>" +
-                    "<b style='color:" + StyleConstants.PRIMARY_COLOR.getRGB() + "'>" + section.getId() + "</b>" +
-                    " &nbsp; <span style='color:gray'>(" + course.getCredits() + " Credits)</span>" +
-                    " &nbsp; <span style='font-size:11px; color:" + capacityColor + "'><b>[" + enrolledCount + "/" + capacity + "]</b></span>" +
-                    " - <span style='font-size:11px; color:gray'><b>Instr:</b> " + instructorName + " (" + instructorContact + ")</span>" +
-                    "</html>";
-
-            JLabel details = new JLabel(detailsHtml);
+            details = new JLabel(detailsHtml(section.contains));
             details.setFont(new Font("Segoe UI", Font.PLAIN, 12));
 
-            JPanel buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT, 10, 0));
+            buttonPanel = new JPanel(new FlowLayout(FlowLayout.RIGHT, 10, 0));
             buttonPanel.setOpaque(false);
 
             policyBtn = new StyledButton("Policy ▼", StyleConstants.SECONDARY_COLOR);
@@ -391,13 +439,81 @@ public class ManageCoursesView extends JPanel {
             policyBtn.addActionListener(e -> togglePolicy());
             buttonPanel.add(policyBtn);
 
-            boolean isThisTheEnrolledSection = section.getId().equals(currentlyEnrolledSectionId);
+            actionBtn = createActionButton(section.contains);
+            buttonPanel.add(actionBtn);
+
+            header.add(details, BorderLayout.CENTER);
+            header.add(buttonPanel, BorderLayout.EAST);
+
+            policyPanel = createPolicyPanel(section);
+            policyPanel.setVisible(false);
+            policyPanel.setAlignmentX(Component.LEFT_ALIGNMENT);
+
+            add(header);
+            add(policyPanel);
+        }
+
+        /**
+         * SHOWS a new seat count announced by another enrollment, without reloading the list.
+         */
+        public void applySeats(int contains) {
+            seats = contains;
+            details.setText(detailsHtml(contains));
+            refreshAction();
+        }
+
+        /**
+         * SHOWS an edited section (capacity, instructor, grading policy) in place of the old one.
+         */
+        public void applySection(CourseCatalog.SectionEntry updated) {
+            section = updated;
+            remove(policyPanel);
+            policyPanel = createPolicyPanel(updated);
+            policyPanel.setVisible(isPolicyVisible);
+            policyPanel.setAlignmentX(Component.LEFT_ALIGNMENT);
+            add(policyPanel);
+            applySeats(updated.contains);
+            revalidate();
+            parentContainer.refreshSize();
+        }
+
+        /**
+         * REBUILDS the action button from the current seat count and rules.
+         */
+        public void refreshAction() {
+            buttonPanel.remove(actionBtn);
+            actionBtn = createActionButton(seats);
+            buttonPanel.add(actionBtn);
+            buttonPanel.revalidate();
+            buttonPanel.repaint();
+        }
+
+        public boolean isEnrolledSection() {
+            return section.id.equals(currentlyEnrolledSectionId);
+        }
+
+        private String detailsHtml(int enrolledCount) {
+            String instructorName = section.instructorName != null ? section.instructorName : "Unknown";
+            String instructorContact = section.instructorEmail != null ? section.instructorEmail : "N/A";
+            String capacityColor = enrolledCount >= section.capacity ? "#e74c3c" : "#7f8c8d";
+
+            return "<html>" +
+                    "<b style='color:" + StyleConstants.PRIMARY_COLOR.getRGB() + "'>" + section.id + "</b>" +
+                    " &nbsp; <span style='color:gray'>(" + course.credits + " Credits)</span>" +
+                    " &nbsp; <span style='font-size:11px; color:" + capacityColor + "'><b>[" + enrolledCount + "/" + section.capacity + "]</b></span>" +
+                    " - <span style='font-size:11px; color:gray'><b>Instr:</b> " + instructorName + " (" + instructorContact + ")</span>" +
+                    "</html>";
+        }
+
+        private StyledButton createActionButton(int enrolledCount) {
+            boolean isFull = enrolledCount >= section.capacity;
+            boolean isThisTheEnrolledSection = section.id.equals(currentlyEnrolledSectionId);
             boolean hasOtherEnrollmentInCourse = (currentlyEnrolledSectionId != null && !isThisTheEnrolledSection);
 
             StyledButton actionBtn;
 
             boolean actionsDisabled = !canModify;
-            String toolTip = actionsDisabled ? reason : "";
+            String toolTip = actionsDisabled ? restrictionReason : "";
 
             if (isThisTheEnrolledSection) {
                 actionBtn = new StyledButton("Drop", StyleConstants.RED);
@@ -405,7 +521,7 @@ public class ManageCoursesView extends JPanel {
                     actionBtn.setEnabled(false);
                     actionBtn.setToolTipText(toolTip);
                 } else {
-                    actionBtn.addActionListener(e -> handleDrop(section.getId()));
+                    actionBtn.addActionListener(e -> handleDrop(section.id));
                 }
             } else if (hasOtherEnrollmentInCourse) {
                 actionBtn = new StyledButton("Enroll", StyleConstants.DISABLED_COLOR);
@@ -421,22 +537,12 @@ public class ManageCoursesView extends JPanel {
                     actionBtn.setEnabled(false);
                     actionBtn.setToolTipText(toolTip);
                 } else {
-                    actionBtn.addActionListener(e -> handleEnroll(section.getId()));
+                    actionBtn.addActionListener(e -> handleEnroll(section.id));
                 }
             }
 
             actionBtn.setPreferredSize(new Dimension(80, 30));
-            buttonPanel.add(actionBtn);
-
-            header.add(details, BorderLayout.CENTER);
-            header.add(buttonPanel, BorderLayout.EAST);
-
-            policyPanel = createPolicyPanel(section);
-            policyPanel.setVisible(false);
-            policyPanel.setAlignmentX(Component.LEFT_ALIGNMENT);
-
-            add(header);
-            add(policyPanel);
+            return actionBtn;
         }
 
         private void togglePolicy() {
@@ -448,7 +554,7 @@ public class ManageCoursesView extends JPanel {
             parentContainer.refreshSize();
         }
 
-        private JPanel createPolicyPanel(Section section) {
+        private JPanel createPolicyPanel(CourseCatalog.SectionEntry section) {
             JPanel p = new JPanel();
             p.setLayout(new BoxLayout(p, BoxLayout.Y_AXIS));
             p.setBackground(new Color(250, 250, 250));
@@ -457,13 +563,13 @@ public class ManageCoursesView extends JPanel {
             JPanel weights = new JPanel(new GridLayout(2, 4, 5, 5));
             weights.setOpaque(false);
             weights.setAlignmentX(Component.LEFT_ALIGNMENT);
-            weights.add(createStatLabel("Labs", section.getLabs() + "%"));
-            weights.add(createStatLabel("Quiz", section.getQuiz() + "%"));
-            weights.add(createStatLabel("Mid", section.getMidExams() + "%"));
-            weights.add(createStatLabel("End", section.getEndExams() + "%"));
-            weights.add(createStatLabel("Assign", section.getAssignments() + "%"));
-            weights.add(createStatLabel("Proj", section.getProjects() + "%"));
-            weights.add(createStatLabel("Bonus", section.getBonus() + "%"));
+            weights.add(createStatLabel("Labs", section.labs + "%"));
+            weights.add(createStatLabel("Quiz", section.quiz + "%"));
+            weights.add(createStatLabel("Mid", section.midExams + "%"));
+            weights.add(createStatLabel("End", section.endExams + "%"));
+            weights.add(createStatLabel("Assign", section.assignments + "%"));
+            weights.add(createStatLabel("Proj", section.projects + "%"));
+            weights.add(createStatLabel("Bonus", section.bonus + "%"));
 
             JLabel weightHeader = new JLabel("<html><b>Assessment Weights</b></html>");
             weightHeader.setAlignmentX(Component.LEFT_ALIGNMENT);
@@ -475,14 +581,14 @@ public class ManageCoursesView extends JPanel {
             JPanel slabs = new JPanel(new GridLayout(2, 4, 5, 5));
             slabs.setOpaque(false);
             slabs.setAlignmentX(Component.LEFT_ALIGNMENT);
-            slabs.add(createStatLabel("O", ">= " + section.getO()));
-            slabs.add(createStatLabel("A", ">= " + section.getA()));
-            slabs.add(createStatLabel("A-", ">= " + section.getA_()));
-            slabs.add(createStatLabel("B", ">= " + section.getB()));
-            slabs.add(createStatLabel("B-", ">= " + section.getB_()));
-            slabs.add(createStatLabel("C", ">= " + section.getC()));
-            slabs.add(createStatLabel("C-", ">= " + section.getC_()));
-            slabs.add(createStatLabel("D", ">= " + section.getD()));
+            slabs.add(createStatLabel("O", ">= " + section.O));
+            slabs.add(createStatLabel("A", ">= " + section.A));
+            slabs.add(createStatLabel("A-", ">= " + section.A_));
+            slabs.add(createStatLabel("B", ">= " + section.B));
+            slabs.add(createStatLabel("B-", ">= " + section.B_));
+            slabs.add(createStatLabel("C", ">= " + section.C));
+            slabs.add(createStatLabel("C-", ">= " + section.C_));
+            slabs.add(createStatLabel("D", ">= " + section.D));
 
             JLabel slabHeader = new JLabel("<html><b>Grading Slabs</b></html>");
             slabHeader.setAlignmentX(Component.LEFT_ALIGNMENT);
@@ -499,19 +605,31 @@ public class ManageCoursesView extends JPanel {
         }
 
         private void handleEnroll(String secId) {
-            try {
+            runWrite(() -> {
                 student.enrollInCourse(secId);
-                JOptionPane.showMessageDialog(this, "Enrolled in " + secId);
-                loadCourses();
-            } catch (Exception ex) { ex.printStackTrace(); }
+                return null;
+            }, "Enrolled in " + secId);
         }
 
         private void handleDrop(String secId) {
-            try {
+            runWrite(() -> {
                 student.dropFromCourse(secId);
-                JOptionPane.showMessageDialog(this, "Dropped " + secId);
+                return null;
+            }, "Dropped " + secId);
+        }
+
+        // the write waits for its group commit on the write queue, never on the EDT
+        private void runWrite(AsyncDataService.Query<Void> write, String message) {
+            actionBtn.setEnabled(false);
+            AsyncDataService.supply(write).whenComplete((done, error) -> SwingUtilities.invokeLater(() -> {
+                if (error != null) {
+                    error.printStackTrace();
+                    refreshAction();
+                    return;
+                }
+                JOptionPane.showMessageDialog(this, message);
                 loadCourses();
-            } catch (Exception ex) { ex.printStackTrace(); }
+            }));
         }
     }
 }
\ No newline at end of file
@@ -3,10 +3,15 @@ package Application.Views.StudentViews;
 import Application.Components.StyleConstants;
 import Application.Components.StyledButton;
 import Application.Components.StyledTable;
+import Application.Components.ViewLoader;
 import Domain.Concretes.Course;
 import Domain.Concretes.Section;
 import Domain.Concretes.Student;
 import Domain.Database.sqliteConnector;
+import Domain.Events.CachesCleared;
+import Domain.Events.DomainEvents;
+import Domain.Events.GradeWritten;
+import Domain.Services.TranscriptSummary;
 
 import com.lowagie.text.*;
 import com.lowagie.text.Font;
@@ -29,7 +34,9 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 public class MyCoursesView extends JPanel {
 
@@ -37,6 +44,10 @@ public class MyCoursesView extends JPanel {
     private final DefaultTableModel detailModel;
     private final DefaultTableModel semesterModel;
     private final StyledTable detailTable;
+    private final ViewLoader semesterLoader = new ViewLoader(this);
+    private final ViewLoader detailLoader = new ViewLoader(this);
+    private final List<DomainEvents.Subscription> subscriptions = new ArrayList<>();
+    private String selectedSemester;
 
     public MyCoursesView(Student student, String currentSemester) {
         this.student = student;
@@ -119,8 +130,9 @@ public class MyCoursesView extends JPanel {
             @Override
             public void mouseClicked(MouseEvent e) {
                 int row = semTable.getSelectedRow();
-                if (row != -1) {
+                if (row != -1 && !semesterLoader.isLoading()) {
                     String selectedSem = (String) semesterModel.getValueAt(row, 0);
+                    selectedSemester = selectedSem;
                     loadDetailedSubjectData(selectedSem);
                     detailHeader.setText("Result Details: " + selectedSem);
                 }
@@ -141,45 +153,69 @@ public class MyCoursesView extends JPanel {
         calculateAndLoadSemesters();
     }
 
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        // marks entered by an instructor show up without reopening the view
+        subscriptions.add(DomainEvents.subscribe(GradeWritten.class, SwingUtilities::invokeLater, event -> {
+            if (event.studentId.equals(student.getId())) reload();
+        }));
+        subscriptions.add(DomainEvents.subscribe(CachesCleared.class, SwingUtilities::invokeLater, event -> reload()));
+    }
+
+    private void reload() {
+        calculateAndLoadSemesters();
+        if (selectedSemester != null) loadDetailedSubjectData(selectedSemester);
+    }
+
+    @Override
+    public void removeNotify() {
+        for (DomainEvents.Subscription subscription : subscriptions) subscription.cancel();
+        subscriptions.clear();
+        super.removeNotify();
+    }
+
     private void calculateAndLoadSemesters() {
         semesterModel.setRowCount(0);
-        List<String> semesters = getSemestersFromDB();
-
-        for (String sem : semesters) {
-            double semGradePoints = 0;
-            int semCredits = 0;
-            List<String> sectionIds = getSectionIdsForSemester(sem);
-
-            for (String secId : sectionIds) {
-                try {
-                    Section section = new Section(secId);
-                    int credits = getCreditsForSection(secId);
-                    Section.StudentGradeProxy grades = section.getStudentGradeRecord(student.getId(), student.permission);
-                    float totalScore = sumMarks(grades);
-                    double gradePoint = getGradePoint(totalScore, section);
-
-                    semGradePoints += (gradePoint * credits);
-                    semCredits += credits;
-                } catch (Exception e) { e.printStackTrace(); }
-            }
+        semesterModel.addRow(new Object[]{"Loading...", "", "", "", ""});
+        semesterLoader.load(this::fetchSemesterRows, rows -> {
+            semesterModel.setRowCount(0);
+            for (Object[] row : rows) semesterModel.addRow(row);
+        });
+    }
 
-            double sgpa = (semCredits > 0) ? (semGradePoints / semCredits) : 0.0;
-            semesterModel.addRow(new Object[]{
-                    sem, semCredits, semCredits, String.format("%.2f", sgpa),
-                    (sgpa > 4.0 ? "Good Standing" : "Academic Warning")
-            });
-        }
+    // runs on the data service pool, must not touch the table models
+    private List<Object[]> fetchSemesterRows() {
+        List<Object[]> rows = new ArrayList<>();
+        try {
+            for (TranscriptSummary summary : TranscriptSummary.forStudent(student.getId())) {
+                rows.add(new Object[]{
+                        summary.getSemester(), summary.getCredits(), summary.getCredits(),
+                        String.format("%.2f", summary.getSgpa()), summary.getStanding()
+                });
+            }
+        } catch (SQLException e) { e.printStackTrace(); }
+        return rows;
     }
 
     private void loadDetailedSubjectData(String semester) {
         detailModel.setRowCount(0);
-        detailTable.setEnabled(true);
+        detailModel.addRow(new Object[]{"", "Loading...", "", "", "", "", "", "", "", ""});
+        detailLoader.load(() -> fetchDetailRows(semester), rows -> {
+            detailModel.setRowCount(0);
+            detailTable.setEnabled(true);
+            for (Object[] row : rows) detailModel.addRow(row);
+        });
+    }
 
+    private List<Object[]> fetchDetailRows(String semester) {
+        List<Object[]> rows = new ArrayList<>();
         List<String> sectionIds = getSectionIdsForSemester(semester);
+        Map<String, Section> sections = loadSections(sectionIds);
 
-        for (String secId : sectionIds) {
+        for (String secId : sections.keySet()) {
             try {
-                Section section = new Section(secId);
+                Section section = sections.get(secId);
                 Section.StudentGradeProxy g = section.getStudentGradeRecord(student.getId(), student.permission);
 
                 float total = sumMarks(g);
@@ -190,7 +226,7 @@ public class MyCoursesView extends JPanel {
                     courseCode = secId.split("_")[1];
                 }
 
-                detailModel.addRow(new Object[]{
+                rows.add(new Object[]{
                         courseCode, section.getName(),
                         String.format("%.1f", g.getLabs()), String.format("%.1f", g.getQuiz()),
                         String.format("%.1f", g.getMidExams()), String.format("%.1f", g.getEndExams()),
@@ -199,6 +235,7 @@ public class MyCoursesView extends JPanel {
                 });
             } catch (Exception e) { e.printStackTrace(); }
         }
+        return rows;
     }
 
     private void downloadTranscript() {
@@ -254,13 +291,14 @@ public class MyCoursesView extends JPanel {
                     addHeaderCell(table, "Points", headerFont);
 
                     List<String> sectionIds = getSectionIdsForSemester(sem);
+                    Map<String, Section> sections = loadSections(sectionIds);
                     double semPoints = 0;
                     int semCredits = 0;
 
-                    for (String secId : sectionIds) {
+                    for (String secId : sections.keySet()) {
                         try {
-                            Section section = new Section(secId);
-                            int creds = getCreditsForSection(secId);
+                            Section section = sections.get(secId);
+                            int creds = getCreditsForSection(section);
                             Section.StudentGradeProxy g = section.getStudentGradeRecord(student.getId(), student.permission);
                             float total = sumMarks(g);
                             String letter = getLetterGrade(total, section);
@@ -324,15 +362,7 @@ public class MyCoursesView extends JPanel {
                 g.getAssignments() + g.getProjects() + g.getBonus();
     }
     private double getGradePoint(float score, Section s) {
-        if (score >= s.getO()) return 10.0;
-        if (score >= s.getA()) return 10.0;
-        if (score >= s.getA_()) return 9.0;
-        if (score >= s.getB()) return 8.0;
-        if (score >= s.getB_()) return 7.0;
-        if (score >= s.getC()) return 6.0;
-        if (score >= s.getC_()) return 5.0;
-        if (score >= s.getD()) return 4.0;
-        return 0.0;
+        return TranscriptSummary.gradePoint(score, s);
     }
     private String getLetterGrade(float score, Section s) {
         if (score >= s.getO()) return "O";
@@ -345,16 +375,23 @@ public class MyCoursesView extends JPanel {
         if (score >= s.getD()) return "D";
         return "F";
     }
-    private int getCreditsForSection(String sectionId) {
+    private int getCreditsForSection(Section section) {
         try {
-            Section section = new Section(sectionId);
-            Course course = new Course(section.getCourseId());
+            Course course = Course.find(section.getCourseId());
             return course.getCredits();
         } catch (SQLException e) {
             e.printStackTrace();
         }
         return 0;
     }
+    private Map<String, Section> loadSections(List<String> sectionIds) {
+        try {
+            return Section.loadAll(sectionIds);
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return new LinkedHashMap<>();
+    }
     private List<String> getSemestersFromDB() {
         List<String> sems = new ArrayList<>();
         String sql = "SELECT DISTINCT semester FROM enrollments WHERE student_id = ?";
@@ -2,10 +2,15 @@ package Application.Views.StudentViews;
 
 import Application.Components.StyleConstants;
 import Application.Components.StyledComboBox;
-import Domain.Concretes.Course;
+import Application.Components.ViewLoader;
 import Domain.Concretes.Section;
 import Domain.Concretes.Student;
 import Domain.Database.sqliteConnector;
+import Domain.Events.CachesCleared;
+import Domain.Events.DomainEvents;
+import Domain.Events.EnrollmentChanged;
+import Domain.Events.TimetableChanged;
+import Domain.Services.WeeklySchedule;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
@@ -17,9 +22,7 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 public class TimetableView extends JPanel {
 
@@ -27,6 +30,9 @@ public class TimetableView extends JPanel {
     private String currentSemester;
     private final JPanel scheduleGrid;
     private final StyledComboBox<String> semesterCombo;
+    private final ViewLoader loader = new ViewLoader(this);
+    private final JLabel loadingLabel = new JLabel("Loading...");
+    private final List<DomainEvents.Subscription> subscriptions = new ArrayList<>();
 
     private static final int START_HOUR = 8;
     private static final int END_HOUR = 18;
@@ -92,6 +98,23 @@ public class TimetableView extends JPanel {
         refresh();
     }
 
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        subscriptions.add(DomainEvents.subscribe(TimetableChanged.class, SwingUtilities::invokeLater, event -> refresh()));
+        subscriptions.add(DomainEvents.subscribe(CachesCleared.class, SwingUtilities::invokeLater, event -> refresh()));
+        subscriptions.add(DomainEvents.subscribe(EnrollmentChanged.class, SwingUtilities::invokeLater, event -> {
+            if (event.studentId.equals(student.getId())) refresh();
+        }));
+    }
+
+    @Override
+    public void removeNotify() {
+        for (DomainEvents.Subscription subscription : subscriptions) subscription.cancel();
+        subscriptions.clear();
+        super.removeNotify();
+    }
+
     public void refresh() {
         String selected = (String) semesterCombo.getSelectedItem();
         if(selected != null) {
@@ -100,9 +123,20 @@ public class TimetableView extends JPanel {
 
         scheduleGrid.removeAll();
         buildGrid();
-        loadData();
+        loadingLabel.setForeground(StyleConstants.GRAY);
+        add(loadingLabel, BorderLayout.SOUTH);
         scheduleGrid.revalidate();
         scheduleGrid.repaint();
+
+        String semester = currentSemester;
+        loader.load(() -> loadData(semester), blocks -> {
+            remove(loadingLabel);
+            for (ScheduleBlock block : blocks) {
+                addBlockToGrid(block.slot, block.courseName, block.sectionId);
+            }
+            revalidate();
+            scheduleGrid.repaint();
+        });
     }
 
     private void buildGrid() {
@@ -160,27 +194,26 @@ public class TimetableView extends JPanel {
         }
     }
 
-    private void loadData() {
-        Map<String, List<Section.TimeSlot>> schedule = student.getWeeklySchedule(currentSemester);
-        Map<String, String> courseNameCache = new HashMap<>();
-
-        for (Map.Entry<String, List<Section.TimeSlot>> entry : schedule.entrySet()) {
-            String sectionId = entry.getKey();
-            List<Section.TimeSlot> slots = entry.getValue();
-
-            String courseName = courseNameCache.computeIfAbsent(sectionId, k -> {
-                try {
-                    Section s = new Section(k);
-                    if (s.getCourseId() != null) {
-                        return new Course(s.getCourseId()).getName();
-                    }
-                    return s.getName();
-                } catch (Exception e) { return k; }
-            });
-
-            for (Section.TimeSlot slot : slots) {
-                addBlockToGrid(slot, courseName, sectionId);
+    // runs on the data service pool, resolves every block before the grid is touched
+    private List<ScheduleBlock> loadData(String semester) {
+        List<ScheduleBlock> blocks = new ArrayList<>();
+        try {
+            for (WeeklySchedule.Entry entry : WeeklySchedule.of(student.getId(), semester).getEntries()) {
+                blocks.add(new ScheduleBlock(entry.slot, entry.getTitle(), entry.sectionId));
             }
+        } catch (SQLException e) { e.printStackTrace(); }
+        return blocks;
+    }
+
+    private static class ScheduleBlock {
+        final Section.TimeSlot slot;
+        final String courseName;
+        final String sectionId;
+
+        ScheduleBlock(Section.TimeSlot slot, String courseName, String sectionId) {
+            this.slot = slot;
+            this.courseName = courseName;
+            this.sectionId = sectionId;
         }
     }
 
@@ -1,5 +1,7 @@
 package Domain.Abstracts;
 
+import Domain.Database.SchemaRegistry;
+import Domain.Database.UnitOfWork;
 import Domain.Database.sqliteConnector;
 import Domain.Exceptions.InvalidEntityIdentityException;
 import Domain.Exceptions.InvalidEntityNameException;
@@ -19,6 +21,11 @@ public abstract class UserEntity extends EntityABC {
     // no permission given to any USER-ENTITY needs overwriting in deriving subclasses.
     public Permission permission = Permission.PERMISSION_NONE;
 
+    /**
+     * USER loaded by id, contact and credentials are read from their databases only
+     * on first access to email, phone or authentication [LAZY], so list screens that
+     * only need names never touch the contact table or credentials.db.
+     */
     public UserEntity(String entity_id, String entity_name)
         throws InvalidEntityIdentityException, InvalidEntityNameException, SQLException
     { super(entity_id, entity_name); contactInfo = new ContactInformationModel(); security= new SecurityModel(); }
@@ -44,11 +51,6 @@ public abstract class UserEntity extends EntityABC {
         public String email;
         public String phone;
 
-        private static final String tableSql = "CREATE TABLE IF NOT EXISTS contact("+
-                                                    "id TEXT PRIMARY KEY NOT NULL, "+
-                                                    "email TEXT, "+
-                                                    "phone TEXT"+
-                                                ")";
         private static final String insertSql = "INSERT INTO contact(id, email, phone) VALUES(?, ?, ?) " +
                                                 "ON CONFLICT(id) DO UPDATE SET " +
                                                 "email = excluded.email, " +
@@ -56,26 +58,77 @@ public abstract class UserEntity extends EntityABC {
         private static final String deleteSql = "DELETE FROM contact WHERE id IN"+
                                                 "(SELECT id FROM contact WHERE id=?)";
         private static final String selectSql = "SELECT email, phone FROM contact WHERE id = ?";
+        private static final String ensureSql = "INSERT INTO contact(id, email, phone) VALUES(?, NULL, NULL) " +
+                                                "ON CONFLICT(id) DO NOTHING";
+
+        private boolean loaded;
+        private boolean emailChanged;
+        private boolean phoneChanged;
 
         public ContactInformationModel(@NotNull String email, @NotNull String phone)
-        { this.email = email; this.phone = phone; }
+        { this.email = email; this.phone = phone; this.loaded = true; }
+
+        public ContactInformationModel()
+        { this.loaded = false; }
+
+        /**
+         * READS the row on first call only, a failed read is reported and retried next time.
+         */
+        public synchronized ContactInformationModel load() {
+            if (!loaded) {
+                try {
+                    ReadFromDatabase();
+                } catch (SQLException e) {
+                    e.printStackTrace();
+                }
+            }
+            return this;
+        }
+
+        /**
+         * SETS the email, kept for the next write even when the row could not be read first.
+         */
+        public synchronized void setEmail(String email) {
+            load();
+            this.email = email;
+            emailChanged = true;
+        }
 
-        public ContactInformationModel() throws SQLException
-        { ReadFromDatabase(); }
+        /**
+         * SETS the phone, kept for the next write even when the row could not be read first.
+         */
+        public synchronized void setPhone(String phone) {
+            load();
+            this.phone = phone;
+            phoneChanged = true;
+        }
 
 
         @Override
         public void CreateTable() throws SQLException {
-            try (Connection conn = sqliteConnector.connect(database);
-                 PreparedStatement stmt = conn.prepareStatement(tableSql);) {
-                stmt.executeUpdate();
-            }
+            SchemaRegistry.ensure(database);
         }
 
         @Override
-        public void WriteToDatabase() throws SQLException {
+        public synchronized void WriteToDatabase() throws SQLException {
             CreateTable();
-            try (Connection conn = sqliteConnector.connect(database);
+            if (!loaded && !emailChanged && !phoneChanged) {
+                // never read nor set, the stored row is unchanged and a new user still gets one
+                try (Connection conn = sqliteConnector.borrow(database);
+                     PreparedStatement stmt = conn.prepareStatement(ensureSql)) {
+                    stmt.setString(1, getId());
+                    stmt.executeUpdate();
+                }
+                return;
+            }
+            if (!loaded) {
+                // set after a failed read, the other field comes from the stored row [NO LOST EDIT]
+                String newEmail = email, newPhone = phone;
+                ReadFromDatabase();
+                if (emailChanged) email = newEmail;
+                if (phoneChanged) phone = newPhone;
+            }
+            try (Connection conn = sqliteConnector.borrow(database);
                  PreparedStatement stmt = conn.prepareStatement(insertSql);) {
                 stmt.setString(1,getId());
                 stmt.setString(2,email);
@@ -88,7 +141,7 @@ public abstract class UserEntity extends EntityABC {
         @Override
         public void ReadFromDatabase() throws SQLException {
             CreateTable();
-            try (Connection conn = sqliteConnector.connect(database);
+            try (Connection conn = sqliteConnector.borrow(database);
                  PreparedStatement stmt = conn.prepareStatement(selectSql)) {
                 stmt.setString(1, getId());
                 ResultSet rs = stmt.executeQuery();
@@ -100,11 +153,12 @@ public abstract class UserEntity extends EntityABC {
                     System.out.println("User not found.");
                 }
             }
+            loaded = true;
         }
 
         @Override
         public void DeleteFromTable() throws SQLException {
-            try (Connection conn = sqliteConnector.connect(database);
+            try (Connection conn = sqliteConnector.borrow(database);
                  PreparedStatement stmt = conn.prepareStatement(deleteSql)) {
                 stmt.setString(1, getId());
                 stmt.executeUpdate();
@@ -118,11 +172,6 @@ public abstract class UserEntity extends EntityABC {
         public String permissionLevel = Permission.PERMISSION_NONE.name();
 
         private static final String database = "jdbc:sqlite:credentials.db";
-        private static final String tableSql = "CREATE TABLE IF NOT EXISTS credentials(" +
-                                                    "id TEXT PRIMARY KEY, " +
-                                                    "password TEXT, " +
-                                                    "permission_level TEXT" +
-                                                ")";
         private static final String insertSql = "INSERT INTO credentials(id, password, permission_level) VALUES(?, ?, ?) " +
                                                 "ON CONFLICT(id) DO UPDATE SET " +
                                                 "password=excluded.password, " +
@@ -130,10 +179,27 @@ public abstract class UserEntity extends EntityABC {
         private static final String selectSql = "SELECT password, permission_level FROM credentials WHERE id = ?";
         private static final String deleteSql = "DELETE FROM credentials WHERE id = ?";
 
-        public SecurityModel(String pass) throws SQLException { password = hash(pass); }
-        public SecurityModel() throws SQLException { ReadFromDatabase(); }
+        private boolean loaded;
+
+        public SecurityModel(String pass) throws SQLException { password = hash(pass); loaded = true; }
+        public SecurityModel() { loaded = false; }
+
+        /**
+         * READS credentials on first call only, a failed read is reported and retried next time.
+         */
+        public synchronized SecurityModel load() {
+            if (!loaded) {
+                try {
+                    ReadFromDatabase();
+                } catch (SQLException e) {
+                    e.printStackTrace();
+                }
+            }
+            return this;
+        }
 
         public boolean checkCredentials(String inputPass, String expectedPermission) {
+            load();
             String inputHash = hash(inputPass);
             boolean passMatch = password != null && password.equals(inputHash);
             boolean permMatch = permissionLevel != null && permissionLevel.equals(expectedPermission);
@@ -143,41 +209,25 @@ public abstract class UserEntity extends EntityABC {
 
         public void updatePassword(String rawPassword) throws SQLException {
             this.password = hash(rawPassword);
-            WriteToDatabase();
+            this.loaded = true;
+            UnitOfWork.execute(this::WriteToDatabase);
         }
 
         private String hash(String raw) {
-            if (raw == null) return null;
-            try {
-                MessageDigest digest = MessageDigest.getInstance("SHA-256");
-                byte[] encodedhash = digest.digest(raw.getBytes(StandardCharsets.UTF_8));
-                StringBuilder hexString = new StringBuilder(2 * encodedhash.length);
-                for (int i = 0; i < encodedhash.length; i++) {
-                    String hex = Integer.toHexString(0xff & encodedhash[i]);
-                    if(hex.length() == 1) {
-                        hexString.append('0');
-                    }
-                    hexString.append(hex);
-                }
-                return hexString.toString();
-            } catch (Exception e) {
-                e.printStackTrace();
-                return null;
-            }
+            return hashPassword(raw);
         }
 
         @Override public void CreateTable()
                 throws SQLException
         {
-            try(Connection c=sqliteConnector.connect(database);
-                PreparedStatement s=c.prepareStatement(tableSql))
-            {s.executeUpdate();}
+            SchemaRegistry.ensure(database);
         }
         @Override public void WriteToDatabase()
                 throws SQLException
         {
+            if (!loaded) ReadFromDatabase(); // keep the stored password, permission is rewritten below
             CreateTable();
-            try(Connection c=sqliteConnector.connect(database);
+            try(Connection c=sqliteConnector.borrow(database);
                 PreparedStatement s=c.prepareStatement(insertSql))
             {
                 s.setString(1,getId());
@@ -191,7 +241,7 @@ public abstract class UserEntity extends EntityABC {
                 throws SQLException
         {
             CreateTable();
-            try(Connection c=sqliteConnector.connect(database);
+            try(Connection c=sqliteConnector.borrow(database);
                 PreparedStatement s=c.prepareStatement(selectSql))
             {
                 s.setString(1,getId());
@@ -201,11 +251,12 @@ public abstract class UserEntity extends EntityABC {
                     permissionLevel = rs.getString("permission_level");
                 }
             }
+            loaded = true;
         }
         @Override public void DeleteFromTable()
                 throws SQLException
         {
-            try(Connection c=sqliteConnector.connect(database);
+            try(Connection c=sqliteConnector.borrow(database);
                 PreparedStatement s=c.prepareStatement(deleteSql))
             {
                 s.setString(1,getId());
@@ -214,6 +265,29 @@ public abstract class UserEntity extends EntityABC {
         }
     }
 
+    /**
+     * @return hex SHA-256 of given password as stored in credentials.db, null for null.
+     */
+    public static String hashPassword(String raw) {
+        if (raw == null) return null;
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] encodedhash = digest.digest(raw.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hexString = new StringBuilder(2 * encodedhash.length);
+            for (int i = 0; i < encodedhash.length; i++) {
+                String hex = Integer.toHexString(0xff & encodedhash[i]);
+                if(hex.length() == 1) {
+                    hexString.append('0');
+                }
+                hexString.append(hex);
+            }
+            return hexString.toString();
+        } catch (Exception e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
     public boolean authenticate(String inputPassword) {
         return security.checkCredentials(inputPassword, this.permission.name());
     }
@@ -223,18 +297,19 @@ public abstract class UserEntity extends EntityABC {
     }
 
     public boolean resetPassword(String email, String phone, String newPassword) throws SQLException {
-        if (contactInfo.email.equalsIgnoreCase(email) && contactInfo.phone.equals(phone)) {
+        ContactInformationModel contact = contactInfo.load();
+        if (contact.email.equalsIgnoreCase(email) && contact.phone.equals(phone)) {
             setPassword(newPassword);
             return true;
         }
         return false;
     }
 
-    public String getEmail() { return contactInfo.email; }
-    public String getPhone() { return contactInfo.phone; }
+    public String getEmail() { return contactInfo.load().email; }
+    public String getPhone() { return contactInfo.load().phone; }
 
-    public void setEmail(@NotNull String email) { this.contactInfo.email = email; }
-    public void setPhone(@NotNull String phone) { this.contactInfo.phone = phone; }
+    public void setEmail(@NotNull String email) { this.contactInfo.setEmail(email); }
+    public void setPhone(@NotNull String phone) { this.contactInfo.setPhone(phone); }
 
     // Forces concrete classes (like Section) to handle their own DB logic
     public abstract void onPresistenceSave() throws SQLException;
@@ -0,0 +1,117 @@
+package Domain.Cache;
+
+import Domain.Database.UnitOfWork;
+
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * ENTITY CACHE is a bounded identity map keyed by entity id.
+ * least recently used entries are evicted once capacity is reached [LRU],
+ * hits and misses are counted so repeated navigation can be observed.
+ * a load that overlaps an invalidation is returned but not remembered [NO STALE PUT].
+ *
+ * cached entities are shared between callers and must be treated as [READ ONLY],
+ * anything that is going to be modified and saved should be loaded through its
+ * constructor instead. entities invalidate their entry when they are persisted.
+ */
+public class EntityCache<V> {
+
+    /**
+     * LOADER fetching an entity from the database on a cache miss.
+     */
+    @FunctionalInterface
+    public interface Loader<V> {
+        V load(String id) throws SQLException;
+    }
+
+    private final String name;
+    private final int capacity;
+    private final LinkedHashMap<String, V> entries;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long generation;
+
+    public EntityCache(String name, int capacity) {
+        this.name = name;
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+                if (size() <= EntityCache.this.capacity) return false;
+                evictions++;
+                return true;
+            }
+        };
+    }
+
+    /**
+     * @return cached entity for id, loading and remembering it on a [MISS].
+     */
+    public V get(String id, Loader<V> loader) throws SQLException {
+        long seen;
+        synchronized (this) {
+            V cached = entries.get(id);
+            if (cached != null) {
+                hits++;
+                return cached;
+            }
+            misses++;
+            seen = generation;
+        }
+
+        V loaded = loader.load(id);
+        if (loaded != null && !UnitOfWork.isActive()) {
+            synchronized (this) {
+                if (seen == generation) entries.put(id, loaded);
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * @return cached entity for id or null, never loads and is not counted as a hit or miss.
+     */
+    public synchronized V peek(String id) {
+        return entries.get(id);
+    }
+
+    /**
+     * DROPS the entry for id now and again when the surrounding unit of work completes,
+     * so a reload racing with an uncommitted write can not leave a stale entry behind.
+     */
+    public void invalidate(String id) {
+        evict(id);
+        UnitOfWork.afterCompletion(() -> evict(id));
+    }
+
+    public synchronized void clear() {
+        generation++;
+        entries.clear();
+    }
+
+    private synchronized void evict(String id) {
+        generation++;
+        entries.remove(id);
+    }
+
+    public String getName()               { return name; }
+    public int getCapacity()              { return capacity; }
+    public synchronized int size()        { return entries.size(); }
+    public synchronized long getHits()    { return hits; }
+    public synchronized long getMisses()  { return misses; }
+    public synchronized long getEvictions() { return evictions; }
+
+    public synchronized void resetStats() {
+        hits = 0; misses = 0; evictions = 0;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("%s[size=%d/%d, hits=%d, misses=%d, evictions=%d]",
+                name, entries.size(), capacity, hits, misses, evictions);
+    }
+}
@@ -1,6 +1,8 @@
 package Domain.Concretes;
 
 import Domain.Abstracts.UserEntity;
+import Domain.Database.SchemaRegistry;
+import Domain.Database.UnitOfWork;
 import Domain.Database.sqliteConnector;
 import Domain.Interfaces.IDatabaseModel;
 import Domain.Concretes.Section;
@@ -53,40 +55,37 @@ public class Admin extends Domain.Abstracts.UserEntity {
     public void overrideStudentGrade(String sectionId, String studentId,
                                      float l, float q, float m, float e, float a, float p, float b)
             throws SQLException {
-        Domain.Concretes.Section section = new Domain.Concretes.Section(sectionId);
-        Domain.Concretes.Section.StudentGradeProxy proxy = section.getStudentGradeRecord(studentId, this.permission);
-
-        proxy.setLabs(l);
-        proxy.setQuiz(q);
-        proxy.setMidExams(m);
-        proxy.setEndExams(e);
-        proxy.setAssignments(a);
-        proxy.setProjects(p);
-        proxy.setBonus(b);
-
-        proxy.WriteToDatabase();
+        overrideStudentGrades(sectionId, List.of(new Domain.Concretes.Section.GradeRow(studentId, l, q, m, e, a, p, b)));
+    }
+
+    /**
+     * OVERRIDES marks of many students of one section in a single transaction [BATCH].
+     */
+    public void overrideStudentGrades(String sectionId, List<? extends Domain.Concretes.Section.GradeRow> rows)
+            throws SQLException {
+        Domain.Concretes.Section.writeGrades(sectionId, rows, this.permission);
     }
 
 
     @Override
     public void onPresistenceSave() throws SQLException {
-        dataModel.WriteToDatabase();
-        contactInfo.WriteToDatabase();
-        security.WriteToDatabase();
+        UnitOfWork.execute(() -> {
+            dataModel.WriteToDatabase();
+            contactInfo.WriteToDatabase();
+            security.WriteToDatabase();
+        });
     }
 
     @Override
     public void onPresistenceDelete() throws SQLException {
-        dataModel.DeleteFromTable();
-        contactInfo.DeleteFromTable();
-        security.DeleteFromTable();
+        UnitOfWork.execute(() -> {
+            dataModel.DeleteFromTable();
+            contactInfo.DeleteFromTable();
+            security.DeleteFromTable();
+        });
     }
 
     private class AdminDataModel implements IDatabaseModel {
-        private static final String tableSql = "CREATE TABLE IF NOT EXISTS admins(" +
-                                                    "id TEXT PRIMARY KEY, " +
-                                                    "name TEXT" +
-                                                ")";
         private static final String insertSql = "INSERT INTO admins(id, name) VALUES(?, ?) " +
                                                 "ON CONFLICT(id) DO UPDATE SET " +
                                                 "name=excluded.name";
@@ -94,14 +93,12 @@ public class Admin extends Domain.Abstracts.UserEntity {
         private static final String deleteSql = "DELETE FROM admins WHERE id = ?";
 
         @Override public void CreateTable() throws SQLException {
-            try(Connection c=sqliteConnector.connect(database);
-                PreparedStatement s=c.prepareStatement(tableSql))
-            {s.executeUpdate();}
+            SchemaRegistry.ensure(database);
         }
 
         @Override public void WriteToDatabase() throws SQLException {
             CreateTable();
-            try(Connection c=sqliteConnector.connect(database);
+            try(Connection c=sqliteConnector.borrow(database);
                 PreparedStatement s=c.prepareStatement(insertSql)){
                 s.setString(1, getId());
                 s.setString(2, getName());
@@ -111,7 +108,7 @@ public class Admin extends Domain.Abstracts.UserEntity {
 
         @Override public void ReadFromDatabase() throws SQLException {
             CreateTable();
-            try(Connection c=sqliteConnector.connect(database);
+            try(Connection c=sqliteConnector.borrow(database);
                 PreparedStatement s=c.prepareStatement(selectSql)){
                 s.setString(1, getId());
                 ResultSet rs = s.executeQuery();
@@ -122,7 +119,7 @@ public class Admin extends Domain.Abstracts.UserEntity {
         }
 
         @Override public void DeleteFromTable() throws SQLException {
-            try(Connection c=sqliteConnector.connect(database);
+            try(Connection c=sqliteConnector.borrow(database);
                 PreparedStatement s=c.prepareStatement(deleteSql))
             {s.setString(1, getId()); s.executeUpdate();}
         }
@@ -1,9 +1,16 @@
 package Domain.Concretes;
 
+import Domain.Cache.EntityCache;
+import Domain.Database.SchemaRegistry;
+import Domain.Database.UnitOfWork;
 import Domain.Database.sqliteConnector;
 import Domain.Exceptions.InvalidEntityIdentityException;
 import Domain.Exceptions.InvalidEntityNameException;
 import Domain.Interfaces.IDatabaseModel;
+import Domain.Services.CourseCatalog;
+import Domain.Services.SearchIndex;
+import Domain.Services.TranscriptSummary;
+import Domain.Services.WeeklySchedule;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
@@ -12,6 +19,8 @@ import java.sql.SQLException;
 
 public class Course extends Domain.Abstracts.ResourceEntity {
 
+    private static final EntityCache<Course> cache = new EntityCache<>("courses", 256);
+
     private final CourseMetadata metadata;
 
     public Course(String course_code, String course_title, int credits, int capacity)
@@ -27,6 +36,15 @@ public class Course extends Domain.Abstracts.ResourceEntity {
         this.metadata.ReadFromDatabase();
     }
 
+    /**
+     * @return shared [READ ONLY] course for given code, served from the entity cache.
+     */
+    public static Course find(String course_code) throws SQLException {
+        return cache.get(course_code, Course::new);
+    }
+
+    public static EntityCache<Course> getCache() { return cache; }
+
     public int getCredits() { return metadata.credits; }
     public void setCredits(int credits) { metadata.credits = credits; }
 
@@ -35,24 +53,32 @@ public class Course extends Domain.Abstracts.ResourceEntity {
 
     @Override
     public void onPresistenceSave() throws SQLException {
-        metadata.WriteToDatabase();
+        UnitOfWork.execute(() -> {
+            metadata.WriteToDatabase();
+            TranscriptSummary.invalidateCourse(getId());
+            WeeklySchedule.invalidateAll();
+            CourseCatalog.invalidateAll();
+            UnitOfWork.afterCommit(() -> SearchIndex.COURSES.put(getId(), getName(), null));
+        });
+        cache.invalidate(getId());
     }
 
     @Override
     public void onPresistenceDelete() throws SQLException {
-        metadata.DeleteFromTable();
+        UnitOfWork.execute(() -> {
+            metadata.DeleteFromTable();
+            TranscriptSummary.invalidateCourse(getId());
+            WeeklySchedule.invalidateAll();
+            CourseCatalog.invalidateAll();
+            UnitOfWork.afterCommit(() -> SearchIndex.COURSES.remove(getId()));
+        });
+        cache.invalidate(getId());
     }
 
     private class CourseMetadata implements IDatabaseModel {
         public int credits;
         public int capacity;
 
-        private static final String tableSql = "CREATE TABLE IF NOT EXISTS courses (" +
-                                                    "id TEXT PRIMARY KEY, " +
-                                                    "title TEXT, " +
-                                                    "credits INTEGER, " +
-                                                    "capacity INTEGER" +
-                                                ")";
         private static final String insertSql = "INSERT INTO courses(id, title, credits, capacity) " +
                                                 "VALUES(?, ?, ?, ?) " +
                                                 "ON CONFLICT(id) DO UPDATE SET " +
@@ -69,14 +95,12 @@ public class Course extends Domain.Abstracts.ResourceEntity {
         public CourseMetadata() throws SQLException { ReadFromDatabase(); }
 
         @Override public void CreateTable() throws SQLException {
-            try(Connection c=sqliteConnector.connect(database);
-                PreparedStatement s=c.prepareStatement(tableSql))
-            {s.executeUpdate();}
+            SchemaRegistry.ensure(database);
         }
 
         @Override public void WriteToDatabase() throws SQLException {
             CreateTable();
-            try(Connection c=sqliteConnector.connect(database);
+            try(Connection c=sqliteConnector.borrow(database);
                 PreparedStatement s=c.prepareStatement(insertSql)){
                 s.setString(1, getId());
                 s.setString(2, getName());
@@ -88,7 +112,7 @@ public class Course extends Domain.Abstracts.ResourceEntity {
 
         @Override public void ReadFromDatabase() throws SQLException {
             CreateTable();
-            try(Connection c=sqliteConnector.connect(database);
+            try(Connection c=sqliteConnector.borrow(database);
                 PreparedStatement s=c.prepareStatement(selectSql)){
                 s.setString(1, getId());
                 ResultSet rs = s.executeQuery();
@@ -101,7 +125,7 @@ public class Course extends Domain.Abstracts.ResourceEntity {
         }
 
         @Override public void DeleteFromTable() throws SQLException {
-            try(Connection c=sqliteConnector.connect(database);
+            try(Connection c=sqliteConnector.borrow(database);
                 PreparedStatement s=c.prepareStatement(deleteSql))
             {s.setString(1, getId()); s.executeUpdate();}
         }
@@ -1,10 +1,16 @@
 package Domain.Concretes;
 
 import Domain.Abstracts.UserEntity;
+import Domain.Cache.EntityCache;
+import Domain.Database.SchemaRegistry;
+import Domain.Database.UnitOfWork;
 import Domain.Database.sqliteConnector;
 import Domain.Exceptions.InvalidEntityIdentityException;
 import Domain.Exceptions.InvalidEntityNameException;
 import Domain.Interfaces.IDatabaseModel;
+import Domain.Services.CourseCatalog;
+import Domain.Services.SearchIndex;
+import Domain.Services.SectionStatistics;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
@@ -15,6 +21,8 @@ import java.util.List;
 
 public class Instructor extends Domain.Abstracts.UserEntity {
 
+    private static final EntityCache<Instructor> cache = new EntityCache<>("instructors", 256);
+
     private final InstructorDataModel dataModel;
     private final TeachingAssignmentModel assignmentModel;
 
@@ -44,6 +52,15 @@ public class Instructor extends Domain.Abstracts.UserEntity {
         assignmentModel.ReadFromDatabase();
     }
 
+    /**
+     * @return shared [READ ONLY] instructor for given id, served from the entity cache.
+     */
+    public static Instructor find(String entity_id) throws SQLException {
+        return cache.get(entity_id, Instructor::new);
+    }
+
+    public static EntityCache<Instructor> getCache() { return cache; }
+
     public void assignToSection(String sectionId) throws SQLException {
         if (!assignmentModel.mySections.contains(sectionId)) {
             assignmentModel.mySections.add(sectionId);
@@ -54,38 +71,26 @@ public class Instructor extends Domain.Abstracts.UserEntity {
     public void enterMarks(String sectionId, String studentId, float l, float q, float m,
                            float e, float a, float p, float b)
             throws SQLException {
+        enterMarksBatch(sectionId, List.of(new Section.GradeRow(studentId, l, q, m, e, a, p, b)));
+    }
+
+    /**
+     * ENTERS marks of many students of one section, ownership is checked once [BATCH]
+     * and every row is written in a single transaction, either all rows land or none.
+     */
+    public void enterMarksBatch(String sectionId, List<? extends Section.GradeRow> rows) throws SQLException {
         validateOwnership(sectionId);
-        Section section = new Domain.Concretes.Section(sectionId);
-        Domain.Concretes.Section.StudentGradeProxy proxy = section.getStudentGradeRecord(studentId, this.permission);
-        proxy.setLabs(l);
-        proxy.setQuiz(q);
-        proxy.setMidExams(m);
-        proxy.setEndExams(e);
-        proxy.setAssignments(a);
-        proxy.setProjects(p);
-        proxy.setBonus(b);
-        proxy.WriteToDatabase();
+        Section.writeGrades(sectionId, rows, this.permission);
     }
 
     public CourseStatsModel getSectionStats(String sectionId) throws SQLException {
         validateOwnership(sectionId);
-        CourseStatsModel stats = new CourseStatsModel();
+        SectionStatistics statistics = SectionStatistics.of(sectionId);
 
-        String sql = "SELECT AVG(labs+quiz+mid+end+assign+proj+bonus) as avg_score, " +
-                    "MAX(labs+quiz+mid+end+assign+proj+bonus) as max_score, " +
-                    "MIN(labs+quiz+mid+end+assign+proj+bonus) as min_score " +
-                    "FROM records WHERE section_id = ?";
-
-        try (Connection conn = sqliteConnector.connect("jdbc:sqlite:erp.db");
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setString(1, sectionId);
-            ResultSet rs = stmt.executeQuery();
-            if (rs.next()) {
-                stats.setAverage(rs.getFloat("avg_score"));
-                stats.setHighest(rs.getFloat("max_score"));
-                stats.setLowest(rs.getFloat("min_score"));
-            }
-        }
+        CourseStatsModel stats = new CourseStatsModel();
+        stats.setAverage(statistics.getAverage());
+        stats.setHighest(statistics.getHighest());
+        stats.setLowest(statistics.getLowest());
         return stats;
     }
 
@@ -96,16 +101,26 @@ public class Instructor extends Domain.Abstracts.UserEntity {
     }
 
     @Override public void onPresistenceSave() throws SQLException {
-        dataModel.WriteToDatabase();
-        contactInfo.WriteToDatabase();
-        assignmentModel.WriteToDatabase();
-        security.WriteToDatabase();
+        UnitOfWork.execute(() -> {
+            dataModel.WriteToDatabase();
+            contactInfo.WriteToDatabase();
+            assignmentModel.WriteToDatabase();
+            security.WriteToDatabase();
+            UnitOfWork.afterCommit(() -> SearchIndex.INSTRUCTORS.put(getId(), getName(), getEmail()));
+            CourseCatalog.invalidateAll();
+        });
+        cache.invalidate(getId());
     }
     @Override public void onPresistenceDelete() throws SQLException {
-        dataModel.DeleteFromTable();
-        contactInfo.DeleteFromTable();
-        assignmentModel.DeleteFromTable();
-        security.DeleteFromTable();
+        UnitOfWork.execute(() -> {
+            dataModel.DeleteFromTable();
+            contactInfo.DeleteFromTable();
+            assignmentModel.DeleteFromTable();
+            security.DeleteFromTable();
+            UnitOfWork.afterCommit(() -> SearchIndex.INSTRUCTORS.remove(getId()));
+            CourseCatalog.invalidateAll();
+        });
+        cache.invalidate(getId());
     }
 
     public class CourseStatsModel {
@@ -124,7 +139,6 @@ public class Instructor extends Domain.Abstracts.UserEntity {
     }
     private class InstructorDataModel implements IDatabaseModel{
 
-        private static final String tableSql = "CREATE TABLE IF NOT EXISTS instructors(id TEXT PRIMARY KEY, name TEXT)";
         private static final String insertSql = "INSERT INTO instructors(id, name) VALUES(?, ?) " +
                                                 "ON CONFLICT(id) DO UPDATE SET name=excluded.name";
         private static final String selectSql = "SELECT name FROM instructors WHERE id = ?";
@@ -132,14 +146,12 @@ public class Instructor extends Domain.Abstracts.UserEntity {
 
         @Override public void CreateTable()      throws SQLException
         {
-            try(Connection c=sqliteConnector.connect(database);
-                PreparedStatement s=c.prepareStatement(tableSql))
-            {s.executeUpdate();}
+            SchemaRegistry.ensure(database);
         }
         @Override public void WriteToDatabase()  throws SQLException
         {
             CreateTable();
-            try(Connection c=sqliteConnector.connect(database);
+            try(Connection c=sqliteConnector.borrow(database);
                  PreparedStatement s=c.prepareStatement(insertSql)) {
                 s.setString(1, getId());
                 s.setString(2, getName());
@@ -149,7 +161,7 @@ public class Instructor extends Domain.Abstracts.UserEntity {
         @Override public void ReadFromDatabase() throws SQLException
         {
             CreateTable();
-            try(Connection c=sqliteConnector.connect(database);
+            try(Connection c=sqliteConnector.borrow(database);
                 PreparedStatement s=c.prepareStatement(selectSql)){
                 s.setString(1, getId());
                 ResultSet rs =s.executeQuery();
@@ -159,7 +171,7 @@ public class Instructor extends Domain.Abstracts.UserEntity {
         }
         @Override public void DeleteFromTable()  throws SQLException
         {
-            try(Connection c=sqliteConnector.connect(database);
+            try(Connection c=sqliteConnector.borrow(database);
                 PreparedStatement s=c.prepareStatement(deleteSql)){
                 s.setString(1, getId());
                 s.executeUpdate();}
@@ -168,11 +180,6 @@ public class Instructor extends Domain.Abstracts.UserEntity {
     private class TeachingAssignmentModel implements IDatabaseModel {
         public List<String> mySections = new ArrayList<>();
 
-        private static final String tableSql = "CREATE TABLE IF NOT EXISTS teaching(" +
-                                                    "instructor_id TEXT, " +
-                                                    "section_id TEXT, " +
-                                                "PRIMARY KEY(instructor_id, section_id)" +
-                                                ")";
         private static final String insertSql = "INSERT INTO teaching(instructor_id, section_id) " +
                                                 "VALUES(?, ?) ON CONFLICT(instructor_id, section_id) " +
                                                 "DO UPDATE SET section_id=excluded.section_id";
@@ -181,14 +188,12 @@ public class Instructor extends Domain.Abstracts.UserEntity {
 
         @Override public void CreateTable() throws SQLException
         {
-            try(Connection c=sqliteConnector.connect(database);
-                PreparedStatement s=c.prepareStatement(tableSql))
-            {s.executeUpdate();}
+            SchemaRegistry.ensure(database);
         }
         @Override public void WriteToDatabase() throws SQLException
         {
             CreateTable();
-            try(Connection c=sqliteConnector.connect(database);
+            try(Connection c=sqliteConnector.borrow(database);
                 PreparedStatement s=c.prepareStatement(insertSql)){
                 for(String sec : mySections) {
                     s.setString(1, getId());
@@ -202,7 +207,7 @@ public class Instructor extends Domain.Abstracts.UserEntity {
         {
             CreateTable();
             mySections.clear();
-            try(Connection c=sqliteConnector.connect(database);
+            try(Connection c=sqliteConnector.borrow(database);
                 PreparedStatement s=c.prepareStatement(selectSql)){
                 s.setString(1, getId());
                 ResultSet rs =s.executeQuery();
@@ -211,7 +216,7 @@ public class Instructor extends Domain.Abstracts.UserEntity {
             }
         }
         @Override public void DeleteFromTable() throws SQLException {
-            try(Connection c=sqliteConnector.connect(database);
+            try(Connection c=sqliteConnector.borrow(database);
                 PreparedStatement s=c.prepareStatement(deleteSql)){
                 s.setString(1, getId());
                 s.executeUpdate();
@@ -2,20 +2,39 @@ package Domain.Concretes;
 
 import Domain.Abstracts.ResourceEntity;
 import Domain.Abstracts.UserEntity;
+import Domain.Cache.EntityCache;
+import Domain.Database.SchemaRegistry;
+import Domain.Database.UnitOfWork;
 import Domain.Database.sqliteConnector;
+import Domain.Events.DomainEvents;
+import Domain.Events.GradeWritten;
+import Domain.Events.SectionUpdated;
+import Domain.Events.TimetableChanged;
 import Domain.Exceptions.InvalidEntityIdentityException;
 import Domain.Exceptions.InvalidEntityNameException;
 import Domain.Interfaces.IDatabaseModel;
+import Domain.Services.SectionStatistics;
+import Domain.Services.TranscriptSummary;
+import Domain.Services.WeeklyOccupancy;
+import Domain.Services.WeeklySchedule;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 public class Section extends ResourceEntity {
 
+    private static final EntityCache<Section> cache = new EntityCache<>("sections", 512);
+
     protected final GradingPolicyModel gradingModel;
     protected final GradingSlabs gradingSlabs;
     private final SectionMetadata metadata;
@@ -39,11 +58,235 @@ public class Section extends ResourceEntity {
         gradingSlabs = new GradingSlabs();
         timetableModel = new TimetableModel(section_id);
 
-        metadata.ReadFromDatabase();
         gradingModel.ReadFromDatabase();
-        gradingSlabs.ReadFromDatabase();
     }
 
+    private Section(String section_id, String section_name, List<TimeSlot> slots)
+            throws InvalidEntityIdentityException, InvalidEntityNameException {
+        super(section_id, section_name);
+        this.metadata = new SectionMetadata(null, null, null, 0, 0);
+        this.gradingModel = new GradingPolicyModel();
+        this.gradingSlabs = new GradingSlabs(0, 0, 0, 0, 0, 0, 0, 0, 0);
+        this.timetableModel = new TimetableModel(section_id, slots);
+    }
+
+    private static final int loadChunk = 500;
+    private static final String loadSql = "SELECT s.id, s.name, s.course_id, s.instructor_id, s.semester, s.capacity, s.contains, " +
+                                          "g.labs, g.quiz, g.mid_exams, g.end_exams, g.assignments, g.projects, g.bonus, " +
+                                          "sl.O, sl.A, sl.A_, sl.B, sl.B_, sl.C, sl.C_, sl.D, sl.F " +
+                                          "FROM sections s " +
+                                          "LEFT JOIN gradings g ON g.id = s.id " +
+                                          "LEFT JOIN slabs sl ON sl.id = s.id " +
+                                          "WHERE s.id IN (%s)";
+    private static final String loadSlotsSql = "SELECT section_id, day, start_time, duration, room FROM timetable " +
+                                               "WHERE section_id IN (%s) ORDER BY section_id, day, start_time";
+
+    /**
+     * LOADS many sections in a fixed number of round trips [BULK].
+     * metadata, grading policy and slabs come from one joined query and the timetable
+     * from a second one, per chunk of ids, instead of four queries per section.
+     *
+     * @param ids of sections to load, duplicates are ignored.
+     * @return sections keyed by id in the order of given ids, ids without a row are left out.
+     */
+    public static Map<String, Section> loadAll(Collection<String> ids) throws SQLException {
+        List<String> unique = new ArrayList<>(new LinkedHashSet<>(ids));
+        Map<String, Section> loaded = new LinkedHashMap<>();
+        if (unique.isEmpty()) return loaded;
+
+        SchemaRegistry.ensure(IDatabaseModel.database);
+        Map<String, Section> found = new LinkedHashMap<>();
+        try (Connection c = sqliteConnector.borrow(IDatabaseModel.database)) {
+            for (int from = 0; from < unique.size(); from += loadChunk) {
+                List<String> chunk = unique.subList(from, Math.min(from + loadChunk, unique.size()));
+                String marks = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+
+                Map<String, List<TimeSlot>> slots = new LinkedHashMap<>();
+                try (PreparedStatement s = c.prepareStatement(String.format(loadSlotsSql, marks))) {
+                    for (int i = 0; i < chunk.size(); i++) s.setString(i + 1, chunk.get(i));
+                    ResultSet rs = s.executeQuery();
+                    while (rs.next()) {
+                        slots.computeIfAbsent(rs.getString("section_id"), k -> new ArrayList<>()).add(new TimeSlot(
+                                rs.getString("day"), rs.getString("start_time"),
+                                rs.getInt("duration"), rs.getString("room")
+                        ));
+                    }
+                }
+
+                try (PreparedStatement s = c.prepareStatement(String.format(loadSql, marks))) {
+                    for (int i = 0; i < chunk.size(); i++) s.setString(i + 1, chunk.get(i));
+                    ResultSet rs = s.executeQuery();
+                    while (rs.next()) {
+                        Section section = fromRow(rs, slots.getOrDefault(rs.getString("id"), new ArrayList<>()));
+                        found.put(section.getId(), section);
+                    }
+                }
+            }
+        }
+
+        for (String id : unique) {
+            Section section = found.get(id);
+            if (section != null) loaded.put(id, section);
+        }
+        return loaded;
+    }
+
+    private static Section fromRow(ResultSet rs, List<TimeSlot> slots) throws SQLException {
+        Section section;
+        try {
+            section = new Section(rs.getString("id"), rs.getString("name"), slots);
+        } catch (InvalidEntityIdentityException | InvalidEntityNameException e) {
+            throw new SQLException("Invalid section row " + rs.getString("id") + ": " + e.getMessage(), e);
+        }
+        section.metadata.course_id     = rs.getString("course_id");
+        section.metadata.instructor_id = rs.getString("instructor_id");
+        section.metadata.semester      = rs.getString("semester");
+        section.metadata.capacity      = rs.getInt("capacity");
+        section.metadata.contains      = rs.getInt("contains");
+
+        GradingPolicyModel g = section.gradingModel;
+        g.labs = rs.getFloat("labs");               g.quiz = rs.getFloat("quiz");
+        g.mid_exams = rs.getFloat("mid_exams");     g.end_exams = rs.getFloat("end_exams");
+        g.assignments = rs.getFloat("assignments"); g.projects = rs.getFloat("projects");
+        g.bonus = rs.getFloat("bonus");
+
+        GradingSlabs sl = section.gradingSlabs;
+        sl.O  = rs.getFloat("O" ); sl.A  = rs.getFloat("A" );
+        sl.A_ = rs.getFloat("A_"); sl.B  = rs.getFloat("B" );
+        sl.B_ = rs.getFloat("B_"); sl.C  = rs.getFloat("C" );
+        sl.C_ = rs.getFloat("C_"); sl.D  = rs.getFloat("D" );
+        sl.F  = rs.getFloat("F" );
+        return section;
+    }
+
+    private static final String gradebookSql = "SELECT e.student_id, COALESCE(st.name, e.student_id) AS name, " +
+                                               "r.labs, r.quiz, r.mid, r.end, r.assign, r.proj, r.bonus " +
+                                               "FROM enrollments e " +
+                                               "LEFT JOIN students st ON st.id = e.student_id " +
+                                               "LEFT JOIN records r ON r.student_id = e.student_id AND r.section_id = e.section_id " +
+                                               "WHERE e.section_id = ?";
+
+    private static final String recordUpsertSql = "INSERT INTO records(student_id, section_id, labs, quiz, mid, end, assign, proj, bonus) " +
+                                                  "VALUES(?, ?, ?, ?, ?, ?, ?, ?, ?) " +
+                                                  "ON CONFLICT(student_id, section_id) DO UPDATE SET " +
+                                                  "labs=excluded.labs, quiz=excluded.quiz, mid=excluded.mid, end=excluded.end, " +
+                                                  "assign=excluded.assign, proj=excluded.proj, bonus=excluded.bonus";
+
+    /**
+     * GRADE ROW is the complete set of marks of one student in a section.
+     */
+    public static class GradeRow {
+        public final String studentId;
+        public final float labs, quiz, midExams, endExams, assignments, projects, bonus;
+
+        public GradeRow(String studentId, float labs, float quiz, float midExams,
+                        float endExams, float assignments, float projects, float bonus) {
+            this.studentId = studentId;
+            this.labs = labs; this.quiz = quiz; this.midExams = midExams; this.endExams = endExams;
+            this.assignments = assignments; this.projects = projects; this.bonus = bonus;
+        }
+
+        public float getTotal() {
+            return labs + quiz + midExams + endExams + assignments + projects + bonus;
+        }
+    }
+
+    /**
+     * GRADEBOOK ROW is one enrolled student of a section with its marks [READ MODEL].
+     * students without a records row yet have all marks at zero.
+     */
+    public static class GradebookRow extends GradeRow {
+        public final String studentName;
+
+        public GradebookRow(String studentId, String studentName, float labs, float quiz, float midExams,
+                            float endExams, float assignments, float projects, float bonus) {
+            super(studentId, labs, quiz, midExams, endExams, assignments, projects, bonus);
+            this.studentName = studentName;
+        }
+    }
+
+    /**
+     * WRITES marks of many students of given section [BATCH].
+     * all rows go through one prepared statement inside a single unit of work,
+     * so a whole gradebook costs one commit instead of one per student.
+     * only instructors and administrators may write, callers check section ownership.
+     */
+    public static void writeGrades(String sectionId, List<? extends GradeRow> rows, UserEntity.Permission perm)
+            throws SQLException {
+        if (perm != UserEntity.Permission.PERMISSION_INSTRUCTOR &&
+                perm != UserEntity.Permission.PERMISSION_ADMIN &&
+                perm != UserEntity.Permission.PERMISSION_STUDENT_INSTRUCTOR) {
+            throw new SecurityException("ACCESS DENIED: User does not have permission to modify grades.");
+        }
+        if (rows.isEmpty()) return;
+
+        SchemaRegistry.ensure(IDatabaseModel.database);
+        UnitOfWork.execute(() -> {
+            try (Connection c = sqliteConnector.borrow(IDatabaseModel.database);
+                 PreparedStatement s = c.prepareStatement(recordUpsertSql)) {
+                for (GradeRow row : rows) {
+                    s.setString(1, row.studentId);
+                    s.setString(2, sectionId);
+                    s.setFloat(3, row.labs);
+                    s.setFloat(4, row.quiz);
+                    s.setFloat(5, row.midExams);
+                    s.setFloat(6, row.endExams);
+                    s.setFloat(7, row.assignments);
+                    s.setFloat(8, row.projects);
+                    s.setFloat(9, row.bonus);
+                    s.addBatch();
+                }
+                s.executeBatch();
+            }
+            List<String> studentIds = new ArrayList<>();
+            for (GradeRow row : rows) {
+                SectionStatistics.recordChanged(sectionId, row.studentId, row.getTotal());
+                studentIds.add(row.studentId);
+                DomainEvents.publish(new GradeWritten(sectionId, row.studentId));
+            }
+            TranscriptSummary.invalidateRecords(sectionId, studentIds);
+        });
+    }
+
+    /**
+     * STREAMS the gradebook of given section into sink, one row per enrolled student [ONE QUERY].
+     * names and marks come from a single join over enrollments, students and records,
+     * no Student entity or credentials lookup is involved.
+     */
+    public static void streamGradebook(String sectionId, Consumer<GradebookRow> sink) throws SQLException {
+        SchemaRegistry.ensure(IDatabaseModel.database);
+        try (Connection c = sqliteConnector.borrow(IDatabaseModel.database);
+             PreparedStatement s = c.prepareStatement(gradebookSql)) {
+            s.setString(1, sectionId);
+            ResultSet rs = s.executeQuery();
+            while (rs.next()) {
+                sink.accept(new GradebookRow(
+                        rs.getString("student_id"), rs.getString("name"),
+                        rs.getFloat("labs"), rs.getFloat("quiz"), rs.getFloat("mid"), rs.getFloat("end"),
+                        rs.getFloat("assign"), rs.getFloat("proj"), rs.getFloat("bonus")
+                ));
+            }
+        }
+    }
+
+    /**
+     * @return gradebook of given section as a list, see streamGradebook().
+     */
+    public static List<GradebookRow> loadGradebook(String sectionId) throws SQLException {
+        List<GradebookRow> rows = new ArrayList<>();
+        streamGradebook(sectionId, rows::add);
+        return rows;
+    }
+
+    /**
+     * @return shared [READ ONLY] section for given id, served from the entity cache.
+     */
+    public static Section find(String section_id) throws SQLException {
+        return cache.get(section_id, Section::new);
+    }
+
+    public static EntityCache<Section> getCache() { return cache; }
+
     public List<TimeSlot> getTimetable() {
         return timetableModel.slots;
     }
@@ -52,8 +295,14 @@ public class Section extends ResourceEntity {
         if (perm != Domain.Abstracts.UserEntity.Permission.PERMISSION_ADMIN) {
             throw new SecurityException("ACCESS DENIED: Only Administrators can modify Section Timetables.");
         }
-        this.timetableModel.slots = newSlots;
-        this.timetableModel.WriteToDatabase();
+        UnitOfWork.execute(() -> {
+            WeeklyOccupancy.checkTimetable(getId(), getSemester(), newSlots);
+            this.timetableModel.slots = newSlots;
+            this.timetableModel.WriteToDatabase();
+            WeeklySchedule.invalidateAll();
+            DomainEvents.publish(new TimetableChanged(getId(), newSlots));
+        });
+        cache.invalidate(getId());
     }
 
     public static class TimeSlot {
@@ -76,11 +325,6 @@ public class Section extends ResourceEntity {
         public List<TimeSlot> slots = new ArrayList<>();
         private final String sectionId;
 
-        private static final String tableSql = "CREATE TABLE IF NOT EXISTS timetable (" +
-                                                    "section_id TEXT, day TEXT, " +
-                                                    "start_time TEXT, duration INTEGER, room TEXT, " +
-                                                    "PRIMARY KEY(section_id, day, start_time)" +
-                                                ")";
         private static final String insertSql = "INSERT INTO timetable(section_id, day, start_time, duration, room) " +
                                                 "VALUES(?, ?, ?, ?, ?) " +
                                                 "ON CONFLICT(section_id, day, start_time) DO UPDATE SET " +
@@ -94,15 +338,18 @@ public class Section extends ResourceEntity {
             ReadFromDatabase();
         }
 
+        public TimetableModel(String sectionId, List<TimeSlot> slots) {
+            this.sectionId = sectionId;
+            this.slots = slots;
+        }
+
         @Override public void CreateTable() throws SQLException {
-            try(Connection c=sqliteConnector.connect(database);
-                PreparedStatement s=c.prepareStatement(tableSql))
-            {s.executeUpdate();}
+            SchemaRegistry.ensure(database);
         }
 
         @Override public void WriteToDatabase() throws SQLException {
             CreateTable();
-            try(Connection conn = sqliteConnector.connect(database)) {
+            try(Connection conn = sqliteConnector.borrow(database)) {
                 try(PreparedStatement del = conn.prepareStatement(deleteSql)) {
                     del.setString(1, sectionId);
                     del.executeUpdate();
@@ -122,7 +369,7 @@ public class Section extends ResourceEntity {
         @Override public void ReadFromDatabase() throws SQLException {
             CreateTable();
             slots.clear();
-            try(Connection c=sqliteConnector.connect(database);
+            try(Connection c=sqliteConnector.borrow(database);
                 PreparedStatement s=c.prepareStatement(selectSql)){
                 s.setString(1, sectionId);
                 ResultSet rs = s.executeQuery();
@@ -135,7 +382,7 @@ public class Section extends ResourceEntity {
             }
         }
         @Override public void DeleteFromTable() throws SQLException {
-            try(Connection c=sqliteConnector.connect(database);
+            try(Connection c=sqliteConnector.borrow(database);
                 PreparedStatement s=c.prepareStatement(deleteSql)){
                 s.setString(1, sectionId); s.executeUpdate();
             }
@@ -183,22 +430,7 @@ public class Section extends ResourceEntity {
 
         @Override
         public void CreateTable() throws SQLException {
-            String sql = "CREATE TABLE IF NOT EXISTS records (" +
-                            "student_id TEXT, " +
-                            "section_id TEXT, " +
-                            "labs FLOAT, " +
-                            "quiz FLOAT, " +
-                            "mid FLOAT, " +
-                            "end FLOAT, " +
-                            "assign FLOAT, " +
-                            "proj FLOAT, " +
-                            "bonus FLOAT, " +
-                            "PRIMARY KEY(student_id, section_id)" +
-                        ")";
-            try (Connection conn = sqliteConnector.connect(database);
-                 PreparedStatement stmt = conn.prepareStatement(sql)) {
-                stmt.executeUpdate();
-            }
+            SchemaRegistry.ensure(database);
         }
 
         @Override
@@ -206,14 +438,8 @@ public class Section extends ResourceEntity {
             checkWritePermission();
 
             CreateTable();
-            String sql = "INSERT INTO records(student_id, section_id, labs, quiz, mid, end, assign, proj, bonus) " +
-                            "VALUES(?, ?, ?, ?, ?, ?, ?, ?, ?) " +
-                            "ON CONFLICT(student_id, section_id) DO UPDATE SET " +
-                            "labs=excluded.labs, quiz=excluded.quiz, mid=excluded.mid, end=excluded.end, " +
-                            "assign=excluded.assign, proj=excluded.proj, bonus=excluded.bonus";
-
-            try (Connection conn = sqliteConnector.connect(database);
-                 PreparedStatement stmt = conn.prepareStatement(sql)) {
+            try (Connection conn = sqliteConnector.borrow(database);
+                 PreparedStatement stmt = conn.prepareStatement(recordUpsertSql)) {
                 stmt.setString(1, studentId);
                 stmt.setString(2, sectionId);
                 stmt.setFloat(3, labs);
@@ -225,13 +451,17 @@ public class Section extends ResourceEntity {
                 stmt.setFloat(9, bonus);
                 stmt.executeUpdate();
             }
+            SectionStatistics.recordChanged(sectionId, studentId,
+                    labs + quiz + mid_exams + end_exams + assignments + projects + bonus);
+            TranscriptSummary.invalidateRecords(sectionId, List.of(studentId));
+            DomainEvents.publish(new GradeWritten(sectionId, studentId));
         }
 
         @Override
         public void ReadFromDatabase() throws SQLException {
             CreateTable();
             String sql = "SELECT * FROM records WHERE student_id = ? AND section_id = ?";
-            try (Connection conn = sqliteConnector.connect(database);
+            try (Connection conn = sqliteConnector.borrow(database);
                  PreparedStatement stmt = conn.prepareStatement(sql)) {
                 stmt.setString(1, studentId);
                 stmt.setString(2, sectionId);
@@ -253,12 +483,15 @@ public class Section extends ResourceEntity {
             checkWritePermission();
 
             String sql = "DELETE FROM records WHERE student_id = ? AND section_id = ?";
-            try (Connection conn = sqliteConnector.connect(database);
+            try (Connection conn = sqliteConnector.borrow(database);
                  PreparedStatement stmt = conn.prepareStatement(sql)) {
                 stmt.setString(1, studentId);
                 stmt.setString(2, sectionId);
                 stmt.executeUpdate();
             }
+            SectionStatistics.recordChanged(sectionId, studentId, null);
+            TranscriptSummary.invalidateRecords(sectionId, List.of(studentId));
+            DomainEvents.publish(new GradeWritten(sectionId, studentId));
         }
     }
 
@@ -269,22 +502,36 @@ public class Section extends ResourceEntity {
 
     public void setStudentGradeRecord(StudentGradeProxy studentGradeRecord)
             throws SQLException, SecurityException{
-        studentGradeRecord.WriteToDatabase();
+        UnitOfWork.execute(studentGradeRecord::WriteToDatabase);
     }
 
     @Override
     public void onPresistenceSave() throws SQLException {
-        metadata.WriteToDatabase();
-        gradingModel.WriteToDatabase();
-        gradingSlabs.WriteToDatabase();
-        timetableModel.WriteToDatabase();
+        UnitOfWork.execute(() -> {
+            metadata.WriteToDatabase();
+            gradingModel.WriteToDatabase();
+            gradingSlabs.WriteToDatabase();
+            timetableModel.WriteToDatabase();
+            TranscriptSummary.invalidateSection(getId());
+            WeeklySchedule.invalidateAll();
+            DomainEvents.publish(new SectionUpdated(getId(), false));
+        });
+        cache.invalidate(getId());
+        SectionStatistics.invalidate(getId());
     }
     @Override
     public void onPresistenceDelete() throws SQLException {
-        metadata.DeleteFromTable();
-        gradingModel.DeleteFromTable();
-        gradingSlabs.DeleteFromTable();
-        timetableModel.DeleteFromTable();
+        UnitOfWork.execute(() -> {
+            metadata.DeleteFromTable();
+            gradingModel.DeleteFromTable();
+            gradingSlabs.DeleteFromTable();
+            timetableModel.DeleteFromTable();
+            TranscriptSummary.invalidateSection(getId());
+            WeeklySchedule.invalidateAll();
+            DomainEvents.publish(new SectionUpdated(getId(), true));
+        });
+        cache.invalidate(getId());
+        SectionStatistics.invalidate(getId());
     }
 
     public class GradingPolicyModel implements IDatabaseModel {
@@ -296,11 +543,6 @@ public class Section extends ResourceEntity {
         public float projects;
         public float bonus;
 
-        private static final String tableSql = "CREATE TABLE IF NOT EXISTS gradings (" +
-                                                    "id TEXT PRIMARY KEY NOT NULL, " +
-                                                    "labs FLOAT, quiz FLOAT, mid_exams FLOAT, end_exams FLOAT, " +
-                                                    "assignments FLOAT, projects FLOAT, bonus FLOAT" +
-                                                ")";
         private static final String insertSql = "INSERT INTO gradings(" +
                                                 "id, labs, quiz, mid_exams, end_exams, assignments, projects, bonus" +
                                                 ") " +
@@ -326,13 +568,11 @@ public class Section extends ResourceEntity {
         public GradingPolicyModel() {}
 
         @Override public void CreateTable() throws SQLException {
-            try (Connection conn = sqliteConnector.connect(database);
-                 PreparedStatement stmt = conn.prepareStatement(tableSql))
-            { stmt.executeUpdate(); }
+            SchemaRegistry.ensure(database);
         }
         @Override public void WriteToDatabase() throws SQLException {
             CreateTable();
-            try (Connection conn = sqliteConnector.connect(database);
+            try (Connection conn = sqliteConnector.borrow(database);
                  PreparedStatement stmt = conn.prepareStatement(insertSql)) {
                 stmt.setString(1, getId());
                 stmt.setFloat(2, labs);
@@ -346,7 +586,7 @@ public class Section extends ResourceEntity {
             }
         }
         @Override public void ReadFromDatabase() throws SQLException {
-            try (Connection conn = sqliteConnector.connect(database);
+            try (Connection conn = sqliteConnector.borrow(database);
                  PreparedStatement stmt = conn.prepareStatement(selectSql)) {
                 stmt.setString(1, getId());
                 ResultSet rs = stmt.executeQuery();
@@ -362,7 +602,7 @@ public class Section extends ResourceEntity {
             }
         }
         @Override public void DeleteFromTable() throws SQLException {
-            try (Connection conn = sqliteConnector.connect(database);
+            try (Connection conn = sqliteConnector.borrow(database);
                  PreparedStatement stmt = conn.prepareStatement(deleteSql)) {
                 stmt.setString(1, getId());
                 stmt.executeUpdate();
@@ -389,11 +629,6 @@ public class Section extends ResourceEntity {
     public class GradingSlabs implements IDatabaseModel {
         public float O, A, A_, B, B_, C, C_, D, F;
 
-        private static final String tableSql = "CREATE TABLE IF NOT EXISTS slabs (" +
-                                                    "id TEXT PRIMARY KEY NOT NULL, " +
-                                                    "O FLOAT, A FLOAT, A_ FLOAT, B FLOAT, B_ FLOAT, " +
-                                                    "C FLOAT, C_ FLOAT, D FLOAT, F FLOAT" +
-                                                ")";
 
         private static final String insertSql = "INSERT INTO slabs(id, O, A, A_, B, B_, C, C_, D, F) " +
                                                 "VALUES(?, ?, ?, ?, ?, ?, ?, ?, ?, ?) " +
@@ -418,13 +653,11 @@ public class Section extends ResourceEntity {
         public GradingSlabs() throws SQLException { ReadFromDatabase(); }
 
         @Override public void CreateTable() throws SQLException {
-            try (Connection conn = sqliteConnector.connect(database);
-                 PreparedStatement stmt = conn.prepareStatement(tableSql))
-            { stmt.executeUpdate(); }
+            SchemaRegistry.ensure(database);
         }
         @Override public void WriteToDatabase() throws SQLException {
             CreateTable();
-            try (Connection conn = sqliteConnector.connect(database);
+            try (Connection conn = sqliteConnector.borrow(database);
                  PreparedStatement stmt = conn.prepareStatement(insertSql)) {
                 stmt.setString(1, getId());
                 stmt.setFloat(2, O ); stmt.setFloat(3, A );
@@ -437,7 +670,7 @@ public class Section extends ResourceEntity {
         }
         @Override public void ReadFromDatabase() throws SQLException {
             CreateTable();
-            try (Connection conn = sqliteConnector.connect(database);
+            try (Connection conn = sqliteConnector.borrow(database);
                  PreparedStatement stmt = conn.prepareStatement(selectSql)) {
                 stmt.setString(1, getId());
                 ResultSet rs = stmt.executeQuery();
@@ -451,7 +684,7 @@ public class Section extends ResourceEntity {
             }
         }
         @Override public void DeleteFromTable() throws SQLException {
-            try (Connection conn = sqliteConnector.connect(database);
+            try (Connection conn = sqliteConnector.borrow(database);
                  PreparedStatement stmt = conn.prepareStatement(deleteSql)) {
                 stmt.setString(1, getId());
                 stmt.executeUpdate();
@@ -485,14 +718,6 @@ public class Section extends ResourceEntity {
         public int capacity;
         public int contains;
 
-        private static final String tableSql = "CREATE TABLE IF NOT EXISTS sections(" +
-                                                    "id TEXT PRIMARY KEY, " +
-                                                    "name TEXT NOT NULL, " +
-                                                    "course_id TEXT, " +
-                                                    "instructor_id TEXT, " +
-                                                    "semester TEXT NOT NULL, " +
-                                                    "capacity INTEGER NOT NULL, " +
-                                                    "contains INTEGER NOT NULL)";
 
         private static final String insertSql = "INSERT INTO sections(id, name, course_id, instructor_id, semester, capacity, contains) " +
                                                 "VALUES(?, ?, ?, ?, ?, ?, ?) ON CONFLICT(id) DO UPDATE SET " +
@@ -500,8 +725,7 @@ public class Section extends ResourceEntity {
                                                 "course_id=excluded.course_id, " +
                                                 "instructor_id=excluded.instructor_id, " +
                                                 "semester=excluded.semester, " +
-                                                "capacity=excluded.capacity, " +
-                                                "contains=excluded.contains";
+                                                "capacity=excluded.capacity";
 
         private static final String selectSql = "SELECT name, course_id, instructor_id, semester, capacity, contains FROM sections WHERE id = ?";
         private static final String deleteSql = "DELETE FROM sections WHERE id = ?";
@@ -513,19 +737,17 @@ public class Section extends ResourceEntity {
 
         @Override public void CreateTable() throws SQLException
         {
-            try(Connection c=sqliteConnector.connect(database);
-                PreparedStatement s=c.prepareStatement(tableSql))
-            {s.executeUpdate();}
+            SchemaRegistry.ensure(database);
         }
         @Override public void WriteToDatabase() throws SQLException {
             CreateTable();
-            try(Connection c=sqliteConnector.connect(database); PreparedStatement s=c.prepareStatement(insertSql)){
+            try(Connection c=sqliteConnector.borrow(database); PreparedStatement s=c.prepareStatement(insertSql)){
                 s.setString(1, getId()); s.setString(2, getName()); s.setString(3, course_id); // Insert course_id
-                s.setString(4, instructor_id); s.setString(5, semester); s.setInt(6, capacity); s.setInt(7, contains); s.executeUpdate();
+                s.setString(4, instructor_id == null ? null : instructor_id.trim()); s.setString(5, semester); s.setInt(6, capacity); s.setInt(7, contains); s.executeUpdate();
             }
         }
         @Override public void ReadFromDatabase() throws SQLException {
-            try(Connection c=sqliteConnector.connect(database); PreparedStatement s=c.prepareStatement(selectSql)){
+            try(Connection c=sqliteConnector.borrow(database); PreparedStatement s=c.prepareStatement(selectSql)){
                 s.setString(1, getId()); ResultSet rs = s.executeQuery();
                 if (rs.next()){
                     setName(rs.getString("name"));
@@ -537,17 +759,21 @@ public class Section extends ResourceEntity {
                 }
             }
         }
-        @Override public void DeleteFromTable() throws SQLException { try(Connection c=sqliteConnector.connect(database); PreparedStatement s=c.prepareStatement(deleteSql)){s.setString(1, getId()); s.executeUpdate();} }
+        @Override public void DeleteFromTable() throws SQLException { try(Connection c=sqliteConnector.borrow(database); PreparedStatement s=c.prepareStatement(deleteSql)){s.setString(1, getId()); s.executeUpdate();} }
     }
 
     public String getCourseId() { return metadata.course_id; }
     public String getInstructorId() { return metadata.instructor_id; }
     public String getSemester() { return metadata.semester; }
     public int getCapacity() { return metadata.capacity; }
+    /**
+     * @return seats taken when this section was loaded. the count changes only through
+     * Student.enrollInCourse/dropFromCourse (reserveSeat/releaseSeat), saving a section never
+     * writes it back [NO OVERBOOKING].
+     */
     public int getContains() { return metadata.contains; }
 
-    public void setInstructorId(String instructor_id) { metadata.instructor_id = instructor_id; }
+    public void setInstructorId(String instructor_id) { metadata.instructor_id = instructor_id == null ? null : instructor_id.trim(); }
     public void setSemester(String semester) { metadata.semester = semester; }
     public void setCapacity(int capacity) { metadata.capacity = capacity; }
-    public void setContains(int contains) { metadata.contains = contains; }
 }
\ No newline at end of file
@@ -1,10 +1,19 @@
 package Domain.Concretes;
 
 import Domain.Abstracts.UserEntity;
+import Domain.Database.SchemaRegistry;
+import Domain.Database.UnitOfWork;
 import Domain.Database.sqliteConnector;
+import Domain.Events.DomainEvents;
+import Domain.Events.EnrollmentChanged;
 import Domain.Exceptions.InvalidEntityIdentityException;
 import Domain.Exceptions.InvalidEntityNameException;
 import Domain.Interfaces.IDatabaseModel;
+import Domain.Services.SearchIndex;
+import Domain.Services.SectionStatistics;
+import Domain.Services.TranscriptSummary;
+import Domain.Services.WeeklyOccupancy;
+import Domain.Services.WeeklySchedule;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
@@ -58,9 +67,15 @@ public class Student extends Domain.Abstracts.UserEntity {
         List<String> sectionIds = enrollmentModel.getSectionsForSemester(semesterKey);
 
         if (sectionIds != null) {
+            Map<String, Section> loaded = new HashMap<>();
+            try {
+                loaded = Section.loadAll(sectionIds);
+            } catch (SQLException e) {
+                System.err.println("Error loading sections for " + semesterKey + ": " + e.getMessage());
+            }
             for (String secId : sectionIds) {
                 try {
-                    Section section = new Section(secId);
+                    Section section = loaded.containsKey(secId) ? loaded.get(secId) : new Section(secId);
                     Section.StudentGradeProxy proxy = section.getStudentGradeRecord(this.getId(), this.permission);
                     semesterReport.add(proxy);
                 } catch (Exception e) {
@@ -71,97 +86,112 @@ public class Student extends Domain.Abstracts.UserEntity {
         return semesterReport;
     }
 
+    /**
+     * @return timetable slots of every section taken in semester keyed by section id,
+     * served by WeeklySchedule in one query and cached until this student enrolls or drops.
+     */
     public Map<String, List<Section.TimeSlot>> getWeeklySchedule(String semester) {
-        Map<String, List<Section.TimeSlot>> schedule = new HashMap<>();
-        List<String> enrolledSections = enrollmentModel.getSectionsForSemester(semester);
-
-        if (enrolledSections != null) {
-            for (String sectionId : enrolledSections) {
-                try {
-                    Section.TimetableModel timetable = new Section.TimetableModel(sectionId);
-                    if (!timetable.slots.isEmpty()) {
-                        schedule.put(sectionId, timetable.slots);
-                    }
-                } catch (Exception e) {
-                    e.printStackTrace();
-                }
-            }
+        try {
+            return WeeklySchedule.of(getId(), semester).getSlotsBySection();
+        } catch (SQLException e) {
+            e.printStackTrace();
         }
-        return schedule;
+        return new HashMap<>();
     }
 
-    public void enrollInCourse(String sectionId) throws SQLException {
-        Section section = new Section(sectionId);
-        String sectionSemester = section.getSemester();
-
-        if (sectionSemester == null || sectionSemester.isEmpty()) {
-            throw new SQLException("Cannot enroll: Section " + sectionId + " has no assigned semester.");
-        }
-
-        if (section.getCapacity() == section.getContains()){
-            throw new SQLException("Cannot enroll: Section " + sectionId + " is at maximum capacity.");
+    private void invalidateSchedules() {
+        for (String semester : enrollmentModel.transcript.keySet()) {
+            WeeklySchedule.invalidate(getId(), semester);
         }
+    }
 
-        section.setContains(section.getContains() + 1);
-        section.onPresistenceSave();
+    /**
+     * ENROLLS this student into given section by reserving a seat [ATOMIC].
+     * the seat counter is bumped by a conditional update that only succeeds while
+     * contains < capacity, and the enrollment row is inserted in the same transaction,
+     * so concurrent enrollments can never take more seats than the section has.
+     * a section clashing with the student's timetable that semester is rejected [CLASH].
+     */
+    public void enrollInCourse(String sectionId) throws SQLException {
+        String sectionSemester = UnitOfWork.call(() -> {
+            EnrollmentChanged change = enrollmentModel.reserveSeat(sectionId);
+            String semester = change.semester;
+            WeeklyOccupancy.checkEnrollment(getId(), sectionId, semester);
+            TranscriptSummary.invalidateSemester(getId(), semester);
+            WeeklySchedule.invalidate(getId(), semester);
+            DomainEvents.publish(change);
+            return semester;
+        });
         enrollmentModel.addCourse(sectionSemester, sectionId);
-        onPresistenceSave();
+        Section.getCache().invalidate(sectionId);
     }
 
     public void dropFromCourse(String sectionId) throws SQLException {
-        String foundSemester = null;
-        for (Map.Entry<String, List<String>> entry : enrollmentModel.transcript.entrySet()) {
-            if (entry.getValue().contains(sectionId)) {
-                foundSemester = entry.getKey();
-                break;
+        // the transcript is only read inside the unit, a retried or rolled back unit must find it unchanged
+        String droppedSemester = UnitOfWork.call(() -> {
+            String foundSemester = null;
+            for (Map.Entry<String, List<String>> entry : enrollmentModel.transcript.entrySet()) {
+                if (entry.getValue().contains(sectionId)) {
+                    foundSemester = entry.getKey();
+                    break;
+                }
             }
-        }
 
-        if (foundSemester == null) {
-            throw new SQLException("Cannot drop: You are not enrolled in Section " + sectionId);
-        }
-
-        enrollmentModel.transcript.get(foundSemester).remove(sectionId);
-        enrollmentModel.removeSingleEnrollment(foundSemester, sectionId);
-        String deleteGradesSql = "DELETE FROM records WHERE student_id = ? AND section_id = ?";
-        try (Connection conn = sqliteConnector.connect("jdbc:sqlite:erp.db");
-             PreparedStatement stmt = conn.prepareStatement(deleteGradesSql)) {
-            stmt.setString(1, getId());
-            stmt.setString(2, sectionId);
-            stmt.executeUpdate();
-        }
-
-        Section section = new Section(sectionId);
-        section.setContains(section.getContains() - 1);
-        section.onPresistenceSave();
+            if (foundSemester == null) {
+                throw new SQLException("Cannot drop: You are not enrolled in Section " + sectionId);
+            }
 
-        System.out.println("Dropped section " + sectionId + " from " + foundSemester);
+            enrollmentModel.removeSingleEnrollment(foundSemester, sectionId);
+            String deleteGradesSql = "DELETE FROM records WHERE student_id = ? AND section_id = ?";
+            try (Connection conn = sqliteConnector.borrow("jdbc:sqlite:erp.db");
+                 PreparedStatement stmt = conn.prepareStatement(deleteGradesSql)) {
+                stmt.setString(1, getId());
+                stmt.setString(2, sectionId);
+                stmt.executeUpdate();
+            }
+            SectionStatistics.recordChanged(sectionId, getId(), null);
+
+            EnrollmentChanged change = enrollmentModel.releaseSeat(sectionId, foundSemester);
+            TranscriptSummary.invalidateSemester(getId(), foundSemester);
+            WeeklySchedule.invalidate(getId(), foundSemester);
+            DomainEvents.publish(change);
+
+            System.out.println("Dropped section " + sectionId + " from " + foundSemester);
+            return foundSemester;
+        });
+        enrollmentModel.transcript.get(droppedSemester).remove(sectionId);
+        Section.getCache().invalidate(sectionId);
     }
 
     @Override
     public void onPresistenceSave() throws SQLException {
-        dataModel.WriteToDatabase();
-        contactInfo.WriteToDatabase();
-        enrollmentModel.WriteToDatabase();
-        security.WriteToDatabase();
+        UnitOfWork.execute(() -> {
+            dataModel.WriteToDatabase();
+            contactInfo.WriteToDatabase();
+            enrollmentModel.WriteToDatabase();
+            security.WriteToDatabase();
+            TranscriptSummary.invalidateStudent(getId());
+            invalidateSchedules();
+            UnitOfWork.afterCommit(() -> SearchIndex.STUDENTS.put(getId(), getName(), getEmail()));
+        });
     }
 
     @Override
     public void onPresistenceDelete() throws SQLException {
-        dataModel.DeleteFromTable();
-        contactInfo.DeleteFromTable();
-        enrollmentModel.DeleteFromTable();
-        security.DeleteFromTable();
+        UnitOfWork.execute(() -> {
+            dataModel.DeleteFromTable();
+            contactInfo.DeleteFromTable();
+            enrollmentModel.DeleteFromTable();
+            security.DeleteFromTable();
+            TranscriptSummary.deleteStudent(getId());
+            invalidateSchedules();
+            UnitOfWork.afterCommit(() -> SearchIndex.STUDENTS.remove(getId()));
+        });
     }
 
     private class StudentDataModel implements IDatabaseModel {
         public String enrollmentDate;
 
-        private static final String tableSql = "CREATE TABLE IF NOT EXISTS students(" +
-                                                    "id TEXT PRIMARY KEY, " +
-                                                    "name TEXT, " +
-                                                    "enrollment_date TEXT" +
-                                                ")";
         private static final String insertSql = "INSERT INTO students(id, name, enrollment_date) VALUES(?, ?, ?) " +
                                                 "ON CONFLICT(id) DO UPDATE SET " +
                                                 "name=excluded.name, " +
@@ -173,13 +203,11 @@ public class Student extends Domain.Abstracts.UserEntity {
         public StudentDataModel() {}
 
         @Override public void CreateTable() throws SQLException {
-            try(Connection c=sqliteConnector.connect(database);
-                PreparedStatement s=c.prepareStatement(tableSql))
-            {s.executeUpdate();}
+            SchemaRegistry.ensure(database);
         }
         @Override public void WriteToDatabase() throws SQLException {
             CreateTable();
-            try(Connection c=sqliteConnector.connect(database);
+            try(Connection c=sqliteConnector.borrow(database);
                 PreparedStatement s=c.prepareStatement(insertSql)){
                 s.setString(1, getId());
                 s.setString(2, getName());
@@ -189,7 +217,7 @@ public class Student extends Domain.Abstracts.UserEntity {
         }
         @Override public void ReadFromDatabase() throws SQLException {
             CreateTable();
-            try(Connection c=sqliteConnector.connect(database);
+            try(Connection c=sqliteConnector.borrow(database);
                 PreparedStatement s=c.prepareStatement(selectSql)){
                 s.setString(1, getId());
                 ResultSet rs = s.executeQuery();
@@ -200,7 +228,7 @@ public class Student extends Domain.Abstracts.UserEntity {
             }
         }
         @Override public void DeleteFromTable() throws SQLException {
-            try(Connection c=sqliteConnector.connect(database);
+            try(Connection c=sqliteConnector.borrow(database);
                 PreparedStatement s=c.prepareStatement(deleteSql))
             {s.setString(1, getId()); s.executeUpdate();}
         }
@@ -217,12 +245,6 @@ public class Student extends Domain.Abstracts.UserEntity {
             return transcript.get(sem);
         }
 
-        private static final String tableSql = "CREATE TABLE IF NOT EXISTS enrollments(" +
-                                                    "student_id TEXT, " +
-                                                    "section_id TEXT, " +
-                                                    "semester TEXT, " +
-                                                "PRIMARY KEY(student_id, section_id)" +
-                                                ")";
         private static final String insertSql = "INSERT INTO enrollments(student_id, section_id, semester) " +
                                                 "VALUES(?, ?, ?) " +
                                                 "ON CONFLICT(student_id, section_id) DO UPDATE SET " +
@@ -230,9 +252,96 @@ public class Student extends Domain.Abstracts.UserEntity {
         private static final String selectSql = "SELECT section_id, semester FROM enrollments WHERE student_id = ?";
         private static final String deleteSql = "DELETE FROM enrollments WHERE student_id = ?";
 
+        private static final String reserveSql  = "UPDATE sections SET contains = contains + 1 " +
+                                                  "WHERE id = ? AND contains < capacity " +
+                                                  "AND semester IS NOT NULL AND semester <> '' " +
+                                                  "AND NOT EXISTS (SELECT 1 FROM enrollments WHERE student_id = ? AND section_id = ?)";
+        private static final String releaseSql  = "UPDATE sections SET contains = contains - 1 WHERE id = ? AND contains > 0";
+        private static final String seatSql     = "SELECT semester, capacity, contains FROM sections WHERE id = ?";
+        private static final String enrolledSql = "SELECT 1 FROM enrollments WHERE student_id = ? AND section_id = ?";
+        private static final String enrollSql   = "INSERT INTO enrollments(student_id, section_id, semester) VALUES(?, ?, ?)";
+
+        /**
+         * RESERVES a seat and records the enrollment, must run inside a unit of work.
+         * the conditional update is the first statement so the transaction takes the
+         * write lock up front and waits on busy_timeout instead of failing on upgrade.
+         *
+         * @return the change, holding the semester of the section and its new seat count.
+         * @throws SQLException naming the reason when no seat could be reserved.
+         */
+        public EnrollmentChanged reserveSeat(String sectionId) throws SQLException {
+            CreateTable();
+            try (Connection c = sqliteConnector.borrow(database)) {
+                int reserved;
+                try (PreparedStatement s = c.prepareStatement(reserveSql)) {
+                    s.setString(1, sectionId);
+                    s.setString(2, getId());
+                    s.setString(3, sectionId);
+                    reserved = s.executeUpdate();
+                }
+
+                String semester = null;
+                int capacity = 0, contains = 0;
+                try (PreparedStatement s = c.prepareStatement(seatSql)) {
+                    s.setString(1, sectionId);
+                    ResultSet rs = s.executeQuery();
+                    if (rs.next()) {
+                        semester = rs.getString("semester");
+                        capacity = rs.getInt("capacity");
+                        contains = rs.getInt("contains");
+                    }
+                }
+
+                if (reserved == 0) {
+                    if (semester == null || semester.isEmpty()) {
+                        throw new SQLException("Cannot enroll: Section " + sectionId + " has no assigned semester.");
+                    }
+                    try (PreparedStatement s = c.prepareStatement(enrolledSql)) {
+                        s.setString(1, getId());
+                        s.setString(2, sectionId);
+                        if (s.executeQuery().next()) {
+                            throw new SQLException("Cannot enroll: You are already enrolled in Section " + sectionId);
+                        }
+                    }
+                    throw new SQLException("Cannot enroll: Section " + sectionId + " is at maximum capacity (" +
+                            contains + "/" + capacity + ").");
+                }
+
+                try (PreparedStatement s = c.prepareStatement(enrollSql)) {
+                    s.setString(1, getId());
+                    s.setString(2, sectionId);
+                    s.setString(3, semester);
+                    s.executeUpdate();
+                }
+                return new EnrollmentChanged(getId(), sectionId, semester, true, contains, capacity);
+            }
+        }
+
+        /**
+         * @return the change, holding the new seat count of the section.
+         */
+        public EnrollmentChanged releaseSeat(String sectionId, String semester) throws SQLException {
+            try (Connection c = sqliteConnector.borrow(database)) {
+                try (PreparedStatement s = c.prepareStatement(releaseSql)) {
+                    s.setString(1, sectionId);
+                    s.executeUpdate();
+                }
+                int capacity = 0, contains = 0;
+                try (PreparedStatement s = c.prepareStatement(seatSql)) {
+                    s.setString(1, sectionId);
+                    ResultSet rs = s.executeQuery();
+                    if (rs.next()) {
+                        capacity = rs.getInt("capacity");
+                        contains = rs.getInt("contains");
+                    }
+                }
+                return new EnrollmentChanged(getId(), sectionId, semester, false, contains, capacity);
+            }
+        }
+
         public void removeSingleEnrollment(String semester, String sectionId) throws SQLException {
             String sql = "DELETE FROM enrollments WHERE student_id = ? AND section_id = ? AND semester = ?";
-            try (Connection conn = sqliteConnector.connect(database);
+            try (Connection conn = sqliteConnector.borrow(database);
                  PreparedStatement stmt = conn.prepareStatement(sql)) {
                 stmt.setString(1, getId());
                 stmt.setString(2, sectionId);
@@ -243,15 +352,13 @@ public class Student extends Domain.Abstracts.UserEntity {
 
         @Override
         public void CreateTable() throws SQLException {
-            try(Connection c=sqliteConnector.connect(database);
-                PreparedStatement s=c.prepareStatement(tableSql))
-            {s.executeUpdate();}
+            SchemaRegistry.ensure(database);
         }
 
         @Override
         public void WriteToDatabase() throws SQLException {
             CreateTable();
-            try(Connection c=sqliteConnector.connect(database);
+            try(Connection c=sqliteConnector.borrow(database);
                 PreparedStatement s=c.prepareStatement(insertSql)){
                 for(Map.Entry<String, List<String>> entry : transcript.entrySet()) {
                     String sem = entry.getKey();
@@ -270,7 +377,7 @@ public class Student extends Domain.Abstracts.UserEntity {
         public void ReadFromDatabase() throws SQLException {
             CreateTable();
             transcript.clear();
-            try(Connection c=sqliteConnector.connect(database);
+            try(Connection c=sqliteConnector.borrow(database);
                 PreparedStatement s=c.prepareStatement(selectSql)){
                 s.setString(1, getId());
                 ResultSet rs = s.executeQuery();
@@ -283,7 +390,7 @@ public class Student extends Domain.Abstracts.UserEntity {
 
         @Override
         public void DeleteFromTable() throws SQLException {
-            try(Connection c=sqliteConnector.connect(database);
+            try(Connection c=sqliteConnector.borrow(database);
                 PreparedStatement s=c.prepareStatement(deleteSql))
             {s.setString(1, getId()); s.executeUpdate();}
         }
@@ -0,0 +1,250 @@
+package Domain.Database;
+
+import org.sqlite.SQLiteCommitListener;
+import org.sqlite.SQLiteConnection;
+import org.sqlite.SQLiteUpdateListener;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * CHANGE LOG reader telling which rows of erp.db other processes changed.
+ * triggers (schema version 6) append table and key of every changed row to the changes
+ * table [ONE ROW PER CHANGE], a reader remembers the last sequence number it saw.
+ *
+ * a read first asks PRAGMA data_version on its own connection, which only moves when some
+ * other connection committed, so an idle poll costs one pragma and no table read [CHEAP POLL].
+ * log rows inserted by this process are reported by the SQLite update and commit hooks of the
+ * pooled connections and skipped [NO ECHO], those changes were already announced in process.
+ */
+public final class ChangeLog {
+
+    /**
+     * CHANGE of one row, table and key of the row plus the second key of link tables
+     * (student of an enrollment or record, instructor of a teaching row).
+     */
+    public static final class Change {
+        /** lost changes, the log was pruned past the reader or the file was replaced */
+        public static final Change EVERYTHING = new Change("*", null, null);
+
+        public final String table;
+        public final String key;
+        public final String related;
+
+        public Change(String table, String key, String related) {
+            this.table = table;
+            this.key = key;
+            this.related = related;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Change)) return false;
+            Change other = (Change) o;
+            return table.equals(other.table) && Objects.equals(key, other.key) && Objects.equals(related, other.related);
+        }
+
+        @Override
+        public int hashCode() { return Objects.hash(table, key, related); }
+
+        @Override
+        public String toString() { return table + "[" + key + (related == null ? "" : ", " + related) + "]"; }
+    }
+
+    /** distinct changes a single read reports one by one, more than that is reported as EVERYTHING */
+    public static final int MAX_CHANGES = 1000;
+
+    private static final String boundsSql = "SELECT MIN(seq), MAX(seq) FROM changes";
+    private static final String readSql   = "SELECT seq, tbl, row_key, related_key FROM changes WHERE seq > ? ORDER BY seq LIMIT ?";
+    private static final String pruneSql  = "DELETE FROM changes WHERE seq <= (SELECT MAX(seq) FROM changes) - ?";
+
+    private static final List<ChangeLog> readers = new CopyOnWriteArrayList<>();
+    private static final Map<SQLiteConnection, Tracker> trackers = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final String url;
+    private final Set<Long> own = new ConcurrentSkipListSet<>();
+    private Connection connection;
+    private long dataVersion = -1;
+    private long lastSeq;
+
+    public ChangeLog(String url) {
+        this.url = url;
+    }
+
+    /**
+     * OPENS the reader, changes committed before this call are not reported.
+     */
+    public synchronized void open() throws SQLException {
+        if (connection != null) return;
+        SchemaRegistry.ensure(url);
+        Connection c = DriverManager.getConnection(url);
+        try (Statement s = c.createStatement()) {
+            s.execute("PRAGMA busy_timeout = " + ConnectionPool.BUSY_TIMEOUT_MS);
+            readers.add(this);
+            try (ResultSet rs = s.executeQuery(boundsSql)) {
+                lastSeq = rs.next() ? rs.getLong(2) : 0;
+            }
+            dataVersion = dataVersion(c);
+        } catch (SQLException e) {
+            readers.remove(this);
+            c.close();
+            throw e;
+        }
+        connection = c;
+    }
+
+    /**
+     * CLOSES the reader and its connection.
+     */
+    public synchronized void close() {
+        readers.remove(this);
+        own.clear();
+        if (connection == null) return;
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            System.out.println(e.getMessage());
+        }
+        connection = null;
+    }
+
+    /**
+     * @return distinct rows other processes changed since the previous read, in the order
+     * of their first change. a single EVERYTHING when changes were lost or too many to list.
+     */
+    public synchronized List<Change> read() throws SQLException {
+        if (connection == null) throw new SQLException("Change log of " + url + " is not open.");
+        long version = dataVersion(connection);
+        if (version == dataVersion) return new ArrayList<>();
+        dataVersion = version;
+
+        long first, last;
+        try (Statement s = connection.createStatement(); ResultSet rs = s.executeQuery(boundsSql)) {
+            rs.next();
+            first = rs.getLong(1);
+            last = rs.getLong(2);
+        }
+        if (last < lastSeq || (first > lastSeq + 1 && lastSeq > 0)) return lost(last);
+
+        Set<Change> changes = new LinkedHashSet<>();
+        try (PreparedStatement s = connection.prepareStatement(readSql)) {
+            s.setLong(1, lastSeq);
+            s.setInt(2, MAX_CHANGES * 4);
+            try (ResultSet rs = s.executeQuery()) {
+                while (rs.next()) {
+                    long seq = rs.getLong(1);
+                    lastSeq = seq;
+                    if (own.remove(seq)) continue;
+                    changes.add(new Change(rs.getString(2), rs.getString(3), rs.getString(4)));
+                    if (changes.size() > MAX_CHANGES) return lost(last);
+                }
+            }
+        }
+        // a full page means more is waiting, the next read continues without waiting for a commit
+        if (lastSeq < last) dataVersion = -1;
+        own.removeIf(seq -> seq <= lastSeq);
+        return new ArrayList<>(changes);
+    }
+
+    private List<Change> lost(long last) {
+        lastSeq = last;
+        own.clear();
+        List<Change> all = new ArrayList<>();
+        all.add(Change.EVERYTHING);
+        return all;
+    }
+
+    /**
+     * DELETES all but the newest retain rows of the log, a reader that fell further behind
+     * gets EVERYTHING on its next read.
+     * @return number of rows deleted.
+     */
+    public synchronized int prune(int retain) throws SQLException {
+        if (connection == null) return 0;
+        try (PreparedStatement s = connection.prepareStatement(pruneSql)) {
+            s.setInt(1, retain);
+            return s.executeUpdate();
+        }
+    }
+
+    private static long dataVersion(Connection c) throws SQLException {
+        try (Statement s = c.createStatement(); ResultSet rs = s.executeQuery("PRAGMA data_version")) {
+            return rs.next() ? rs.getLong(1) : 0;
+        }
+    }
+
+    /**
+     * TRACKS log rows inserted through given physical connection so readers of this process
+     * skip them, called by the pool for every connection it opens on erp.db.
+     */
+    static void track(Connection physical) throws SQLException {
+        SQLiteConnection c = physical.unwrap(SQLiteConnection.class);
+        Tracker tracker = new Tracker();
+        c.addUpdateListener(tracker);
+        c.addCommitListener(tracker);
+        trackers.put(c, tracker);
+    }
+
+    /**
+     * MARKS the log rows pending on given connection, taken with every savepoint.
+     * @return mark to hand to rollbackTo(), -1 when the connection is not tracked.
+     */
+    static int mark(Connection connection) throws SQLException {
+        Tracker tracker = trackers.get(connection.unwrap(SQLiteConnection.class));
+        return tracker == null ? -1 : tracker.mark();
+    }
+
+    /**
+     * FORGETS log rows recorded on given connection after the mark, called when a savepoint
+     * is rolled back. SQLite hands their sequence numbers out again, possibly to another process.
+     */
+    static void rollbackTo(Connection connection, int mark) throws SQLException {
+        Tracker tracker = trackers.get(connection.unwrap(SQLiteConnection.class));
+        if (tracker != null && mark >= 0) tracker.rollbackTo(mark);
+    }
+
+    // sequence numbers become own only once their transaction commits, a rolled back
+    // number is handed out again and may then belong to another process
+    private static final class Tracker implements SQLiteUpdateListener, SQLiteCommitListener {
+        private final List<Long> pending = new ArrayList<>();
+
+        synchronized int mark() {
+            return pending.size();
+        }
+
+        synchronized void rollbackTo(int mark) {
+            if (mark < pending.size()) pending.subList(mark, pending.size()).clear();
+        }
+
+        @Override
+        public synchronized void onUpdate(Type type, String database, String table, long rowId) {
+            if (type == Type.INSERT && "changes".equals(table) && !readers.isEmpty()) pending.add(rowId);
+        }
+
+        @Override
+        public synchronized void onCommit() {
+            if (pending.isEmpty()) return;
+            for (ChangeLog reader : readers) reader.own.addAll(pending);
+            pending.clear();
+        }
+
+        @Override
+        public synchronized void onRollback() {
+            pending.clear();
+        }
+    }
+}
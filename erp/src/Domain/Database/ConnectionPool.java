@@ -0,0 +1,370 @@
+package Domain.Database;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * POOL of long lived physical connections for a single SQLite database file.
+ * every connection is opened once, switched to WAL journaling [CONCURRENT READERS]
+ * and given a busy timeout so writers wait instead of failing with SQLITE_BUSY.
+ *
+ * a thread holds at most one physical connection [AFFINITY], nested borrows on the
+ * same thread are reference counted and share it. it is returned to the idle
+ * queue only when the outermost lease is closed.
+ *
+ * an attachment given at construction is attached to every opened connection,
+ * unqualified table names then resolve to it when the main file has no such table.
+ * connections on erp.db report the change log rows they write to ChangeLog readers.
+ *
+ * the WriteQueue writer keeps one connection of its own beyond MAX_CONNECTIONS [RESERVED],
+ * callers waiting for a write while they hold leases can never starve it.
+ *
+ * prepared statements are kept per physical connection and handed out again for the same
+ * SQL [STATEMENT CACHE], closing one only resets it. parsing a statement (and the triggers
+ * it fires) costs more than running most of them, and the single writer would pay it serially.
+ */
+class ConnectionPool {
+    static final int MAX_CONNECTIONS  = 4;
+    static final int BUSY_TIMEOUT_MS  = 5000;
+    static final int BORROW_TIMEOUT_MS = 10000;
+    static final int CACHED_STATEMENTS = 64;
+
+    private final String url;
+    private final String attachment;
+    private final BlockingDeque<Connection> idle = new LinkedBlockingDeque<>();
+    private final AtomicInteger opened = new AtomicInteger();
+    private volatile Connection reserved;
+    private final Map<Connection, StatementCache> statementCaches = new ConcurrentHashMap<>();
+    private final ThreadLocal<Holder> owned = new ThreadLocal<>();
+    private volatile boolean closed = false;
+
+    private static class Holder {
+        final Connection physical;
+        int depth;
+
+        Holder(Connection physical) { this.physical = physical; }
+    }
+
+    ConnectionPool(String url) {
+        this.url = url;
+        this.attachment = sqliteConnector.attachmentFor(url);
+    }
+
+    Connection borrow() throws SQLException {
+        Holder holder = owned.get();
+        if (holder == null) {
+            holder = new Holder(acquire());
+            owned.set(holder);
+        }
+        holder.depth++;
+        return lease(holder);
+    }
+
+    private Connection acquire() throws SQLException {
+        if (closed) throw new SQLException("Connection pool for " + url + " is shut down.");
+
+        Connection c;
+        if (WriteQueue.isWriterThread()) {
+            c = reserved;
+            reserved = null;
+            return c != null && !c.isClosed() ? c : open();
+        }
+
+        while ((c = idle.pollFirst()) != null) {
+            if (!c.isClosed()) return c;
+            opened.decrementAndGet();
+        }
+
+        if (opened.incrementAndGet() <= MAX_CONNECTIONS) {
+            try {
+                return open();
+            } catch (SQLException e) {
+                opened.decrementAndGet();
+                throw e;
+            }
+        }
+        opened.decrementAndGet();
+
+        try {
+            c = idle.pollFirst(BORROW_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a connection to " + url, e);
+        }
+        if (c == null) throw new SQLException("Timed out waiting for a connection to " + url);
+        return c;
+    }
+
+    private Connection open() throws SQLException {
+        Connection c = DriverManager.getConnection(url);
+        try (Statement s = c.createStatement()) {
+            s.execute("PRAGMA journal_mode = WAL");
+            s.execute("PRAGMA busy_timeout = " + BUSY_TIMEOUT_MS);
+            s.execute("PRAGMA synchronous = NORMAL");
+        }
+        if (attachment != null) attach(c);
+        if (sqliteConnector.ERP_DATABASE.equals(url)) ChangeLog.track(c);
+        return c;
+    }
+
+    private void attach(Connection c) throws SQLException {
+        String schema = sqliteConnector.CREDENTIALS_SCHEMA;
+        try (PreparedStatement p = c.prepareStatement("ATTACH DATABASE ? AS " + schema);
+             Statement s = c.createStatement()) {
+            p.setString(1, attachment);
+            p.execute();
+            s.execute("PRAGMA " + schema + ".journal_mode = WAL");
+            s.execute("PRAGMA " + schema + ".synchronous = NORMAL");
+        } catch (SQLException e) {
+            c.close();
+            throw e;
+        }
+    }
+
+    private void giveBack(Holder holder) {
+        if (--holder.depth > 0) return;
+        owned.remove();
+
+        Connection c = holder.physical;
+        try {
+            if (!c.getAutoCommit()) {
+                c.rollback();
+                c.setAutoCommit(true);
+            }
+            if (WriteQueue.isWriterThread()) {
+                if (!closed && !c.isClosed()) {
+                    reserved = c;
+                    return;
+                }
+                statementCaches.remove(c);
+                c.close();
+                return;
+            }
+            if (!closed && !c.isClosed()) {
+                idle.offerFirst(c);
+                return;
+            }
+        } catch (SQLException e) {
+            System.out.println(e.getMessage());
+        }
+        discard(c);
+    }
+
+    private void discard(Connection c) {
+        opened.decrementAndGet();
+        statementCaches.remove(c);
+        try {
+            c.close();
+        } catch (SQLException e) {
+            System.out.println(e.getMessage());
+        }
+    }
+
+    void checkpoint() {
+        try (Connection c = borrow(); Statement s = c.createStatement()) {
+            s.execute("PRAGMA wal_checkpoint(TRUNCATE)");
+        } catch (SQLException e) {
+            System.out.println(e.getMessage());
+        }
+    }
+
+    void close() {
+        closed = true;
+        Connection c = reserved;
+        reserved = null;
+        if (c != null) {
+            statementCaches.remove(c);
+            try {
+                c.close();
+            } catch (SQLException e) {
+                System.out.println(e.getMessage());
+            }
+        }
+        while ((c = idle.pollFirst()) != null) {
+            discard(c);
+        }
+    }
+
+    private Connection lease(Holder holder) {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                new Lease(holder));
+    }
+
+    /**
+     * LEASE handed to callers in place of the physical connection.
+     * close() returns it to the pool and also closes statements opened through it,
+     * so forgotten createStatement() calls do not pile up on a long lived connection.
+     */
+    private class Lease implements InvocationHandler {
+        private final Holder holder;
+        private final List<Statement> statements = new ArrayList<>();
+        private boolean released = false;
+
+        Lease(Holder holder) { this.holder = holder; }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    release();
+                    return null;
+                case "isClosed":
+                    return released || holder.physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Lease[" + url + "]";
+                case "unwrap":
+                    if (((Class<?>) args[0]).isInstance(proxy)) return proxy;
+                    break;
+            }
+            if (released) throw new SQLException("Connection lease has already been returned.");
+            if (method.getName().equals("prepareStatement") && args.length == 1) {
+                PreparedStatement statement = statementCaches
+                        .computeIfAbsent(holder.physical, StatementCache::new)
+                        .prepare((String) args[0]);
+                statements.add(statement);
+                return statement;
+            }
+
+            Object result;
+            try {
+                result = method.invoke(holder.physical, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            if (result instanceof Statement) statements.add((Statement) result);
+            return result;
+        }
+
+        private void release() {
+            if (released) return;
+            released = true;
+            for (Statement s : statements) {
+                try {
+                    s.close();
+                } catch (SQLException ignored) {
+                }
+            }
+            statements.clear();
+            giveBack(holder);
+        }
+    }
+
+    /**
+     * STATEMENT CACHE of one physical connection, least recently used statements are closed
+     * once CACHED_STATEMENTS are kept. a statement still in use when its SQL is prepared again
+     * (nested models) is not shared, the second caller gets a fresh uncached one.
+     */
+    private static class StatementCache {
+        private final Connection physical;
+        private final LinkedHashMap<String, CachedStatement> statements = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedStatement> eldest) {
+                if (size() <= CACHED_STATEMENTS) return false;
+                eldest.getValue().evict();
+                return true;
+            }
+        };
+
+        StatementCache(Connection physical) { this.physical = physical; }
+
+        PreparedStatement prepare(String sql) throws SQLException {
+            CachedStatement cached = statements.get(sql);
+            if (cached != null && cached.inUse) return physical.prepareStatement(sql);
+            if (cached == null || cached.statement.isClosed()) {
+                cached = new CachedStatement(physical.prepareStatement(sql));
+                statements.put(sql, cached);
+            }
+            cached.inUse = true;
+            return (PreparedStatement) Proxy.newProxyInstance(
+                    PreparedStatement.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class},
+                    cached);
+        }
+    }
+
+    /**
+     * CACHED STATEMENT handed out as a proxy, close() resets it for the next caller: the open
+     * result set is closed so no read snapshot stays behind, parameters and batch are cleared.
+     */
+    private static class CachedStatement implements InvocationHandler {
+        private final PreparedStatement statement;
+        private ResultSet results;
+        private boolean inUse;
+        private boolean evicted;
+
+        CachedStatement(PreparedStatement statement) { this.statement = statement; }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    giveBack();
+                    return null;
+                case "isClosed":
+                    return !inUse || statement.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Cached[" + statement + "]";
+            }
+            if (!inUse) throw new SQLException("Statement has already been closed.");
+
+            Object result;
+            try {
+                result = method.invoke(statement, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            if (result instanceof ResultSet) results = (ResultSet) result;
+            return result;
+        }
+
+        private void giveBack() throws SQLException {
+            if (!inUse) return;
+            inUse = false;
+            try {
+                if (results != null) results.close();
+                results = null;
+                statement.clearParameters();
+                statement.clearBatch();
+            } finally {
+                if (evicted) statement.close();
+            }
+        }
+
+        private void evict() {
+            evicted = true;
+            if (inUse) return;
+            try {
+                statement.close();
+            } catch (SQLException e) {
+                System.out.println(e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,315 @@
+package Domain.Database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * SCHEMA REGISTRY owning every table definition of the application.
+ * each database file has an ordered list of migrations [VERSIONED], the highest
+ * applied version is recorded in its schema_version table so a migration runs
+ * exactly once per file, in order, inside its own transaction.
+ *
+ * models call ensure() instead of issuing CREATE TABLE themselves, after the
+ * first call for a database this is an in-memory check and no DDL is sent [SKIP].
+ * new tables, columns and indexes must be appended as a new version, never by
+ * editing an already released one.
+ */
+public class SchemaRegistry {
+
+    /**
+     * MIGRATION is one schema step, a version number and the statements it runs.
+     */
+    public static final class Migration {
+        private final int version;
+        private final String description;
+        private final List<String> statements;
+
+        public Migration(int version, String description, String... statements) {
+            this.version = version;
+            this.description = description;
+            this.statements = List.of(statements);
+        }
+
+        public int getVersion() { return version; }
+        public String getDescription() { return description; }
+        public List<String> getStatements() { return statements; }
+    }
+
+    private static final String versionTableSql = "CREATE TABLE IF NOT EXISTS schema_version(" +
+                                                        "version INTEGER PRIMARY KEY, " +
+                                                        "description TEXT, " +
+                                                        "applied_at TEXT" +
+                                                    ")";
+    private static final String currentSql      = "SELECT MAX(version) FROM schema_version";
+    private static final String recordSql       = "INSERT INTO schema_version(version, description, applied_at) VALUES(?, ?, ?)";
+
+    private static final Map<String, List<Migration>> migrations = new LinkedHashMap<>();
+    private static final Set<String> ensured = ConcurrentHashMap.newKeySet();
+
+    static {
+        register(sqliteConnector.ERP_DATABASE, new Migration(1, "baseline tables",
+                "CREATE TABLE IF NOT EXISTS settings(" +
+                        "key TEXT PRIMARY KEY, " +
+                        "value TEXT" +
+                ")",
+                "CREATE TABLE IF NOT EXISTS contact(" +
+                        "id TEXT PRIMARY KEY NOT NULL, " +
+                        "email TEXT, " +
+                        "phone TEXT" +
+                ")",
+                "CREATE TABLE IF NOT EXISTS admins(" +
+                        "id TEXT PRIMARY KEY, " +
+                        "name TEXT" +
+                ")",
+                "CREATE TABLE IF NOT EXISTS students(" +
+                        "id TEXT PRIMARY KEY, " +
+                        "name TEXT, " +
+                        "enrollment_date TEXT" +
+                ")",
+                "CREATE TABLE IF NOT EXISTS enrollments(" +
+                        "student_id TEXT, " +
+                        "section_id TEXT, " +
+                        "semester TEXT, " +
+                        "PRIMARY KEY(student_id, section_id)" +
+                ")",
+                "CREATE TABLE IF NOT EXISTS instructors(" +
+                        "id TEXT PRIMARY KEY, " +
+                        "name TEXT" +
+                ")",
+                "CREATE TABLE IF NOT EXISTS teaching(" +
+                        "instructor_id TEXT, " +
+                        "section_id TEXT, " +
+                        "PRIMARY KEY(instructor_id, section_id)" +
+                ")",
+                "CREATE TABLE IF NOT EXISTS courses(" +
+                        "id TEXT PRIMARY KEY, " +
+                        "title TEXT, " +
+                        "credits INTEGER, " +
+                        "capacity INTEGER" +
+                ")",
+                "CREATE TABLE IF NOT EXISTS sections(" +
+                        "id TEXT PRIMARY KEY, " +
+                        "name TEXT NOT NULL, " +
+                        "course_id TEXT, " +
+                        "instructor_id TEXT, " +
+                        "semester TEXT NOT NULL, " +
+                        "capacity INTEGER NOT NULL, " +
+                        "contains INTEGER NOT NULL" +
+                ")",
+                "CREATE TABLE IF NOT EXISTS timetable(" +
+                        "section_id TEXT, day TEXT, " +
+                        "start_time TEXT, duration INTEGER, room TEXT, " +
+                        "PRIMARY KEY(section_id, day, start_time)" +
+                ")",
+                "CREATE TABLE IF NOT EXISTS gradings(" +
+                        "id TEXT PRIMARY KEY NOT NULL, " +
+                        "labs FLOAT, quiz FLOAT, mid_exams FLOAT, end_exams FLOAT, " +
+                        "assignments FLOAT, projects FLOAT, bonus FLOAT" +
+                ")",
+                "CREATE TABLE IF NOT EXISTS slabs(" +
+                        "id TEXT PRIMARY KEY NOT NULL, " +
+                        "O FLOAT, A FLOAT, A_ FLOAT, B FLOAT, B_ FLOAT, " +
+                        "C FLOAT, C_ FLOAT, D FLOAT, F FLOAT" +
+                ")",
+                "CREATE TABLE IF NOT EXISTS records(" +
+                        "student_id TEXT, " +
+                        "section_id TEXT, " +
+                        "labs FLOAT, quiz FLOAT, mid FLOAT, end FLOAT, " +
+                        "assign FLOAT, proj FLOAT, bonus FLOAT, " +
+                        "PRIMARY KEY(student_id, section_id)" +
+                ")"
+        ));
+
+        register(sqliteConnector.ERP_DATABASE, new Migration(2, "normalized instructor ids and lookup indexes",
+                "UPDATE sections SET instructor_id = TRIM(instructor_id) " +
+                        "WHERE instructor_id <> TRIM(instructor_id)",
+                "UPDATE sections SET instructor_id = " +
+                        "(SELECT i.id FROM instructors i WHERE i.name = sections.instructor_id) " +
+                        "WHERE instructor_id NOT IN (SELECT id FROM instructors) " +
+                        "AND (SELECT COUNT(*) FROM instructors i WHERE i.name = sections.instructor_id) = 1",
+                "CREATE INDEX IF NOT EXISTS sections_instructor_idx ON sections(instructor_id)",
+                "CREATE INDEX IF NOT EXISTS sections_course_semester_idx ON sections(course_id, semester)",
+                "CREATE INDEX IF NOT EXISTS enrollments_section_idx ON enrollments(section_id)",
+                "CREATE INDEX IF NOT EXISTS records_section_idx ON records(section_id)"
+        ));
+
+        register(sqliteConnector.ERP_DATABASE, new Migration(3, "materialized transcript summaries",
+                "CREATE TABLE IF NOT EXISTS transcripts(" +
+                        "student_id TEXT, " +
+                        "semester TEXT, " +
+                        "credits INTEGER, " +
+                        "grade_points FLOAT, " +
+                        "sgpa FLOAT, " +
+                        "standing TEXT, " +
+                        "stale INTEGER NOT NULL DEFAULT 0, " +
+                        "PRIMARY KEY(student_id, semester)" +
+                ")",
+                "INSERT OR IGNORE INTO transcripts(student_id, semester, stale) " +
+                        "SELECT DISTINCT student_id, semester, 1 FROM enrollments"
+        ));
+
+        register(sqliteConnector.ERP_DATABASE, new Migration(4, "timetable room index for clash checks",
+                "CREATE INDEX IF NOT EXISTS timetable_room_idx ON timetable(room)"
+        ));
+
+        register(sqliteConnector.ERP_DATABASE, new Migration(5, "sort indexes for paged admin lists",
+                "CREATE INDEX IF NOT EXISTS students_name_idx ON students(name, id)",
+                "CREATE INDEX IF NOT EXISTS students_enrollment_date_idx ON students(enrollment_date, id)",
+                "CREATE INDEX IF NOT EXISTS instructors_name_idx ON instructors(name, id)",
+                "CREATE INDEX IF NOT EXISTS courses_title_idx ON courses(title, id)",
+                "CREATE INDEX IF NOT EXISTS sections_name_idx ON sections(name, id)",
+                "CREATE INDEX IF NOT EXISTS sections_semester_idx ON sections(semester, id)"
+        ));
+
+        register(sqliteConnector.ERP_DATABASE, new Migration(6, "change log for instances sharing the file",
+                changeLog(
+                        "CREATE TABLE IF NOT EXISTS changes(" +
+                                "seq INTEGER PRIMARY KEY AUTOINCREMENT, " +
+                                "tbl TEXT NOT NULL, " +
+                                "row_key TEXT, " +
+                                "related_key TEXT" +
+                        ")",
+                        logChanges("settings", "key", null, null),
+                        logChanges("contact", "id", null, null),
+                        logChanges("students", "id", null, null),
+                        logChanges("instructors", "id", null, null),
+                        logChanges("teaching", "section_id", "instructor_id", null),
+                        logChanges("courses", "id", null, null),
+                        logChanges("sections", "id", null, "name, course_id, instructor_id, semester, capacity"),
+                        logChanges("enrollments", "section_id", "student_id", null),
+                        logChanges("records", "section_id", "student_id", null),
+                        logChanges("timetable", "section_id", null, null),
+                        logChanges("gradings", "id", null, null),
+                        logChanges("slabs", "id", null, null))
+        ));
+
+        register(sqliteConnector.CREDENTIALS_DATABASE, new Migration(1, "baseline tables",
+                "CREATE TABLE IF NOT EXISTS credentials(" +
+                        "id TEXT PRIMARY KEY, " +
+                        "password TEXT, " +
+                        "permission_level TEXT" +
+                ")"
+        ));
+    }
+
+    private static String[] changeLog(String create, String[]... triggers) {
+        List<String> statements = new ArrayList<>();
+        statements.add(create);
+        for (String[] t : triggers) Collections.addAll(statements, t);
+        return statements.toArray(new String[0]);
+    }
+
+    // triggers appending the key of every inserted, updated and deleted row of table to the change
+    // log, an update changing the key logs the old one too. updateOf limits the columns watched.
+    private static String[] logChanges(String table, String key, String related, String updateOf) {
+        String insert = "INSERT INTO changes(tbl, row_key, related_key) ";
+        String newRow = "VALUES('" + table + "', NEW." + key + ", " + (related == null ? "NULL" : "NEW." + related) + ")";
+        String oldRow = "VALUES('" + table + "', OLD." + key + ", " + (related == null ? "NULL" : "OLD." + related) + ")";
+        String moved  = "SELECT '" + table + "', OLD." + key + ", " + (related == null ? "NULL" : "OLD." + related) +
+                        " WHERE OLD." + key + " IS NOT NEW." + key +
+                        (related == null ? "" : " OR OLD." + related + " IS NOT NEW." + related);
+        return new String[]{
+                "CREATE TRIGGER IF NOT EXISTS " + table + "_logged_insert AFTER INSERT ON " + table +
+                        " BEGIN " + insert + newRow + "; END",
+                "CREATE TRIGGER IF NOT EXISTS " + table + "_logged_update AFTER UPDATE" +
+                        (updateOf == null ? "" : " OF " + updateOf) + " ON " + table +
+                        " BEGIN " + insert + newRow + "; " + insert + moved + "; END",
+                "CREATE TRIGGER IF NOT EXISTS " + table + "_logged_delete AFTER DELETE ON " + table +
+                        " BEGIN " + insert + oldRow + "; END"
+        };
+    }
+
+    /**
+     * ADDS a migration for database at given URL, versions must be registered in increasing order.
+     */
+    public static synchronized void register(String URL, Migration migration) {
+        List<Migration> list = migrations.computeIfAbsent(URL, k -> new ArrayList<>());
+        if (!list.isEmpty() && list.get(list.size() - 1).getVersion() >= migration.getVersion())
+            throw new IllegalArgumentException("Migration " + migration.getVersion() + " for " + URL + " is out of order.");
+        list.add(migration);
+        ensured.remove(URL);
+    }
+
+    public static synchronized List<Migration> getMigrations(String URL) {
+        return Collections.unmodifiableList(new ArrayList<>(migrations.getOrDefault(URL, List.of())));
+    }
+
+    /**
+     * BOOTSTRAPS every registered database, intended to run once at application startup.
+     */
+    public static void bootstrap() throws SQLException {
+        List<String> urls;
+        synchronized (SchemaRegistry.class) { urls = new ArrayList<>(migrations.keySet()); }
+        for (String url : urls) ensure(url);
+    }
+
+    /**
+     * GUARANTEES the schema of database at given URL is at the latest version.
+     * only the first call per database touches the file, every later call is [FREE].
+     */
+    public static void ensure(String URL) throws SQLException {
+        if (ensured.contains(URL)) return;
+        synchronized (SchemaRegistry.class) {
+            if (ensured.contains(URL)) return;
+            migrate(URL);
+            ensured.add(URL);
+        }
+    }
+
+    /**
+     * @return highest migration version applied to database at given URL, 0 for a fresh file.
+     */
+    public static int currentVersion(String URL) throws SQLException {
+        try (Connection c = sqliteConnector.borrowFile(URL);
+             Statement s = c.createStatement()) {
+            s.executeUpdate(versionTableSql);
+            try (ResultSet rs = s.executeQuery(currentSql)) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        }
+    }
+
+    private static void migrate(String URL) throws SQLException {
+        int current = currentVersion(URL);
+        for (Migration m : migrations.getOrDefault(URL, List.of())) {
+            if (m.getVersion() <= current) continue;
+
+            try (Connection c = sqliteConnector.borrowFile(URL)) {
+                boolean owner = c.getAutoCommit();
+                if (owner) c.setAutoCommit(false);
+                try (Statement s = c.createStatement()) {
+                    for (String sql : m.getStatements()) s.executeUpdate(sql);
+                }
+                try (PreparedStatement s = c.prepareStatement(recordSql)) {
+                    s.setInt(1, m.getVersion());
+                    s.setString(2, m.getDescription());
+                    s.setString(3, LocalDateTime.now().toString());
+                    s.executeUpdate();
+                }
+                if (owner) {
+                    c.commit();
+                    c.setAutoCommit(true);
+                }
+            }
+        }
+    }
+
+    /**
+     * FORGETS which databases were ensured, next ensure() re-reads schema_version.
+     * used after database files are swapped on disk.
+     */
+    static void reset() {
+        ensured.clear();
+    }
+}
@@ -0,0 +1,220 @@
+package Domain.Database;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * UNIT OF WORK grouping every write of one domain operation into a transaction.
+ * while a unit is active on a thread, the first borrow() of each database file
+ * enlists that file [BEGIN], all later models on the same thread share the enlisted
+ * connection and nothing is committed until the outermost unit finishes [COMMIT].
+ *
+ * units nest by joining, an inner execute() simply runs inside the outer one.
+ * any exception rolls back every enlisted database [ROLLBACK] and is rethrown.
+ * commits happen file by file in enlistment order, atomicity holds per database file.
+ *
+ * an outermost unit does not run on the calling thread, it is handed to the WriteQueue
+ * and the caller waits for it. the writer runs several queued units in one transaction
+ * [GROUP COMMIT], each inside a savepoint so a failing unit is undone on its own.
+ */
+public final class UnitOfWork {
+
+    /**
+     * WORK is the body of a unit, any IDatabaseModel calls made inside it are transactional.
+     */
+    @FunctionalInterface
+    public interface Work {
+        void run() throws SQLException;
+    }
+
+    /**
+     * TASK is a unit body producing a value, returned only once the unit has committed.
+     */
+    @FunctionalInterface
+    public interface Task<T> {
+        T call() throws SQLException;
+    }
+
+    private static final ThreadLocal<UnitOfWork> current = new ThreadLocal<>();
+
+    private final Map<String, Connection> enlisted = new LinkedHashMap<>();
+    private final List<Runnable> onCompletion = new ArrayList<>();
+    private final List<Runnable> onCommit = new ArrayList<>();
+    private boolean committed;
+
+    private UnitOfWork() {}
+
+    /**
+     * RUNS given work as one unit, joining the unit already active on this thread if any.
+     */
+    public static void execute(Work work) throws SQLException {
+        call(() -> {
+            work.run();
+            return null;
+        });
+    }
+
+    /**
+     * RUNS given task as one unit like execute() and returns its result.
+     */
+    public static <T> T call(Task<T> task) throws SQLException {
+        if (current.get() != null) {
+            return task.call();
+        }
+        return WriteQueue.call(task);
+    }
+
+    /**
+     * BEGINS a unit on the current thread, used by the writer for each group of queued units.
+     */
+    static UnitOfWork begin() throws SQLException {
+        SchemaRegistry.bootstrap();
+        UnitOfWork unit = new UnitOfWork();
+        current.set(unit);
+        return unit;
+    }
+
+    /**
+     * RUNS given task inside this unit behind a savepoint [ISOLATED], when it fails its writes
+     * and after-commit actions are undone while the work of earlier tasks is kept.
+     */
+    <T> T attempt(Task<T> task) throws SQLException {
+        Map<Connection, Savepoint> marks = new HashMap<>();
+        Map<Connection, Integer> logMarks = new HashMap<>();
+        for (Connection c : enlisted.values()) {
+            marks.put(c, c.setSavepoint());
+            logMarks.put(c, ChangeLog.mark(c));
+        }
+        int committing = onCommit.size();
+        try {
+            T result = task.call();
+            for (Map.Entry<Connection, Savepoint> mark : marks.entrySet()) mark.getKey().releaseSavepoint(mark.getValue());
+            return result;
+        } catch (SQLException | RuntimeException | Error e) {
+            for (Connection c : enlisted.values()) {
+                try {
+                    Savepoint mark = marks.get(c);
+                    if (mark == null) {
+                        c.rollback(); // enlisted by this task, nothing of earlier tasks to keep
+                    } else {
+                        c.rollback(mark);
+                        c.releaseSavepoint(mark);
+                        ChangeLog.rollbackTo(c, logMarks.get(c));
+                    }
+                } catch (SQLException suppressed) {
+                    e.addSuppressed(suppressed);
+                }
+            }
+            onCommit.subList(committing, onCommit.size()).clear();
+            throw e;
+        }
+    }
+
+    /**
+     * ENDS this unit, committing or rolling back every enlisted database, then runs the
+     * after-commit (only when committed) and after-completion actions.
+     */
+    void end(boolean commit) throws SQLException {
+        try {
+            if (commit) {
+                commit();
+                committed = true;
+            } else {
+                rollback(new SQLException("Unit of work rolled back."));
+            }
+        } catch (SQLException | RuntimeException | Error e) {
+            rollback(e);
+            throw e;
+        } finally {
+            current.remove();
+            release();
+            if (committed) run(onCommit);
+            onCommit.clear();
+            run(onCompletion);
+        }
+    }
+
+    /**
+     * @return true when current thread is inside a unit of work.
+     */
+    public static boolean isActive() {
+        return current.get() != null;
+    }
+
+    /**
+     * SCHEDULES given action to run once the current unit has committed or rolled back,
+     * runs it immediately when no unit is active. used to drop in-memory copies [CACHES]
+     * of rows only after other threads can observe the final database state.
+     */
+    public static void afterCompletion(Runnable action) {
+        UnitOfWork unit = current.get();
+        if (unit == null) action.run();
+        else unit.onCompletion.add(action);
+    }
+
+    /**
+     * SCHEDULES given action to run only once the current unit has committed, it is
+     * dropped on rollback. runs immediately when no unit is active. used to apply a
+     * write to in-memory state [DERIVED DATA] that must never see uncommitted rows.
+     */
+    public static void afterCommit(Runnable action) {
+        UnitOfWork unit = current.get();
+        if (unit == null) action.run();
+        else unit.onCommit.add(action);
+    }
+
+    static void enlist(String URL) throws SQLException {
+        UnitOfWork unit = current.get();
+        if (unit == null || unit.enlisted.containsKey(URL)) return;
+
+        Connection held = sqliteConnector.lease(URL);
+        try {
+            held.setAutoCommit(false);
+        } catch (SQLException e) {
+            held.close();
+            throw e;
+        }
+        unit.enlisted.put(URL, held);
+    }
+
+    private void commit() throws SQLException {
+        for (Connection c : enlisted.values()) {
+            c.commit();
+        }
+    }
+
+    private void rollback(Throwable cause) {
+        for (Connection c : enlisted.values()) {
+            try {
+                c.rollback();
+            } catch (SQLException e) {
+                cause.addSuppressed(e);
+            }
+        }
+    }
+
+    private void run(List<Runnable> actions) {
+        for (Runnable action : actions) {
+            try {
+                action.run();
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+        }
+        actions.clear();
+    }
+
+    private void release() {
+        List<Connection> held = new ArrayList<>(enlisted.values());
+        enlisted.clear();
+        for (Connection c : held) {
+            sqliteConnector.release(c);
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package Domain.Database;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * WRITE QUEUE funnelling every unit of work of the process through one writer thread.
+ * SQLite takes one writer at a time, writers on several threads only wait on each other
+ * inside the busy handler. a single writer never contends in process [SINGLE WRITER].
+ *
+ * the writer drains up to MAX_BATCH queued units and runs them in one transaction, each
+ * behind its own savepoint, then commits once [GROUP COMMIT]. a unit failing on its own
+ * is undone alone and its caller gets the exception. when the database is busy (another
+ * process holds the lock) the whole group is rolled back and run again after a growing,
+ * jittered pause [BACKOFF], at most MAX_ATTEMPTS times.
+ *
+ * units are re-run on retry, they must not depend on side effects of an earlier attempt.
+ */
+public final class WriteQueue {
+    public static final int MAX_BATCH        = 64;
+    public static final int MAX_ATTEMPTS     = 5;
+    public static final int BASE_BACKOFF_MS  = 20;
+
+    private static final int SQLITE_BUSY   = 5;
+    private static final int SQLITE_LOCKED = 6;
+
+    // one queued unit and the future its caller waits on
+    private static final class Write<T> {
+        final UnitOfWork.Task<T> task;
+        final CompletableFuture<T> future = new CompletableFuture<>();
+        T result;
+        Throwable failure;
+
+        Write(UnitOfWork.Task<T> task) { this.task = task; }
+
+        void attempt(UnitOfWork unit) throws SQLException {
+            result = null;
+            failure = null;
+            try {
+                result = unit.attempt(task);
+            } catch (SQLException | RuntimeException | Error e) {
+                if (isBusy(e)) throw (e instanceof SQLException) ? (SQLException) e : new SQLException(e);
+                failure = e;
+            }
+        }
+
+        void complete() {
+            if (failure == null) future.complete(result);
+            else future.completeExceptionally(failure);
+        }
+    }
+
+    private static final LinkedBlockingQueue<Write<?>> queue = new LinkedBlockingQueue<>();
+    private static final Thread writer = new Thread(WriteQueue::drain, "erp-writer");
+
+    private static long batches;
+    private static long writes;
+    private static long retries;
+
+    static {
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    private WriteQueue() {}
+
+    /**
+     * QUEUES given task as one unit of work.
+     * @return future completed with the result once the group holding it has committed,
+     * or with the exception that rolled the unit back.
+     */
+    public static <T> CompletableFuture<T> submit(UnitOfWork.Task<T> task) {
+        Write<T> write = new Write<>(task);
+        queue.add(write);
+        return write.future;
+    }
+
+    /**
+     * RUNS given task as one unit on the writer and waits for it, rethrowing its exception.
+     * on the writer thread inside a unit it joins that unit, outside one (after-commit actions
+     * of the previous group) it runs as a group of its own right away.
+     *
+     * the wait ignores interrupts [UNINTERRUPTIBLE], a queued unit commits anyway and its caller
+     * must not report it as failed. the interrupt flag is set again once the unit has finished.
+     */
+    public static <T> T call(UnitOfWork.Task<T> task) throws SQLException {
+        if (isWriterThread() && UnitOfWork.isActive()) return task.call();
+
+        Write<T> write = new Write<>(task);
+        if (isWriterThread()) run(List.of(write));
+        else queue.add(write);
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return write.future.get();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof SQLException) throw (SQLException) cause;
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw new SQLException(cause);
+        } finally {
+            if (interrupted) Thread.currentThread().interrupt();
+        }
+    }
+
+    public static boolean isWriterThread() {
+        return Thread.currentThread() == writer;
+    }
+
+    private static void drain() {
+        List<Write<?>> batch = new ArrayList<>(MAX_BATCH);
+        while (true) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                continue; // the writer lives as long as the process
+            }
+            queue.drainTo(batch, MAX_BATCH - 1);
+            run(batch);
+            batch.clear();
+        }
+    }
+
+    private static void run(List<Write<?>> batch) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                UnitOfWork unit = UnitOfWork.begin();
+                boolean done = false;
+                try {
+                    for (Write<?> write : batch) write.attempt(unit);
+                    done = true;
+                } finally {
+                    unit.end(done);
+                }
+                int committed = 0;
+                for (Write<?> write : batch) if (write.failure == null) committed++;
+                count(committed, attempt); // before any caller wakes up and reads the counters
+                for (Write<?> write : batch) write.complete();
+                return;
+            } catch (SQLException | RuntimeException | Error e) {
+                if (!isBusy(e) || attempt == MAX_ATTEMPTS) {
+                    count(0, attempt);
+                    for (Write<?> write : batch) write.future.completeExceptionally(e);
+                    return;
+                }
+                backoff(attempt);
+            }
+        }
+    }
+
+    private static void backoff(int attempt) {
+        long ceiling = (long) BASE_BACKOFF_MS << (attempt - 1);
+        try {
+            Thread.sleep(ceiling / 2 + ThreadLocalRandom.current().nextLong(ceiling / 2 + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static synchronized void count(int committed, int attempts) {
+        if (committed > 0) batches++;
+        writes += committed;
+        retries += attempts - 1;
+    }
+
+    /**
+     * @return true when given exception or one of its causes is SQLITE_BUSY or SQLITE_LOCKED.
+     */
+    public static boolean isBusy(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof SQLException) {
+                int code = ((SQLException) t).getErrorCode() & 0xff;
+                if (code == SQLITE_BUSY || code == SQLITE_LOCKED) return true;
+            }
+        }
+        return false;
+    }
+
+    /** @return number of groups committed so far. */
+    public static synchronized long getBatches() { return batches; }
+
+    /** @return number of units committed so far. */
+    public static synchronized long getWrites() { return writes; }
+
+    /** @return number of group attempts repeated because the database was busy. */
+    public static synchronized long getRetries() { return retries; }
+}
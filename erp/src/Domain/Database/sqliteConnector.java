@@ -1,33 +1,143 @@
 package Domain.Database;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * DATABASE CONNECTOR utility providing static access to the persistence layer.
  * this class ensures that the application maintains a valid link [BRIDGE]
  * to the underlying SQLite storage engine.
+ *
+ * physical connections are opened once per database file and kept in a pool [REUSE],
+ * callers only ever receive a lease on them. closing a lease hands the physical
+ * connection back instead of tearing down the SQLite file.
  */
 public class sqliteConnector {
-    private static Connection connection = null;
+    public static final String ERP_DATABASE         = "jdbc:sqlite:erp.db";
+    public static final String CREDENTIALS_DATABASE = "jdbc:sqlite:credentials.db";
+    public static final String CREDENTIALS_SCHEMA   = "auth";
+
+    private static volatile boolean credentialsAttached = Boolean.getBoolean("erp.attachCredentials");
+
+    private static final Map<String, ConnectionPool> pools = new ConcurrentHashMap<>();
+
+    /**
+     * BORROWS a connection lease for the database at given URL.
+     * leases taken on the same thread share one physical connection [REENTRANT],
+     * so nested models see each others uncommitted work. inside a UnitOfWork the
+     * borrowed connection is part of its transaction [ENLISTED]. closing the lease
+     * (usually through try-with-resources) is the [RETURN] half of the contract.
+     *
+     * @param URL is the JDBC connection string pointing to [LOCATION] of the database.
+     * @return a leased Connection whose close() returns it to the pool.
+     * @throws SQLException if database can not be opened or pool is exhausted.
+     */
+    public static Connection borrow(String URL) throws SQLException {
+        return borrowFile(route(URL));
+    }
+
+    /**
+     * BORROWS a connection opened on the file of given URL itself, ignoring [ATTACHED] mode.
+     * schema migrations use it so DDL always lands in the file that owns the table.
+     */
+    static Connection borrowFile(String URL) throws SQLException {
+        UnitOfWork.enlist(URL);
+        return lease(URL);
+    }
+
+    private static String route(String URL) {
+        return credentialsAttached && CREDENTIALS_DATABASE.equals(URL) ? ERP_DATABASE : URL;
+    }
+
+    /**
+     * SWITCHES [ATTACHED] mode, open pools are shut down so the next borrow() reopens
+     * connections with or without credentials.db attached.
+     */
+    public static synchronized void setCredentialsAttached(boolean attached) {
+        if (credentialsAttached == attached) return;
+        shutdown();
+        credentialsAttached = attached;
+    }
+
+    public static boolean isCredentialsAttached() {
+        return credentialsAttached;
+    }
+
+    /**
+     * @return name of credentials table to use in a query on an erp.db connection,
+     * schema qualified in [ATTACHED] mode. cross file joins are only possible in that mode.
+     */
+    public static String credentialsTable() {
+        return credentialsAttached ? CREDENTIALS_SCHEMA + ".credentials" : "credentials";
+    }
 
     /**
-     * ESTABLISHES the physical connection to the SQLite database file.
-     * if the connection is currently null or closed it initializes a new one [LAZY LOAD],
-     * otherwise it returns the existing instance.
+     * @return file path of credentials.db when it has to be attached to a connection
+     * opened on given URL, null otherwise.
+     */
+    static String attachmentFor(String URL) {
+        if (!credentialsAttached || !ERP_DATABASE.equals(URL)) return null;
+        return CREDENTIALS_DATABASE.substring("jdbc:sqlite:".length());
+    }
+
+    static Connection lease(String URL) throws SQLException {
+        return pools.computeIfAbsent(URL, ConnectionPool::new).borrow();
+    }
+
+    /**
+     * RETURNS a lease obtained from borrow() back to its pool.
+     * equivalent to calling close() on the lease, present for callers that
+     * can not use try-with-resources.
+     */
+    public static void release(Connection lease) {
+        if (lease == null) return;
+        try {
+            lease.close();
+        } catch (SQLException e) {
+            System.out.println(e.getMessage());
+        }
+    }
+
+    /**
+     * ESTABLISHES the link to the SQLite database file [LEGACY ENTRY].
+     * kept for views that predate the pool, it is a borrow() that reports
+     * failure by printing and returning null instead of throwing.
      *
      * @param URL is the JDBC connection string pointing to [LOCATION] of the database.
-     * @return the active [OPEN] Connection object ready for statements.
+     * @return the active [OPEN] Connection lease ready for statements.
      */
     public static Connection connect(String URL) {
         try {
-            if (connection == null || connection.isClosed()) {
-                connection = DriverManager.getConnection(URL);
-            }
+            return borrow(URL);
         } catch (SQLException e) {
             System.out.println(e.getMessage());
         }
-        return connection;
+        return null;
+    }
+
+    /**
+     * FLUSHES write-ahead logs of every open database into the main files.
+     * required before copying *.db files around (backup/export) since in WAL
+     * mode recent commits live in the -wal file until [CHECKPOINT].
+     */
+    public static void checkpoint() {
+        for (ConnectionPool pool : pools.values()) {
+            pool.checkpoint();
+        }
+    }
+
+    /**
+     * CLOSES every pooled physical connection [SHUTDOWN].
+     * must be called before database files are replaced on disk (import),
+     * next borrow() after shutdown lazily reopens the pools.
+     */
+    public static void shutdown() {
+        for (ConnectionPool pool : pools.values()) {
+            pool.close();
+        }
+        pools.clear();
+        SchemaRegistry.reset();
     }
-}
\ No newline at end of file
+}
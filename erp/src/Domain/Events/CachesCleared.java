@@ -0,0 +1,8 @@
+package Domain.Events;
+
+/**
+ * CACHES CLEARED after changes of another process were lost or too many to apply one by one,
+ * every cache was dropped and open views should load again.
+ */
+public final class CachesCleared implements DomainEvent {
+}
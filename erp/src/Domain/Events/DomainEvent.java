@@ -0,0 +1,9 @@
+package Domain.Events;
+
+/**
+ * DOMAIN EVENT is a fact about committed data, published through DomainEvents.
+ * events are immutable and carry what subscribers need to apply the change [DELTA]
+ * without querying the database again.
+ */
+public interface DomainEvent {
+}
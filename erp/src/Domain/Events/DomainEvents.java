@@ -0,0 +1,89 @@
+package Domain.Events;
+
+import Domain.Database.UnitOfWork;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * DOMAIN EVENTS is the in-process bus telling caches and open views that data changed.
+ * publish() hands the event over only once the current unit of work commits [AFTER COMMIT],
+ * a rolled back change is never announced. outside a unit it is delivered right away.
+ *
+ * subscribers register for an event type and receive it and its subtypes, on the committing
+ * thread or on an executor they pass (views pass SwingUtilities::invokeLater). a failing
+ * subscriber is reported and skipped, it never fails the write or the other subscribers.
+ */
+public final class DomainEvents {
+
+    /**
+     * SUBSCRIPTION returned by subscribe(), cancel it when the subscriber goes away.
+     */
+    public static final class Subscription {
+        private final Class<? extends DomainEvent> type;
+        private final Consumer<DomainEvent> listener;
+
+        private Subscription(Class<? extends DomainEvent> type, Consumer<DomainEvent> listener) {
+            this.type = type;
+            this.listener = listener;
+        }
+
+        public void cancel() {
+            List<Subscription> list = subscribers.get(type);
+            if (list != null) list.remove(this);
+        }
+    }
+
+    private static final Map<Class<? extends DomainEvent>, List<Subscription>> subscribers = new ConcurrentHashMap<>();
+
+    private DomainEvents() {}
+
+    /**
+     * SUBSCRIBES given listener to events of given type, delivered on the committing thread.
+     */
+    public static <E extends DomainEvent> Subscription subscribe(Class<E> type, Consumer<? super E> listener) {
+        Subscription subscription = new Subscription(type, event -> listener.accept(type.cast(event)));
+        subscribers.computeIfAbsent(type, k -> new CopyOnWriteArrayList<>()).add(subscription);
+        return subscription;
+    }
+
+    /**
+     * SUBSCRIBES given listener to events of given type, delivered on given executor.
+     */
+    public static <E extends DomainEvent> Subscription subscribe(Class<E> type, Executor executor,
+                                                                 Consumer<? super E> listener) {
+        return subscribe(type, event -> executor.execute(() -> listener.accept(event)));
+    }
+
+    /**
+     * PUBLISHES given event once the current unit of work has committed.
+     */
+    public static void publish(DomainEvent event) {
+        UnitOfWork.afterCommit(() -> deliver(event));
+    }
+
+    private static void deliver(DomainEvent event) {
+        for (Map.Entry<Class<? extends DomainEvent>, List<Subscription>> entry : subscribers.entrySet()) {
+            if (!entry.getKey().isInstance(event)) continue;
+            for (Subscription subscription : entry.getValue()) {
+                try {
+                    subscription.listener.accept(event);
+                } catch (RuntimeException e) {
+                    e.printStackTrace();
+                }
+            }
+        }
+    }
+
+    /**
+     * @return number of live subscriptions for given event type.
+     */
+    public static int getSubscriberCount(Class<? extends DomainEvent> type) {
+        List<Subscription> list = subscribers.get(type);
+        return list == null ? 0 : list.size();
+    }
+}
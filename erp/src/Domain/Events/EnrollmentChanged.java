@@ -0,0 +1,30 @@
+package Domain.Events;
+
+/**
+ * ENROLLMENT CHANGED after a student enrolled into or dropped a section.
+ * contains is the seat count of the section right after the change, so subscribers set
+ * it rather than add to it and a late or repeated delivery can not drift the count.
+ */
+public final class EnrollmentChanged implements DomainEvent {
+    public final String studentId;
+    public final String sectionId;
+    public final String semester;
+    public final boolean enrolled;
+    public final int contains;
+    public final int capacity;
+
+    public EnrollmentChanged(String studentId, String sectionId, String semester,
+                             boolean enrolled, int contains, int capacity) {
+        this.studentId = studentId;
+        this.sectionId = sectionId;
+        this.semester = semester;
+        this.enrolled = enrolled;
+        this.contains = contains;
+        this.capacity = capacity;
+    }
+
+    /**
+     * @return +1 for an enrollment, -1 for a drop.
+     */
+    public int getDelta() { return enrolled ? 1 : -1; }
+}
@@ -0,0 +1,14 @@
+package Domain.Events;
+
+/**
+ * GRADE WRITTEN after the marks of one student in one section were saved.
+ */
+public final class GradeWritten implements DomainEvent {
+    public final String sectionId;
+    public final String studentId;
+
+    public GradeWritten(String sectionId, String studentId) {
+        this.sectionId = sectionId;
+        this.studentId = studentId;
+    }
+}
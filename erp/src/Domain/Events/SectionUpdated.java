@@ -0,0 +1,15 @@
+package Domain.Events;
+
+/**
+ * SECTION UPDATED after metadata, grading policy or slabs of a section were saved or the
+ * section was deleted. seat count changes are reported as EnrollmentChanged instead.
+ */
+public final class SectionUpdated implements DomainEvent {
+    public final String sectionId;
+    public final boolean deleted;
+
+    public SectionUpdated(String sectionId, boolean deleted) {
+        this.sectionId = sectionId;
+        this.deleted = deleted;
+    }
+}
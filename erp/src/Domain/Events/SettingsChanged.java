@@ -0,0 +1,14 @@
+package Domain.Events;
+
+/**
+ * SETTINGS CHANGED after an application rule (semester, deadline, maintenance mode) was written.
+ */
+public final class SettingsChanged implements DomainEvent {
+    public final String key;
+    public final String value;
+
+    public SettingsChanged(String key, String value) {
+        this.key = key;
+        this.value = value;
+    }
+}
@@ -0,0 +1,19 @@
+package Domain.Events;
+
+import Domain.Concretes.Section;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * TIMETABLE CHANGED after the weekly slots of a section were replaced, slots holds the new ones.
+ */
+public final class TimetableChanged implements DomainEvent {
+    public final String sectionId;
+    public final List<Section.TimeSlot> slots;
+
+    public TimetableChanged(String sectionId, List<Section.TimeSlot> slots) {
+        this.sectionId = sectionId;
+        this.slots = Collections.unmodifiableList(slots);
+    }
+}
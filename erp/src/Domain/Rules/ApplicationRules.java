@@ -1,18 +1,94 @@
 package Domain.Rules;
 
+import Domain.Database.SchemaRegistry;
+import Domain.Database.UnitOfWork;
 import Domain.Database.sqliteConnector;
+import Domain.Events.DomainEvents;
+import Domain.Events.SettingsChanged;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
+/**
+ * APPLICATION RULES (maintenance mode, active semester, add/drop deadline) kept in the settings table.
+ * every rule is read from one in-memory snapshot [SNAPSHOT], the deadline already parsed, so checks
+ * made while rendering rows are field reads. the snapshot is loaded again only after the settings
+ * version moved: setValue bumps it once its unit commits, the ChangeFeed bumps it for writes of
+ * other processes [VERSIONED].
+ */
 public class ApplicationRules {
 
     private static final String database = "jdbc:sqlite:erp.db";
 
+    public static final String DEFAULT_SEMESTER = "FALL_2025";
+
+    /**
+     * SETTINGS as of one version of the settings table, immutable.
+     */
+    public static final class Settings {
+        public final boolean maintenanceMode;
+        public final String currentSemester;
+        /** deadline as stored, null when unset */
+        public final String addDropDeadline;
+        /** parsed deadline, null when unset or not a YYYY-MM-DD date */
+        public final LocalDate addDropDeadlineDate;
+        private final long version;
+
+        private Settings(long version, Map<String, String> values) {
+            this.version = version;
+            this.maintenanceMode = Boolean.parseBoolean(values.get("maintenance_mode"));
+            String semester = values.get("current_semester");
+            this.currentSemester = semester == null ? DEFAULT_SEMESTER : semester;
+            this.addDropDeadline = values.get("add_drop_deadline");
+            this.addDropDeadlineDate = parseDate(addDropDeadline);
+        }
+
+        /**
+         * @return true when the deadline is set and given day lies after it.
+         */
+        public boolean isPastAddDropDeadline(LocalDate day) {
+            return addDropDeadlineDate != null && day.isAfter(addDropDeadlineDate);
+        }
+    }
+
+    private static final AtomicLong version = new AtomicLong();
+    private static volatile Settings settings;
+
+    /**
+     * @return current settings snapshot, loaded again only when the settings version moved.
+     */
+    public static Settings getSettings() {
+        Settings current = settings;
+        if (current != null && current.version == version.get()) return current;
+        // version is read before the table, a write landing meanwhile forces another load
+        long loading = version.get();
+        Map<String, String> values = loadValues();
+        if (values == null) return new Settings(loading, new HashMap<>()); // defaults, not kept
+        Settings loaded = new Settings(loading, values);
+        settings = loaded;
+        return loaded;
+    }
+
+    /**
+     * INVALIDATES the snapshot, next read loads the settings table again.
+     */
+    public static void invalidate() {
+        version.incrementAndGet();
+    }
+
+    /** @return settings version, moves on every invalidation. */
+    public static long getVersion() {
+        return version.get();
+    }
+
     public static boolean isMaintenanceMode() {
-        createTable();
-        return getBoolean("maintenance_mode");
+        return getSettings().maintenanceMode;
     }
 
     public static void setMaintenanceMode(boolean enabled) {
@@ -21,9 +97,7 @@ public class ApplicationRules {
     }
 
     public static String getCurrentSemester() {
-        createTable();
-        String val = getValue("current_semester");
-        return val == null ? "FALL_2025" : val;
+        return getSettings().currentSemester;
     }
 
     public static void setCurrentSemester(String semester) {
@@ -32,8 +106,21 @@ public class ApplicationRules {
     }
 
     public static String getAddDropDeadline() {
-        createTable();
-        return getValue("add_drop_deadline");
+        return getSettings().addDropDeadline;
+    }
+
+    /**
+     * @return parsed add/drop deadline, null when unset or malformed.
+     */
+    public static LocalDate getAddDropDeadlineDate() {
+        return getSettings().addDropDeadlineDate;
+    }
+
+    /**
+     * @return true when the add/drop deadline is set and today lies after it.
+     */
+    public static boolean isPastAddDropDeadline() {
+        return getSettings().isPastAddDropDeadline(LocalDate.now());
     }
 
     public static void setAddDropDeadline(String date) {
@@ -42,45 +129,50 @@ public class ApplicationRules {
     }
 
     private static void createTable() {
-        String sql = "CREATE TABLE IF NOT EXISTS settings (" +
-                "key TEXT PRIMARY KEY, " +
-                "value TEXT)";
-        try (Connection conn = sqliteConnector.connect(database);
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.executeUpdate();
+        try {
+            SchemaRegistry.ensure(database);
         } catch (SQLException e) {
             e.printStackTrace();
         }
     }
 
-    private static String getValue(String key) {
-        String sql = "SELECT value FROM settings WHERE key = ?";
-        try (Connection conn = sqliteConnector.connect(database);
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setString(1, key);
+    private static Map<String, String> loadValues() {
+        createTable();
+        Map<String, String> values = new HashMap<>();
+        try (Connection conn = sqliteConnector.borrow(database);
+             PreparedStatement stmt = conn.prepareStatement("SELECT key, value FROM settings")) {
             ResultSet rs = stmt.executeQuery();
-            if (rs.next()) {
-                return rs.getString("value");
-            }
+            while (rs.next()) values.put(rs.getString("key"), rs.getString("value"));
         } catch (SQLException e) {
             e.printStackTrace();
+            return null;
         }
-        return null;
+        return values;
     }
 
-    private static boolean getBoolean(String key) {
-        String val = getValue(key);
-        return Boolean.parseBoolean(val);
+    private static LocalDate parseDate(String date) {
+        if (date == null || date.isEmpty()) return null;
+        try {
+            return LocalDate.parse(date);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
     }
 
     private static void setValue(String key, String value) {
         String sql = "INSERT INTO settings(key, value) VALUES(?, ?) " +
                 "ON CONFLICT(key) DO UPDATE SET value=excluded.value";
-        try (Connection conn = sqliteConnector.connect(database);
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            stmt.setString(1, key);
-            stmt.setString(2, value);
-            stmt.executeUpdate();
+        try {
+            UnitOfWork.execute(() -> {
+                try (Connection conn = sqliteConnector.borrow(database);
+                     PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    stmt.setString(1, key);
+                    stmt.setString(2, value);
+                    stmt.executeUpdate();
+                }
+                UnitOfWork.afterCommit(ApplicationRules::invalidate);
+                DomainEvents.publish(new SettingsChanged(key, value));
+            });
         } catch (SQLException e) {
             e.printStackTrace();
         }
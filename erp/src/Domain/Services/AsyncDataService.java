@@ -0,0 +1,157 @@
+package Domain.Services;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * ASYNC DATA SERVICE running database reads and entity construction off the caller thread.
+ * work is executed on a small bounded pool [BACKGROUND] sized after the connection pool,
+ * results come back as CompletableFutures that callers continue on their own executor
+ * (views pass SwingUtilities::invokeLater to get back on the event dispatch thread).
+ *
+ * a Channel keeps only the latest request of one consumer alive [LATEST WINS],
+ * submitting a new request cancels the one still in flight so stale results never land.
+ */
+public final class AsyncDataService {
+    public static final int THREADS = 4;
+    public static final int QUEUE_CAPACITY = 256;
+
+    /**
+     * QUERY is a unit of blocking data access producing a value.
+     */
+    @FunctionalInterface
+    public interface Query<T> {
+        T run() throws Exception;
+    }
+
+    private static final ThreadPoolExecutor executor = new ThreadPoolExecutor(
+            THREADS, THREADS, 30, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(QUEUE_CAPACITY),
+            new ThreadFactory() {
+                private final AtomicInteger count = new AtomicInteger();
+                @Override public Thread newThread(Runnable r) {
+                    Thread t = new Thread(r, "erp-data-" + count.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                }
+            });
+
+    static {
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    private AsyncDataService() {}
+
+    /**
+     * SUBMITS given query to the background pool.
+     * cancelling the returned future interrupts the query if it is still running.
+     * when the queue is full the future fails with RejectedExecutionException [BOUNDED].
+     */
+    public static <T> CompletableFuture<T> supply(Query<T> query) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Future<?> task;
+        try {
+            task = executor.submit(() -> {
+                if (result.isDone()) return;
+                try {
+                    result.complete(query.run());
+                } catch (Throwable t) {
+                    result.completeExceptionally(t);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            result.completeExceptionally(e);
+            return result;
+        }
+        result.whenComplete((value, error) -> {
+            if (result.isCancelled()) task.cancel(true);
+        });
+        return result;
+    }
+
+    /**
+     * @return true when given failure only means the request was superseded or cancelled.
+     */
+    public static boolean isCancellation(Throwable error) {
+        Throwable t = unwrap(error);
+        return t instanceof CancellationException || t instanceof InterruptedException;
+    }
+
+    /**
+     * @return number of queries waiting for a worker.
+     */
+    public static int getQueuedCount() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * CHANNEL owned by one consumer (usually a view), holding at most one live request.
+     */
+    public static final class Channel {
+        private CompletableFuture<?> inFlight;
+        private long generation;
+
+        /**
+         * SUBMITS given query after cancelling whatever this channel still had running.
+         */
+        public synchronized <T> CompletableFuture<T> submit(Query<T> query) {
+            cancel();
+            CompletableFuture<T> next = supply(query);
+            inFlight = next;
+            return next;
+        }
+
+        /**
+         * SUBMITS given query and delivers its outcome on given executor [CALLBACK],
+         * only if no newer request was submitted or cancel() called in the meantime.
+         * cancellations are swallowed, every other failure goes to onError.
+         */
+        public <T> void submit(Query<T> query, Executor callbackExecutor,
+                               Consumer<T> onResult, Consumer<Throwable> onError) {
+            long ticket;
+            CompletableFuture<T> future;
+            synchronized (this) {
+                future = submit(query);
+                ticket = generation;
+            }
+            future.whenCompleteAsync((value, error) -> {
+                if (!isCurrent(ticket)) return;
+                if (error == null) onResult.accept(value);
+                else if (!isCancellation(error)) onError.accept(unwrap(error));
+            }, callbackExecutor);
+        }
+
+        /**
+         * CANCELS the in flight request if any, its continuations see a CancellationException.
+         */
+        public synchronized void cancel() {
+            generation++;
+            if (inFlight != null && !inFlight.isDone()) inFlight.cancel(true);
+            inFlight = null;
+        }
+
+        public synchronized boolean isBusy() {
+            return inFlight != null && !inFlight.isDone();
+        }
+
+        private synchronized boolean isCurrent(long ticket) {
+            return ticket == generation;
+        }
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        Throwable t = error;
+        while (t instanceof CompletionException && t.getCause() != null) t = t.getCause();
+        return t;
+    }
+}
@@ -0,0 +1,80 @@
+package Domain.Services;
+
+import Domain.Abstracts.UserEntity;
+import Domain.Concretes.Admin;
+import Domain.Concretes.Instructor;
+import Domain.Concretes.Student;
+import Domain.Database.SchemaRegistry;
+import Domain.Database.sqliteConnector;
+import Domain.Exceptions.InvalidEntityIdentityException;
+import Domain.Exceptions.InvalidEntityNameException;
+import Domain.Validators.EntityIdentityValidator;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * AUTHENTICATION SERVICE checking a login against credentials.db before any user is built.
+ * id, password hash and permission are verified with one primary key lookup [FAST PATH],
+ * the Student, Instructor or Admin entity is materialized only once they match, so a
+ * failed or brute force attempt never loads enrollments, contact info or other rows.
+ */
+public final class AuthenticationService {
+
+    private static final String selectSql = "SELECT password, permission_level FROM credentials WHERE id = ?";
+
+    private AuthenticationService() {}
+
+    /**
+     * @return true when given id has given password and is stored with given permission.
+     */
+    public static boolean verify(String id, String password, UserEntity.Permission permission) throws SQLException {
+        if (id == null || password == null || !EntityIdentityValidator.isValid(id)) return false;
+
+        String storedHash;
+        String storedPermission;
+        SchemaRegistry.ensure(sqliteConnector.CREDENTIALS_DATABASE);
+        try (Connection c = sqliteConnector.borrow(sqliteConnector.CREDENTIALS_DATABASE);
+             PreparedStatement s = c.prepareStatement(selectSql)) {
+            s.setString(1, id);
+            ResultSet rs = s.executeQuery();
+            if (!rs.next()) return false;
+            storedHash = rs.getString("password");
+            storedPermission = rs.getString("permission_level");
+        }
+
+        if (storedHash == null || !permission.name().equals(storedPermission)) return false;
+        String inputHash = UserEntity.hashPassword(password);
+        return inputHash != null && MessageDigest.isEqual(
+                storedHash.getBytes(StandardCharsets.UTF_8), inputHash.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return user of given permission level once credentials match, null when they do not
+     * or when the user row itself no longer exists.
+     */
+    public static UserEntity login(String id, String password, UserEntity.Permission permission) throws SQLException {
+        if (!verify(id, password, permission)) return null;
+
+        UserEntity user;
+        try {
+            switch (permission) {
+                case PERMISSION_STUDENT:    user = new Student(id); break;
+                case PERMISSION_INSTRUCTOR: user = new Instructor(id); break;
+                case PERMISSION_ADMIN:      user = new Admin(id); break;
+                default: return null;
+            }
+        } catch (InvalidEntityIdentityException | InvalidEntityNameException e) {
+            return null;
+        }
+
+        // entities keep their placeholder name when no row was found
+        String name = user.getName();
+        if (name == null || name.equals("TempName") || name.equals("TempLoad")) return null;
+        return user;
+    }
+}
@@ -0,0 +1,209 @@
+package Domain.Services;
+
+import Domain.Concretes.Course;
+import Domain.Concretes.Instructor;
+import Domain.Concretes.Section;
+import Domain.Database.ChangeLog;
+import Domain.Database.sqliteConnector;
+import Domain.Events.CachesCleared;
+import Domain.Events.DomainEvents;
+import Domain.Events.EnrollmentChanged;
+import Domain.Events.GradeWritten;
+import Domain.Events.SectionUpdated;
+import Domain.Events.SettingsChanged;
+import Domain.Events.TimetableChanged;
+import Domain.Rules.ApplicationRules;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CHANGE FEED keeps this process consistent with other instances writing the same erp.db.
+ * the ChangeLog is polled every POLL_MS on a background thread, each row another process
+ * changed drops only the cached entries built from it and is announced as the domain event
+ * a local write would have published, so open views update the same way [PER ENTITY].
+ * when changes were lost every cache is dropped and CachesCleared is published [RESET].
+ *
+ * once every PRUNE_EVERY polls the log is cut down to its newest RETAIN rows.
+ */
+public final class ChangeFeed {
+    public static final int POLL_MS     = 1000;
+    public static final int PRUNE_EVERY = 300;
+    public static final int RETAIN      = 10000;
+
+    private static final String settingSql    = "SELECT value FROM settings WHERE key = ?";
+    private static final String sectionSql    = "SELECT 1 FROM sections WHERE id = ?";
+    private static final String instructorSql = "SELECT 1 FROM instructors WHERE id = ?";
+    private static final String seatsSql      = "SELECT s.semester, s.contains, s.capacity, " +
+                                                "EXISTS(SELECT 1 FROM enrollments e WHERE e.student_id = ? AND e.section_id = s.id) " +
+                                                "FROM sections s WHERE s.id = ?";
+
+    private static ChangeLog log;
+    private static ScheduledExecutorService timer;
+    private static int polls;
+
+    private ChangeFeed() {}
+
+    /**
+     * STARTS polling, changes committed before this call are not applied.
+     */
+    public static synchronized void start() throws SQLException {
+        if (log != null) return;
+        log = new ChangeLog(sqliteConnector.ERP_DATABASE);
+        log.open();
+        polls = 0;
+        timer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "erp-change-feed");
+            t.setDaemon(true);
+            return t;
+        });
+        timer.scheduleWithFixedDelay(ChangeFeed::tick, POLL_MS, POLL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * STOPS polling and closes the change log connection.
+     */
+    public static synchronized void stop() {
+        if (log == null) return;
+        timer.shutdownNow();
+        log.close();
+        timer = null;
+        log = null;
+    }
+
+    public static synchronized boolean isRunning() { return log != null; }
+
+    private static void tick() {
+        try {
+            poll();
+            if (++polls % PRUNE_EVERY == 0) prune();
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private static synchronized void prune() throws SQLException {
+        if (log != null) log.prune(RETAIN);
+    }
+
+    /**
+     * APPLIES every change other processes committed since the previous poll.
+     * @return number of changes applied, 0 when the feed is not started.
+     */
+    public static synchronized int poll() throws SQLException {
+        if (log == null) return 0;
+        List<ChangeLog.Change> changes = log.read();
+        for (ChangeLog.Change change : changes) apply(change);
+        return changes.size();
+    }
+
+    private static void apply(ChangeLog.Change change) throws SQLException {
+        switch (change.table) {
+            case "*":
+                clearAll();
+                DomainEvents.publish(new CachesCleared());
+                break;
+            case "settings":
+                ApplicationRules.invalidate();
+                DomainEvents.publish(new SettingsChanged(change.key, lookup(settingSql, change.key)));
+                break;
+            case "students":
+                SearchIndex.STUDENTS.refresh(change.key);
+                break;
+            case "contact":
+                SearchIndex.STUDENTS.refresh(change.key);
+                SearchIndex.INSTRUCTORS.refresh(change.key);
+                Instructor.getCache().invalidate(change.key);
+                if (lookup(instructorSql, change.key) != null) CourseCatalog.invalidateAll();
+                break;
+            case "instructors":
+                Instructor.getCache().invalidate(change.key);
+                SearchIndex.INSTRUCTORS.refresh(change.key);
+                CourseCatalog.invalidateAll();
+                break;
+            case "teaching":
+                Instructor.getCache().invalidate(change.related);
+                break;
+            case "courses":
+                Course.getCache().invalidate(change.key);
+                SearchIndex.COURSES.refresh(change.key);
+                WeeklySchedule.invalidateAll();
+                CourseCatalog.invalidateAll();
+                break;
+            case "sections":
+                WeeklySchedule.invalidateAll();
+                sectionChanged(change.key);
+                break;
+            case "gradings":
+            case "slabs":
+                // grading policy and slabs are part of the section as well
+                sectionChanged(change.key);
+                break;
+            case "timetable":
+                Section.getCache().invalidate(change.key);
+                WeeklySchedule.invalidateAll();
+                DomainEvents.publish(new TimetableChanged(change.key, new Section.TimetableModel(change.key).slots));
+                break;
+            case "enrollments":
+                enrollmentChanged(change.key, change.related);
+                break;
+            case "records":
+                SectionStatistics.invalidate(change.key);
+                DomainEvents.publish(new GradeWritten(change.key, change.related));
+                break;
+        }
+    }
+
+    private static void sectionChanged(String sectionId) throws SQLException {
+        Section.getCache().invalidate(sectionId);
+        SectionStatistics.invalidate(sectionId);
+        DomainEvents.publish(new SectionUpdated(sectionId, lookup(sectionSql, sectionId) == null));
+    }
+
+    private static void enrollmentChanged(String sectionId, String studentId) throws SQLException {
+        Section.getCache().invalidate(sectionId);
+        SectionStatistics.invalidate(sectionId);
+        try (Connection c = sqliteConnector.borrow(sqliteConnector.ERP_DATABASE);
+             PreparedStatement s = c.prepareStatement(seatsSql)) {
+            s.setString(1, studentId);
+            s.setString(2, sectionId);
+            ResultSet rs = s.executeQuery();
+            if (!rs.next()) {
+                WeeklySchedule.invalidateAll();
+                return;
+            }
+            String semester = rs.getString(1);
+            WeeklySchedule.invalidate(studentId, semester);
+            DomainEvents.publish(new EnrollmentChanged(studentId, sectionId, semester,
+                    rs.getBoolean(4), rs.getInt(2), rs.getInt(3)));
+        }
+    }
+
+    private static void clearAll() {
+        Course.getCache().clear();
+        Section.getCache().clear();
+        Instructor.getCache().clear();
+        SectionStatistics.getCache().clear();
+        WeeklySchedule.invalidateAll();
+        SearchIndex.STUDENTS.invalidate();
+        SearchIndex.INSTRUCTORS.invalidate();
+        SearchIndex.COURSES.invalidate();
+        CourseCatalog.invalidateAll();
+        ApplicationRules.invalidate();
+    }
+
+    private static String lookup(String sql, String key) throws SQLException {
+        try (Connection c = sqliteConnector.borrow(sqliteConnector.ERP_DATABASE);
+             PreparedStatement s = c.prepareStatement(sql)) {
+            s.setString(1, key);
+            ResultSet rs = s.executeQuery();
+            return rs.next() ? rs.getString(1) : null;
+        }
+    }
+}
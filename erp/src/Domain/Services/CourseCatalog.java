@@ -0,0 +1,302 @@
+package Domain.Services;
+
+import Domain.Database.SchemaRegistry;
+import Domain.Database.UnitOfWork;
+import Domain.Database.sqliteConnector;
+import Domain.Events.DomainEvents;
+import Domain.Events.EnrollmentChanged;
+import Domain.Events.SectionUpdated;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * COURSE CATALOG of one semester, an immutable snapshot of every course together with the
+ * sections offered that semester, their seat counts, grading policy and instructor name and
+ * email. a snapshot is built with two queries [COURSES + JOINED SECTIONS] and shared by every
+ * view of the process until something it shows changes.
+ *
+ * changes arrive as domain events and are applied incrementally [COPY ON WRITE], an enroll or
+ * drop sets the seat count it carries and a section edit reloads only that section row, then a
+ * new snapshot is swapped in while readers holding the old one keep a consistent view.
+ * course and instructor edits drop every snapshot since they touch many rows.
+ */
+public final class CourseCatalog {
+
+    /**
+     * SECTION ENTRY is one section of the catalog with the instructor details shown next to it.
+     */
+    public static final class SectionEntry {
+        public final String id;
+        public final String name;
+        public final String courseId;
+        public final String semester;
+        public final String instructorId;
+        public final String instructorName;
+        public final String instructorEmail;
+        public final int capacity;
+        public final int contains;
+
+        // grading policy weights and slabs, shown in the policy panel
+        public final float labs, quiz, midExams, endExams, assignments, projects, bonus;
+        public final float O, A, A_, B, B_, C, C_, D;
+
+        private SectionEntry(ResultSet rs) throws SQLException {
+            id = rs.getString("id");
+            name = rs.getString("name");
+            courseId = rs.getString("course_id");
+            semester = rs.getString("semester");
+            instructorId = rs.getString("instructor_id");
+            instructorName = rs.getString("instructor_name");
+            instructorEmail = rs.getString("instructor_email");
+            capacity = rs.getInt("capacity");
+            contains = rs.getInt("contains");
+            labs = rs.getFloat("labs");               quiz = rs.getFloat("quiz");
+            midExams = rs.getFloat("mid_exams");      endExams = rs.getFloat("end_exams");
+            assignments = rs.getFloat("assignments"); projects = rs.getFloat("projects");
+            bonus = rs.getFloat("bonus");
+            O = rs.getFloat("O");   A = rs.getFloat("A");   A_ = rs.getFloat("A_"); B = rs.getFloat("B");
+            B_ = rs.getFloat("B_"); C = rs.getFloat("C");   C_ = rs.getFloat("C_"); D = rs.getFloat("D");
+        }
+
+        private SectionEntry(SectionEntry from, int contains) {
+            id = from.id;                   name = from.name;
+            courseId = from.courseId;       semester = from.semester;
+            instructorId = from.instructorId;
+            instructorName = from.instructorName;
+            instructorEmail = from.instructorEmail;
+            capacity = from.capacity;
+            this.contains = contains;
+            labs = from.labs;               quiz = from.quiz;
+            midExams = from.midExams;       endExams = from.endExams;
+            assignments = from.assignments; projects = from.projects;
+            bonus = from.bonus;
+            O = from.O;   A = from.A;   A_ = from.A_; B = from.B;
+            B_ = from.B_; C = from.C;   C_ = from.C_; D = from.D;
+        }
+
+        public boolean isFull() { return contains >= capacity; }
+    }
+
+    /**
+     * COURSE ENTRY is one course with the sections it offers in the snapshot semester.
+     */
+    public static final class CourseEntry {
+        public final String id;
+        public final String title;
+        public final int credits;
+        public final int capacity;
+        public final List<SectionEntry> sections;
+
+        private CourseEntry(String id, String title, int credits, int capacity, List<SectionEntry> sections) {
+            this.id = id;
+            this.title = title;
+            this.credits = credits;
+            this.capacity = capacity;
+            this.sections = Collections.unmodifiableList(sections);
+        }
+
+        private CourseEntry withSections(List<SectionEntry> sections) {
+            return new CourseEntry(id, title, credits, capacity, sections);
+        }
+    }
+
+    private static final String coursesSql = "SELECT id, title, credits, capacity FROM courses ORDER BY id";
+    private static final String sectionColumns = "SELECT s.id, s.name, s.course_id, s.semester, s.instructor_id, " +
+                                                 "s.capacity, s.contains, " +
+                                                 "i.name AS instructor_name, ct.email AS instructor_email, " +
+                                                 "g.labs, g.quiz, g.mid_exams, g.end_exams, g.assignments, g.projects, g.bonus, " +
+                                                 "sl.O, sl.A, sl.A_, sl.B, sl.B_, sl.C, sl.C_, sl.D " +
+                                                 "FROM sections s " +
+                                                 "LEFT JOIN instructors i ON i.id = s.instructor_id " +
+                                                 "LEFT JOIN contact ct ON ct.id = s.instructor_id " +
+                                                 "LEFT JOIN gradings g ON g.id = s.id " +
+                                                 "LEFT JOIN slabs sl ON sl.id = s.id ";
+    private static final String sectionsSql = sectionColumns + "WHERE s.semester = ? ORDER BY s.id";
+    private static final String sectionSql  = sectionColumns + "WHERE s.id = ?";
+
+    // guarded by the class lock, generation is bumped by every change so a build overlapping one is not kept
+    private static final Map<String, CourseCatalog> snapshots = new HashMap<>();
+    private static long generation;
+
+    static {
+        DomainEvents.subscribe(EnrollmentChanged.class, CourseCatalog::seatsChanged);
+        DomainEvents.subscribe(SectionUpdated.class, CourseCatalog::sectionUpdated);
+    }
+
+    private final String semester;
+    private final List<CourseEntry> courses;
+    private final Map<String, SectionEntry> sections;
+
+    private CourseCatalog(String semester, List<CourseEntry> courses) {
+        this.semester = semester;
+        this.courses = Collections.unmodifiableList(courses);
+        Map<String, SectionEntry> byId = new HashMap<>();
+        for (CourseEntry course : courses) {
+            for (SectionEntry section : course.sections) byId.put(section.id, section);
+        }
+        this.sections = Collections.unmodifiableMap(byId);
+    }
+
+    /**
+     * @return shared snapshot of given semester, built on first use.
+     */
+    public static CourseCatalog of(String semester) throws SQLException {
+        long seen;
+        synchronized (CourseCatalog.class) {
+            CourseCatalog snapshot = snapshots.get(semester);
+            if (snapshot != null) return snapshot;
+            seen = generation;
+        }
+
+        CourseCatalog built = build(semester);
+        synchronized (CourseCatalog.class) {
+            CourseCatalog raced = snapshots.get(semester);
+            if (raced != null) return raced;
+            if (seen == generation) snapshots.put(semester, built);
+        }
+        return built;
+    }
+
+    // seat counts come with the event, only the one section entry is copied [DELTA]
+    private static synchronized void seatsChanged(EnrollmentChanged event) {
+        generation++;
+        CourseCatalog snapshot = snapshots.get(event.semester);
+        SectionEntry current = snapshot == null ? null : snapshot.getSection(event.sectionId);
+        if (current == null || current.contains == event.contains) return;
+        snapshots.put(event.semester, snapshot.withSection(event.sectionId, new SectionEntry(current, event.contains)));
+    }
+
+    // metadata changes reload the one section, it moves between snapshots if its semester
+    // changed and leaves them when it was deleted
+    private static synchronized void sectionUpdated(SectionUpdated event) {
+        generation++;
+        if (snapshots.isEmpty()) return;
+        try {
+            SectionEntry entry = event.deleted ? null : loadSection(event.sectionId);
+            snapshots.replaceAll((semester, snapshot) -> snapshot.withSection(event.sectionId,
+                    entry != null && semester.equals(entry.semester) ? entry : null));
+        } catch (SQLException e) {
+            e.printStackTrace();
+            snapshots.clear();
+        }
+    }
+
+    /**
+     * DROPS every snapshot now and once the surrounding unit of work completes,
+     * after course or instructor edits.
+     */
+    public static void invalidateAll() {
+        clear();
+        UnitOfWork.afterCompletion(CourseCatalog::clear);
+    }
+
+    private static synchronized void clear() {
+        generation++;
+        snapshots.clear();
+    }
+
+    private static CourseCatalog build(String semester) throws SQLException {
+        Map<String, List<SectionEntry>> byCourse = new HashMap<>();
+        List<CourseEntry> courses = new ArrayList<>();
+
+        SchemaRegistry.ensure(sqliteConnector.ERP_DATABASE);
+        try (Connection c = sqliteConnector.borrow(sqliteConnector.ERP_DATABASE)) {
+            try (PreparedStatement s = c.prepareStatement(sectionsSql)) {
+                s.setString(1, semester);
+                ResultSet rs = s.executeQuery();
+                while (rs.next()) {
+                    SectionEntry entry = new SectionEntry(rs);
+                    byCourse.computeIfAbsent(entry.courseId, k -> new ArrayList<>()).add(entry);
+                }
+            }
+            try (PreparedStatement s = c.prepareStatement(coursesSql)) {
+                ResultSet rs = s.executeQuery();
+                while (rs.next()) {
+                    String id = rs.getString("id");
+                    courses.add(new CourseEntry(id, rs.getString("title"), rs.getInt("credits"),
+                            rs.getInt("capacity"), byCourse.getOrDefault(id, new ArrayList<>())));
+                }
+            }
+        }
+        return new CourseCatalog(semester, courses);
+    }
+
+    private static SectionEntry loadSection(String sectionId) throws SQLException {
+        SchemaRegistry.ensure(sqliteConnector.ERP_DATABASE);
+        try (Connection c = sqliteConnector.borrow(sqliteConnector.ERP_DATABASE);
+             PreparedStatement s = c.prepareStatement(sectionSql)) {
+            s.setString(1, sectionId);
+            ResultSet rs = s.executeQuery();
+            return rs.next() ? new SectionEntry(rs) : null;
+        }
+    }
+
+    // copy of this snapshot with given section replaced, added or (entry null) removed
+    private CourseCatalog withSection(String sectionId, SectionEntry entry) {
+        if (entry == null && !sections.containsKey(sectionId)) return this;
+
+        List<CourseEntry> updated = new ArrayList<>(courses.size());
+        for (CourseEntry course : courses) {
+            boolean holds = false;
+            for (SectionEntry section : course.sections) holds |= section.id.equals(sectionId);
+            boolean receives = entry != null && course.id.equals(entry.courseId);
+            if (!holds && !receives) {
+                updated.add(course);
+                continue;
+            }
+
+            List<SectionEntry> kept = new ArrayList<>(course.sections.size() + 1);
+            for (SectionEntry section : course.sections) {
+                if (!section.id.equals(sectionId)) kept.add(section);
+            }
+            if (receives) {
+                int at = 0;
+                while (at < kept.size() && kept.get(at).id.compareTo(entry.id) < 0) at++;
+                kept.add(at, entry);
+            }
+            updated.add(course.withSections(kept));
+        }
+        return new CourseCatalog(semester, updated);
+    }
+
+    public String getSemester() { return semester; }
+
+    /**
+     * @return every course ordered by id, courses without sections this semester included.
+     */
+    public List<CourseEntry> getCourses() { return courses; }
+
+    /**
+     * @return section of given id offered this semester, null when there is none.
+     */
+    public SectionEntry getSection(String sectionId) { return sections.get(sectionId); }
+
+    /**
+     * @return courses whose id or title contains given text, ignoring case.
+     */
+    public List<CourseEntry> search(String text) {
+        if (text == null || text.isBlank()) return courses;
+        String needle = text.trim().toLowerCase();
+        List<CourseEntry> matches = new ArrayList<>();
+        for (CourseEntry course : courses) {
+            if (course.id.toLowerCase().contains(needle) ||
+                    (course.title != null && course.title.toLowerCase().contains(needle))) {
+                matches.add(course);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * @return number of snapshots currently shared.
+     */
+    public static synchronized int getSnapshotCount() { return snapshots.size(); }
+}
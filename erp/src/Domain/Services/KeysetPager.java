@@ -0,0 +1,191 @@
+package Domain.Services;
+
+import Domain.Database.SchemaRegistry;
+import Domain.Database.sqliteConnector;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * KEYSET PAGER reading one window of an entity list as a flat projection [NO ENTITIES].
+ * pages continue after the sort value and id of the last row seen instead of using OFFSET,
+ * so reading page n costs one index seek whatever n is [KEYSET]. the id is always the
+ * tie breaker, any column marked sortable can be used for the order (server side sort).
+ *
+ * jumping to a far page without having read the ones before it uses seek(), which walks
+ * only the sort column and id (index only) to find where that page starts.
+ * the shared projections of the admin lists are defined at the bottom, each sortable
+ * column has a (column, id) index so no order needs a temporary sort.
+ */
+public final class KeysetPager {
+    public static final int MAX_IDS = 500;
+
+    private final String from;
+    private final String[] columns;
+    private final boolean[] sortable;
+
+    /**
+     * @param from     FROM clause of the projection, joins included.
+     * @param columns  column expressions, the first one is the unique id.
+     * @param sortable indexes of columns that may be used to order the list.
+     */
+    public KeysetPager(String from, String[] columns, int... sortable) {
+        this.from = from;
+        this.columns = columns.clone();
+        this.sortable = new boolean[columns.length];
+        this.sortable[0] = true;
+        for (int column : sortable) this.sortable[column] = true;
+    }
+
+    public int getColumnCount() { return columns.length; }
+
+    public boolean isSortable(int column) {
+        return column >= 0 && column < columns.length && sortable[column];
+    }
+
+    /**
+     * @return number of rows in the projection.
+     */
+    public int count() throws SQLException {
+        SchemaRegistry.ensure(sqliteConnector.ERP_DATABASE);
+        try (Connection c = sqliteConnector.borrow(sqliteConnector.ERP_DATABASE);
+             ResultSet rs = c.createStatement().executeQuery("SELECT COUNT(*) FROM " + from)) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    /**
+     * @param after last row of the previous page, null for the first page.
+     * @return up to limit rows following after in given order, every row holds all columns.
+     */
+    public List<Object[]> page(int sortColumn, boolean ascending, Object[] after, int limit) throws SQLException {
+        return page(sortColumn, ascending, after, limit, null);
+    }
+
+    /**
+     * @param only ids the rows are restricted to (e.g. search results), null for every row.
+     * at most MAX_IDS of them are used since each one is a bound parameter.
+     */
+    public List<Object[]> page(int sortColumn, boolean ascending, Object[] after, int limit,
+                               Collection<?> only) throws SQLException {
+        List<Object> params = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("SELECT ").append(String.join(", ", columns)).append(" FROM ").append(from);
+        sql.append(" WHERE 1");
+        appendOnly(sql, params, only);
+        appendAfter(sql, params, sortColumn, ascending, after);
+        appendOrder(sql, sortColumn, ascending).append(" LIMIT ?");
+        params.add(limit);
+
+        List<Object[]> rows = new ArrayList<>();
+        SchemaRegistry.ensure(sqliteConnector.ERP_DATABASE);
+        try (Connection c = sqliteConnector.borrow(sqliteConnector.ERP_DATABASE);
+             PreparedStatement s = c.prepareStatement(sql.toString())) {
+            for (int i = 0; i < params.size(); i++) s.setObject(i + 1, params.get(i));
+            ResultSet rs = s.executeQuery();
+            while (rs.next()) {
+                Object[] row = new Object[columns.length];
+                for (int i = 0; i < row.length; i++) row[i] = rs.getObject(i + 1);
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * @return row at given position holding only id and sort value (other columns null),
+     * usable as after of page(). null when the list is shorter.
+     */
+    public Object[] seek(int sortColumn, boolean ascending, int position) throws SQLException {
+        return seek(sortColumn, ascending, position, null);
+    }
+
+    public Object[] seek(int sortColumn, boolean ascending, int position, Collection<?> only) throws SQLException {
+        List<Object> params = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("SELECT ").append(columns[0]).append(", ").append(columns[sortColumn])
+                .append(" FROM ").append(from).append(" WHERE 1");
+        appendOnly(sql, params, only);
+        appendOrder(sql, sortColumn, ascending).append(" LIMIT 1 OFFSET ?");
+        params.add(position);
+
+        SchemaRegistry.ensure(sqliteConnector.ERP_DATABASE);
+        try (Connection c = sqliteConnector.borrow(sqliteConnector.ERP_DATABASE);
+             PreparedStatement s = c.prepareStatement(sql.toString())) {
+            for (int i = 0; i < params.size(); i++) s.setObject(i + 1, params.get(i));
+            ResultSet rs = s.executeQuery();
+            if (!rs.next()) return null;
+            Object[] row = new Object[columns.length];
+            row[0] = rs.getObject(1);
+            row[sortColumn] = rs.getObject(2);
+            return row;
+        }
+    }
+
+    private StringBuilder appendOrder(StringBuilder sql, int sortColumn, boolean ascending) {
+        String direction = ascending ? " ASC" : " DESC";
+        sql.append(" ORDER BY ");
+        if (sortColumn != 0) sql.append(columns[sortColumn]).append(direction).append(", ");
+        return sql.append(columns[0]).append(direction);
+    }
+
+    // nulls sort first ascending and last descending, the predicate has to follow them
+    private void appendOnly(StringBuilder sql, List<Object> params, Collection<?> only) {
+        if (only == null) return;
+        if (only.isEmpty()) {
+            sql.append(" AND 0");
+            return;
+        }
+        sql.append(" AND ").append(columns[0]).append(" IN (");
+        int bound = 0;
+        for (Object id : only) {
+            if (bound == MAX_IDS) break;
+            sql.append(bound++ == 0 ? "?" : ", ?");
+            params.add(id);
+        }
+        sql.append(")");
+    }
+
+    private void appendAfter(StringBuilder sql, List<Object> params, int sortColumn, boolean ascending, Object[] after) {
+        if (after == null) return;
+        String id = columns[0];
+        String cmp = ascending ? " > " : " < ";
+        if (sortColumn == 0) {
+            sql.append(" AND ").append(id).append(cmp).append("?");
+            params.add(after[0]);
+            return;
+        }
+
+        String sort = columns[sortColumn];
+        Object value = after[sortColumn];
+        if (value == null) {
+            sql.append(" AND ((").append(sort).append(" IS NULL AND ").append(id).append(cmp).append("?)");
+            sql.append(ascending ? " OR " + sort + " IS NOT NULL)" : ")");
+            params.add(after[0]);
+        } else {
+            sql.append(" AND ((").append(sort).append(", ").append(id).append(")").append(cmp).append("(?, ?)");
+            sql.append(ascending ? ")" : " OR " + sort + " IS NULL)");
+            params.add(value);
+            params.add(after[0]);
+        }
+    }
+
+    public static final KeysetPager STUDENTS = new KeysetPager(
+            "students s LEFT JOIN contact ct ON ct.id = s.id",
+            new String[]{"s.id", "s.name", "ct.email", "ct.phone", "s.enrollment_date"}, 1, 4);
+
+    public static final KeysetPager INSTRUCTORS = new KeysetPager(
+            "instructors i LEFT JOIN contact ct ON ct.id = i.id",
+            new String[]{"i.id", "i.name", "ct.email", "ct.phone"}, 1);
+
+    public static final KeysetPager COURSES = new KeysetPager(
+            "courses",
+            new String[]{"id", "title", "credits", "capacity"}, 1);
+
+    public static final KeysetPager SECTIONS = new KeysetPager(
+            "sections",
+            new String[]{"id", "name", "course_id", "instructor_id", "semester", "capacity", "contains"}, 1, 4);
+}
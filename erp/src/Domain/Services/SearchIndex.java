@@ -0,0 +1,306 @@
+package Domain.Services;
+
+import Domain.Database.SchemaRegistry;
+import Domain.Database.sqliteConnector;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * SEARCH INDEX over id, name and email of one entity kind, held in memory [NO LIKE SCANS].
+ * every entry is split into lower case trigrams of its text plus the one and two character
+ * prefixes of each word, each gram maps to a sorted posting list of entry numbers [N-GRAM].
+ * a query term of three or more characters intersects the postings of its trigrams and
+ * confirms the candidates with contains(), shorter terms read the word prefix postings,
+ * so a lookup touches only the entries sharing grams with the query. ids are also kept
+ * sorted, leading id matches are read from there and ranked first.
+ *
+ * the index is loaded with one query on the first search, entities keep it current by
+ * calling put() and remove() after their unit of work commits. replaced or removed entries
+ * are only marked dead and the postings are rebuilt once half of them are [COMPACTION].
+ */
+public final class SearchIndex {
+    private final String name;
+    private final String loadSql;
+
+    private final Map<String, Integer> byId = new HashMap<>();
+    private final TreeMap<String, Integer> idOrder = new TreeMap<>();
+    private final Map<Long, Posting> postings = new HashMap<>();
+    private String[] ids = new String[0];
+    private String[] texts = new String[0];
+    private boolean[] dead = new boolean[0];
+    private int entries;
+    private int deadEntries;
+    private boolean loaded;
+
+    /**
+     * @param loadSql query selecting id, name and email (or NULL) of every entity, the first
+     * column must be named id.
+     */
+    public SearchIndex(String name, String loadSql) {
+        this.name = name;
+        this.loadSql = loadSql;
+    }
+
+    public String getName() { return name; }
+
+    /**
+     * @return ids of up to limit entities matching every word of query, exact and leading
+     * id matches first, then name and email prefixes, then any other substring match.
+     */
+    public synchronized List<String> search(String query, int limit) throws SQLException {
+        ensureLoaded();
+        String[] terms = query == null ? new String[0] : query.toLowerCase(Locale.ROOT).trim().split("\\s+");
+        if (terms.length == 0 || terms[0].isEmpty() || limit <= 0) return new ArrayList<>();
+
+        int[] candidates = null;
+        for (String term : terms) {
+            int[] matches = candidatesOf(term);
+            candidates = candidates == null ? matches : intersect(candidates, matches);
+            if (candidates.length == 0) return new ArrayList<>();
+        }
+
+        // leading id matches come in id order straight from the sorted ids
+        String first = terms[0];
+        List<String> result = new ArrayList<>();
+        for (int entry : idOrder.subMap(first, first + Character.MAX_VALUE).values()) {
+            if (result.size() == limit) return result;
+            if (containsAll(texts[entry], terms)) result.add(ids[entry]);
+        }
+
+        // then word prefixes ahead of matches inside a word, each in entry order
+        List<String> inside = new ArrayList<>();
+        for (int entry : candidates) {
+            if (result.size() == limit) return result;
+            String text = texts[entry];
+            if (dead[entry] || text.startsWith(first) || !containsAll(text, terms)) continue;
+            if (startsWord(text, first)) result.add(ids[entry]);
+            else if (result.size() + inside.size() < limit) inside.add(ids[entry]);
+        }
+        for (String id : inside) {
+            if (result.size() == limit) break;
+            result.add(id);
+        }
+        return result;
+    }
+
+    /**
+     * ADDS or replaces given entity, ignored until the index is loaded since loading reads it anyway.
+     */
+    public synchronized void put(String id, String entityName, String email) {
+        if (!loaded || id == null) return;
+        remove(id);
+        add(id, entityName, email);
+    }
+
+    /**
+     * RELOADS given entity from the database, used for changes made by another process.
+     * ignored until the index is loaded.
+     */
+    public synchronized void refresh(String id) throws SQLException {
+        if (!loaded || id == null) return;
+        try (Connection c = sqliteConnector.borrow(sqliteConnector.ERP_DATABASE);
+             PreparedStatement s = c.prepareStatement("SELECT * FROM (" + loadSql + ") WHERE id = ?")) {
+            s.setString(1, id);
+            ResultSet rs = s.executeQuery();
+            if (rs.next()) put(id, rs.getString(2), rs.getString(3));
+            else remove(id);
+        }
+    }
+
+    /**
+     * REMOVES given entity, ignored until the index is loaded.
+     */
+    public synchronized void remove(String id) {
+        if (!loaded || id == null) return;
+        Integer entry = byId.remove(id);
+        if (entry == null) return;
+        idOrder.remove(orderKey(id));
+        dead[entry] = true;
+        deadEntries++;
+        if (deadEntries > 1024 && deadEntries * 2 > entries) rebuild();
+    }
+
+    /**
+     * DROPS every entry, the next search loads the index again.
+     */
+    public synchronized void invalidate() {
+        byId.clear();
+        idOrder.clear();
+        postings.clear();
+        ids = new String[0];
+        texts = new String[0];
+        dead = new boolean[0];
+        entries = 0;
+        deadEntries = 0;
+        loaded = false;
+    }
+
+    /**
+     * LOADS the index now if it is not loaded yet, used to warm it up off the caller thread.
+     */
+    public synchronized void ensureLoaded() throws SQLException {
+        if (loaded) return;
+        SchemaRegistry.ensure(sqliteConnector.ERP_DATABASE);
+        try (Connection c = sqliteConnector.borrow(sqliteConnector.ERP_DATABASE);
+             ResultSet rs = c.createStatement().executeQuery(loadSql)) {
+            while (rs.next()) {
+                String id = rs.getString(1);
+                if (id != null && !byId.containsKey(id)) add(id, rs.getString(2), rs.getString(3));
+            }
+        } catch (SQLException e) {
+            invalidate();
+            throw e;
+        }
+        loaded = true;
+    }
+
+    public synchronized boolean isLoaded() { return loaded; }
+
+    /**
+     * @return number of live entities in the index.
+     */
+    public synchronized int size() { return byId.size(); }
+
+    private void add(String id, String entityName, String email) {
+        if (entries == ids.length) {
+            int capacity = Math.max(64, entries * 2);
+            ids = Arrays.copyOf(ids, capacity);
+            texts = Arrays.copyOf(texts, capacity);
+            dead = Arrays.copyOf(dead, capacity);
+        }
+        String text = textOf(id, entityName, email);
+        int entry = entries++;
+        ids[entry] = id;
+        texts[entry] = text;
+        dead[entry] = false;
+        byId.put(id, entry);
+        idOrder.put(orderKey(id), entry);
+
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\n') continue;
+            if (i + 2 < text.length() && text.charAt(i + 1) != '\n' && text.charAt(i + 2) != '\n') {
+                append(gramKey(text, i, 3), entry);
+            }
+            if (Character.isLetterOrDigit(c) && (i == 0 || !Character.isLetterOrDigit(text.charAt(i - 1)))) {
+                append(gramKey(text, i, 1), entry);
+                if (i + 1 < text.length() && text.charAt(i + 1) != '\n') append(gramKey(text, i, 2), entry);
+            }
+        }
+    }
+
+    private void append(long gram, int entry) {
+        Posting posting = postings.get(gram);
+        if (posting == null) postings.put(gram, posting = new Posting());
+        posting.append(entry);
+    }
+
+    private void rebuild() {
+        String[] liveIds = new String[byId.size()];
+        String[] liveTexts = new String[byId.size()];
+        int n = 0;
+        for (int entry = 0; entry < entries; entry++) {
+            if (dead[entry]) continue;
+            liveIds[n] = ids[entry];
+            liveTexts[n++] = texts[entry];
+        }
+        invalidate();
+        loaded = true;
+        for (int i = 0; i < n; i++) {
+            String[] parts = liveTexts[i].split("\n", -1);
+            add(liveIds[i], parts[1], parts[2]);
+        }
+    }
+
+    private int[] candidatesOf(String term) {
+        if (term.length() < 3) {
+            return postingOf(gramKey(term, 0, term.length()));
+        }
+        int[] result = null;
+        for (int i = 0; i + 3 <= term.length(); i++) {
+            int[] list = postingOf(gramKey(term, i, 3));
+            result = result == null ? list : intersect(result, list);
+            if (result.length == 0) break;
+        }
+        return result;
+    }
+
+    private int[] postingOf(long gram) {
+        Posting posting = postings.get(gram);
+        return posting == null ? new int[0] : Arrays.copyOf(posting.entries, posting.size);
+    }
+
+    // ascending entry numbers holding one gram, entries are only ever appended
+    private static final class Posting {
+        int[] entries = new int[2];
+        int size;
+
+        void append(int entry) {
+            if (size > 0 && entries[size - 1] == entry) return;
+            if (size == entries.length) entries = Arrays.copyOf(entries, size * 2);
+            entries[size++] = entry;
+        }
+    }
+
+    private static int[] intersect(int[] a, int[] b) {
+        int[] out = new int[Math.min(a.length, b.length)];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) i++;
+            else if (a[i] > b[j]) j++;
+            else { out[n++] = a[i]; i++; j++; }
+        }
+        return n == out.length ? out : Arrays.copyOf(out, n);
+    }
+
+    // length chars of text packed into one key, the length keeps word prefixes apart from trigrams
+    private static long gramKey(String text, int at, int length) {
+        long key = length;
+        for (int i = 0; i < length; i++) key = (key << 16) | text.charAt(at + i);
+        return key;
+    }
+
+    // ids ordered case insensitively, the id itself keeps ids differing only in case apart
+    private static String orderKey(String id) {
+        return id.toLowerCase(Locale.ROOT) + "\n" + id;
+    }
+
+    // fields are joined with a newline so a gram never spans two of them
+    private static String textOf(String id, String entityName, String email) {
+        return (id + "\n" + (entityName == null ? "" : entityName) + "\n" + (email == null ? "" : email))
+                .toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean containsAll(String text, String[] terms) {
+        for (String term : terms) {
+            if (term.length() < 3 ? !startsWord(text, term) : !text.contains(term)) return false;
+        }
+        return true;
+    }
+
+    private static boolean startsWord(String text, String term) {
+        for (int at = text.indexOf(term); at >= 0; at = text.indexOf(term, at + 1)) {
+            if (at == 0 || !Character.isLetterOrDigit(text.charAt(at - 1))) return true;
+        }
+        return false;
+    }
+
+    public static final SearchIndex STUDENTS = new SearchIndex("students",
+            "SELECT s.id, s.name, ct.email FROM students s LEFT JOIN contact ct ON ct.id = s.id");
+
+    public static final SearchIndex INSTRUCTORS = new SearchIndex("instructors",
+            "SELECT i.id, i.name, ct.email FROM instructors i LEFT JOIN contact ct ON ct.id = i.id");
+
+    public static final SearchIndex COURSES = new SearchIndex("courses",
+            "SELECT id, title, NULL FROM courses");
+}
@@ -0,0 +1,189 @@
+package Domain.Services;
+
+import Domain.Cache.EntityCache;
+import Domain.Concretes.Section;
+import Domain.Database.SchemaRegistry;
+import Domain.Database.UnitOfWork;
+import Domain.Database.sqliteConnector;
+import Domain.Interfaces.IDatabaseModel;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SECTION STATISTICS over the total scores of one section, kept in memory per section.
+ * the first request loads every records row of the section once [LOAD], afterwards grade
+ * writes are applied to the cached statistics as they commit [INCREMENTAL], so reading
+ * average, median, any percentile or the distributions never goes back to the database.
+ *
+ * totals are held in a sorted array (percentiles by index) next to count, sum, a
+ * letter grade histogram against the section's slabs and a fixed width score histogram.
+ * changing the slabs of a section drops its statistics, they are rebuilt on next use.
+ */
+public final class SectionStatistics {
+    public static final String[] GRADES = {"O", "A", "A-", "B", "B-", "C", "C-", "D", "F"};
+    public static final int SCORE_BIN_WIDTH = 10;
+    public static final int SCORE_BINS = 11;
+
+    private static final EntityCache<SectionStatistics> cache = new EntityCache<>("section-stats", 128);
+    private static final String scoresSql = "SELECT student_id, labs, quiz, mid, end, assign, proj, bonus " +
+                                            "FROM records WHERE section_id = ?";
+
+    private final String sectionId;
+    private final float[] slabs;
+    private final Map<String, Float> totals = new HashMap<>();
+    private final int[] gradeCounts = new int[GRADES.length];
+    private final int[] scoreBins = new int[SCORE_BINS];
+    private float[] sorted = new float[16];
+    private int count;
+    private double sum;
+
+    private SectionStatistics(String sectionId, float[] slabs) {
+        this.sectionId = sectionId;
+        this.slabs = slabs;
+    }
+
+    /**
+     * @return statistics of given section, loaded on first use and then kept current [CACHED].
+     */
+    public static SectionStatistics of(String sectionId) throws SQLException {
+        return cache.get(sectionId, SectionStatistics::load);
+    }
+
+    public static EntityCache<SectionStatistics> getCache() { return cache; }
+
+    /**
+     * APPLIES a committed change of one student's marks, null total means the record was removed.
+     * scheduled after commit of the surrounding unit of work and dropped if it rolls back.
+     */
+    public static void recordChanged(String sectionId, String studentId, Float total) {
+        UnitOfWork.afterCommit(() -> {
+            SectionStatistics stats = cache.peek(sectionId);
+            if (stats != null) stats.apply(studentId, total);
+            else cache.invalidate(sectionId); // a load racing with this write must not be cached
+        });
+    }
+
+    /**
+     * DROPS statistics of given section, used when its grading slabs change or it is deleted.
+     */
+    public static void invalidate(String sectionId) {
+        cache.invalidate(sectionId);
+    }
+
+    private static SectionStatistics load(String sectionId) throws SQLException {
+        Section section = Section.loadAll(List.of(sectionId)).get(sectionId);
+        float[] slabs = section == null ? new float[GRADES.length - 1] : new float[]{
+                section.getO(), section.getA(), section.getA_(), section.getB(),
+                section.getB_(), section.getC(), section.getC_(), section.getD()
+        };
+        SectionStatistics stats = new SectionStatistics(sectionId, slabs);
+
+        SchemaRegistry.ensure(IDatabaseModel.database);
+        try (Connection c = sqliteConnector.borrow(IDatabaseModel.database);
+             PreparedStatement s = c.prepareStatement(scoresSql)) {
+            s.setString(1, sectionId);
+            ResultSet rs = s.executeQuery();
+            while (rs.next()) {
+                Section.GradeRow row = new Section.GradeRow(rs.getString("student_id"),
+                        rs.getFloat("labs"), rs.getFloat("quiz"), rs.getFloat("mid"), rs.getFloat("end"),
+                        rs.getFloat("assign"), rs.getFloat("proj"), rs.getFloat("bonus"));
+                stats.apply(row.studentId, row.getTotal());
+            }
+        }
+        return stats;
+    }
+
+    private synchronized void apply(String studentId, Float total) {
+        Float previous = total == null ? totals.remove(studentId) : totals.put(studentId, total);
+        if (previous != null) remove(previous);
+        if (total != null) insert(total);
+    }
+
+    private void insert(float score) {
+        if (count == sorted.length) sorted = Arrays.copyOf(sorted, count * 2);
+        int at = position(score);
+        System.arraycopy(sorted, at, sorted, at + 1, count - at);
+        sorted[at] = score;
+        count++;
+        sum += score;
+        gradeCounts[gradeIndex(score)]++;
+        scoreBins[binIndex(score)]++;
+    }
+
+    private void remove(float score) {
+        int at = Arrays.binarySearch(sorted, 0, count, score);
+        if (at < 0) return;
+        System.arraycopy(sorted, at + 1, sorted, at, count - at - 1);
+        count--;
+        sum -= score;
+        gradeCounts[gradeIndex(score)]--;
+        scoreBins[binIndex(score)]--;
+    }
+
+    private int position(float score) {
+        int at = Arrays.binarySearch(sorted, 0, count, score);
+        return at < 0 ? -at - 1 : at;
+    }
+
+    private int gradeIndex(float score) {
+        for (int i = 0; i < slabs.length; i++) {
+            if (score >= slabs[i]) return i;
+        }
+        return GRADES.length - 1;
+    }
+
+    private static int binIndex(float score) {
+        int index = (int) (score / SCORE_BIN_WIDTH);
+        return Math.max(0, Math.min(SCORE_BINS - 1, index));
+    }
+
+    public String getSectionId()              { return sectionId; }
+    public synchronized int getCount()        { return count; }
+    public synchronized double getSum()       { return sum; }
+    public synchronized float getAverage()    { return count == 0 ? 0 : (float) (sum / count); }
+    public synchronized float getLowest()     { return count == 0 ? 0 : sorted[0]; }
+    public synchronized float getHighest()    { return count == 0 ? 0 : sorted[count - 1]; }
+    public synchronized float getMedian()     { return getPercentile(50); }
+
+    /**
+     * @return score at given percentile [0, 100], interpolated between the closest ranks.
+     */
+    public synchronized float getPercentile(double percentile) {
+        if (count == 0) return 0;
+        double rank = Math.max(0, Math.min(100, percentile)) / 100.0 * (count - 1);
+        int below = (int) Math.floor(rank);
+        int above = Math.min(count - 1, below + 1);
+        return (float) (sorted[below] + (sorted[above] - sorted[below]) * (rank - below));
+    }
+
+    /**
+     * @return number of students per letter grade, in GRADES order.
+     */
+    public synchronized Map<String, Integer> getGradeCounts() {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (int i = 0; i < GRADES.length; i++) counts.put(GRADES[i], gradeCounts[i]);
+        return counts;
+    }
+
+    /**
+     * @return number of students per score range of SCORE_BIN_WIDTH, the last bin holds everything above.
+     */
+    public synchronized int[] getScoreBins() {
+        return scoreBins.clone();
+    }
+
+    /**
+     * @return total score of given student or null when the student has no record.
+     */
+    public synchronized Float getTotal(String studentId) {
+        return totals.get(studentId);
+    }
+}
@@ -0,0 +1,316 @@
+package Domain.Services;
+
+import Domain.Concretes.Section;
+import Domain.Database.SchemaRegistry;
+import Domain.Database.UnitOfWork;
+import Domain.Database.sqliteConnector;
+import Domain.Interfaces.IDatabaseModel;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * TRANSCRIPT SUMMARY of one student in one semester, persisted in the transcripts table.
+ * credits, grade points, SGPA and standing are derived from enrollments, course credits,
+ * records and slabs. reading a student's transcript is one indexed query [MATERIALIZED].
+ *
+ * writes that change a summary (marks, enrollments, drops, slabs, course credits) flag the
+ * affected rows stale inside their own unit of work [CHEAP], the next read of that student
+ * recomputes every row of the student from one join. rebuildAll() recomputes the whole
+ * table, reading student ranges on parallel connections [PARALLEL] and writing once.
+ */
+public final class TranscriptSummary {
+    public static final double GOOD_STANDING_SGPA = 4.0;
+    public static final String GOOD_STANDING      = "Good Standing";
+    public static final String ACADEMIC_WARNING   = "Academic Warning";
+
+    private static final double[] slabPoints = {10.0, 10.0, 9.0, 8.0, 7.0, 6.0, 5.0, 4.0};
+    private static final int rebuildChunk = 2000;
+    private static final int recordBatchLimit = 8;
+
+    private static final String computeSql = "SELECT e.student_id, e.semester, c.credits, " +
+                                             "r.labs, r.quiz, r.mid, r.end, r.assign, r.proj, r.bonus, " +
+                                             "sl.O, sl.A, sl.A_, sl.B, sl.B_, sl.C, sl.C_, sl.D " +
+                                             "FROM enrollments e " +
+                                             "JOIN sections s ON s.id = e.section_id " +
+                                             "LEFT JOIN courses c ON c.id = s.course_id " +
+                                             "LEFT JOIN slabs sl ON sl.id = e.section_id " +
+                                             "LEFT JOIN records r ON r.student_id = e.student_id AND r.section_id = e.section_id " +
+                                             "WHERE %s";
+    private static final String selectSql  = "SELECT semester, credits, grade_points, stale FROM transcripts " +
+                                             "WHERE student_id = ? ORDER BY semester";
+    private static final String insertSql  = "INSERT INTO transcripts(student_id, semester, credits, grade_points, sgpa, standing, stale) " +
+                                             "VALUES(?, ?, ?, ?, ?, ?, 0)";
+    private static final String deleteSql  = "DELETE FROM transcripts WHERE student_id = ?";
+
+    // flags every (student, semester) pair selected by the scope, creating rows that do not exist yet
+    private static final String staleSql   = "INSERT INTO transcripts(student_id, semester, stale) " +
+                                             "SELECT DISTINCT student_id, semester, 1 FROM (%s) WHERE true " +
+                                             "ON CONFLICT(student_id, semester) DO UPDATE SET stale = 1";
+    private static final String semesterScope = "SELECT ? AS student_id, ? AS semester";
+    private static final String studentScope  = "SELECT student_id, semester FROM enrollments WHERE student_id = ?";
+    private static final String sectionScope  = "SELECT student_id, semester FROM enrollments WHERE section_id = ?";
+    private static final String recordScope   = "SELECT student_id, semester FROM enrollments " +
+                                                "WHERE section_id = ? AND student_id = ?";
+    private static final String courseScope   = "SELECT e.student_id, e.semester FROM enrollments e " +
+                                                "JOIN sections s ON s.id = e.section_id WHERE s.course_id = ?";
+
+    private final String studentId;
+    private final String semester;
+    private int credits;
+    private double gradePoints;
+
+    private TranscriptSummary(String studentId, String semester) {
+        this.studentId = studentId;
+        this.semester = semester;
+    }
+
+    /**
+     * @return one summary per semester of given student, ordered by semester.
+     * stale rows of the student are recomputed first.
+     */
+    public static List<TranscriptSummary> forStudent(String studentId) throws SQLException {
+        SchemaRegistry.ensure(IDatabaseModel.database);
+        List<TranscriptSummary> list = new ArrayList<>();
+        boolean stale = false;
+        try (Connection c = sqliteConnector.borrow(IDatabaseModel.database);
+             PreparedStatement s = c.prepareStatement(selectSql)) {
+            s.setString(1, studentId);
+            ResultSet rs = s.executeQuery();
+            while (rs.next()) {
+                TranscriptSummary summary = new TranscriptSummary(studentId, rs.getString("semester"));
+                summary.credits = rs.getInt("credits");
+                summary.gradePoints = rs.getDouble("grade_points");
+                stale |= rs.getBoolean("stale");
+                list.add(summary);
+            }
+        }
+        return stale ? recompute(studentId) : list;
+    }
+
+    private static List<TranscriptSummary> recompute(String studentId) throws SQLException {
+        return UnitOfWork.call(() -> {
+            try (Connection c = sqliteConnector.borrow(IDatabaseModel.database)) {
+                // delete first so the write lock is held before the source rows are read
+                try (PreparedStatement s = c.prepareStatement(deleteSql)) {
+                    s.setString(1, studentId);
+                    s.executeUpdate();
+                }
+                List<TranscriptSummary> rows = new ArrayList<>(compute(c, "e.student_id = ?", List.of(studentId)));
+                rows.sort((a, b) -> a.semester.compareTo(b.semester));
+                insert(c, rows);
+                return rows;
+            }
+        });
+    }
+
+    /**
+     * FLAGS given student's semester, used when an enrollment is added or dropped.
+     */
+    public static void invalidateSemester(String studentId, String semester) throws SQLException {
+        invalidate(semesterScope, studentId, semester);
+    }
+
+    /**
+     * FLAGS every semester of given student, used after the student's enrollments are saved.
+     */
+    public static void invalidateStudent(String studentId) throws SQLException {
+        invalidate(studentScope, studentId);
+    }
+
+    /**
+     * FLAGS the semester of every student enrolled in given section, used when its slabs
+     * change or it is deleted.
+     */
+    public static void invalidateSection(String sectionId) throws SQLException {
+        invalidate(sectionScope, sectionId);
+    }
+
+    /**
+     * FLAGS the semester of given students of given section, used after grade writes.
+     * a few students are flagged one by one in a batch, a gradebook sized write flags the
+     * whole section in one statement, extra flagged rows only cost a recompute on next read.
+     */
+    public static void invalidateRecords(String sectionId, Collection<String> studentIds) throws SQLException {
+        if (studentIds.isEmpty()) return;
+        if (studentIds.size() > recordBatchLimit) {
+            invalidateSection(sectionId);
+            return;
+        }
+        SchemaRegistry.ensure(IDatabaseModel.database);
+        try (Connection c = sqliteConnector.borrow(IDatabaseModel.database);
+             PreparedStatement s = c.prepareStatement(String.format(staleSql, recordScope))) {
+            for (String studentId : studentIds) {
+                s.setString(1, sectionId);
+                s.setString(2, studentId);
+                s.addBatch();
+            }
+            s.executeBatch();
+        }
+    }
+
+    /**
+     * FLAGS every semester that has a section of given course, used when its credits change.
+     */
+    public static void invalidateCourse(String courseId) throws SQLException {
+        invalidate(courseScope, courseId);
+    }
+
+    /**
+     * REMOVES every summary of given student, used when the student is deleted.
+     */
+    public static void deleteStudent(String studentId) throws SQLException {
+        SchemaRegistry.ensure(IDatabaseModel.database);
+        try (Connection c = sqliteConnector.borrow(IDatabaseModel.database);
+             PreparedStatement s = c.prepareStatement(deleteSql)) {
+            s.setString(1, studentId);
+            s.executeUpdate();
+        }
+    }
+
+    private static void invalidate(String scope, String... params) throws SQLException {
+        SchemaRegistry.ensure(IDatabaseModel.database);
+        try (Connection c = sqliteConnector.borrow(IDatabaseModel.database);
+             PreparedStatement s = c.prepareStatement(String.format(staleSql, scope))) {
+            bind(s, List.of(params));
+            s.executeUpdate();
+        }
+    }
+
+    /**
+     * REBUILDS the whole table from scratch. students are split into ranges that are
+     * computed concurrently, each worker thread reading on its own pooled connection,
+     * then every row is written in one unit of work. meant for maintenance, marks
+     * written while it runs may be overwritten by the rebuilt rows.
+     *
+     * @return number of summaries written.
+     */
+    public static int rebuildAll() throws SQLException {
+        SchemaRegistry.ensure(IDatabaseModel.database);
+        List<String> students = new ArrayList<>();
+        try (Connection c = sqliteConnector.borrow(IDatabaseModel.database);
+             Statement s = c.createStatement()) {
+            ResultSet rs = s.executeQuery("SELECT DISTINCT student_id FROM enrollments ORDER BY student_id");
+            while (rs.next()) students.add(rs.getString(1));
+        }
+
+        List<TranscriptSummary> rows = new ArrayList<>();
+        if (!students.isEmpty()) {
+            int ranges = (students.size() + rebuildChunk - 1) / rebuildChunk;
+            ExecutorService pool = Executors.newFixedThreadPool(
+                    Math.min(ranges, Runtime.getRuntime().availableProcessors()));
+            try {
+                List<Future<Collection<TranscriptSummary>>> parts = new ArrayList<>();
+                for (int from = 0; from < students.size(); from += rebuildChunk) {
+                    List<String> range = List.of(students.get(from),
+                            students.get(Math.min(from + rebuildChunk, students.size()) - 1));
+                    parts.add(pool.submit(() -> {
+                        try (Connection c = sqliteConnector.borrow(IDatabaseModel.database)) {
+                            return compute(c, "e.student_id BETWEEN ? AND ?", range);
+                        }
+                    }));
+                }
+                for (Future<Collection<TranscriptSummary>> part : parts) rows.addAll(part.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Transcript rebuild interrupted.", e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof SQLException) throw (SQLException) e.getCause();
+                throw new SQLException("Transcript rebuild failed: " + e.getCause(), e.getCause());
+            } finally {
+                pool.shutdown();
+            }
+        }
+
+        UnitOfWork.execute(() -> {
+            try (Connection c = sqliteConnector.borrow(IDatabaseModel.database);
+                 Statement s = c.createStatement()) {
+                s.executeUpdate("DELETE FROM transcripts");
+                insert(c, rows);
+            }
+        });
+        return rows.size();
+    }
+
+    private static Collection<TranscriptSummary> compute(Connection c, String where, List<String> params)
+            throws SQLException {
+        Map<String, TranscriptSummary> rows = new LinkedHashMap<>();
+        try (PreparedStatement s = c.prepareStatement(String.format(computeSql, where))) {
+            bind(s, params);
+            ResultSet rs = s.executeQuery();
+            while (rs.next()) {
+                String student = rs.getString("student_id");
+                String semester = rs.getString("semester");
+                TranscriptSummary summary = rows.computeIfAbsent(student + '\u0000' + semester,
+                        k -> new TranscriptSummary(student, semester));
+
+                float total = rs.getFloat("labs") + rs.getFloat("quiz") + rs.getFloat("mid") + rs.getFloat("end") +
+                              rs.getFloat("assign") + rs.getFloat("proj") + rs.getFloat("bonus");
+                float[] slabs = {
+                        rs.getFloat("O"), rs.getFloat("A"), rs.getFloat("A_"), rs.getFloat("B"),
+                        rs.getFloat("B_"), rs.getFloat("C"), rs.getFloat("C_"), rs.getFloat("D")
+                };
+                int credits = rs.getInt("credits");
+                summary.credits += credits;
+                summary.gradePoints += gradePoint(total, slabs) * credits;
+            }
+        }
+        return rows.values();
+    }
+
+    private static void insert(Connection c, Collection<TranscriptSummary> rows) throws SQLException {
+        if (rows.isEmpty()) return;
+        try (PreparedStatement s = c.prepareStatement(insertSql)) {
+            for (TranscriptSummary row : rows) {
+                s.setString(1, row.studentId);
+                s.setString(2, row.semester);
+                s.setInt(3, row.credits);
+                s.setDouble(4, row.gradePoints);
+                s.setDouble(5, row.getSgpa());
+                s.setString(6, row.getStanding());
+                s.addBatch();
+            }
+            s.executeBatch();
+        }
+    }
+
+    private static void bind(PreparedStatement s, List<String> params) throws SQLException {
+        for (int i = 0; i < params.size(); i++) s.setString(i + 1, params.get(i));
+    }
+
+    /**
+     * @return grade point of given total against given section's slabs, 0 below D.
+     */
+    public static double gradePoint(float score, Section section) {
+        return gradePoint(score, new float[]{
+                section.getO(), section.getA(), section.getA_(), section.getB(),
+                section.getB_(), section.getC(), section.getC_(), section.getD()
+        });
+    }
+
+    private static double gradePoint(float score, float[] slabs) {
+        for (int i = 0; i < slabs.length; i++) {
+            if (score >= slabs[i]) return slabPoints[i];
+        }
+        return 0.0;
+    }
+
+    public String getStudentId()    { return studentId; }
+    public String getSemester()     { return semester; }
+    public int getCredits()         { return credits; }
+    public double getGradePoints()  { return gradePoints; }
+    public double getSgpa()         { return credits > 0 ? gradePoints / credits : 0.0; }
+    public String getStanding()     { return getSgpa() > GOOD_STANDING_SGPA ? GOOD_STANDING : ACADEMIC_WARNING; }
+}
@@ -0,0 +1,223 @@
+package Domain.Services;
+
+import Domain.Concretes.Section;
+import Domain.Database.SchemaRegistry;
+import Domain.Database.sqliteConnector;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * WEEKLY OCCUPANCY of one student or one room, a minutes-of-week bitset [7 x 24 x 60 bits]
+ * built from timetable rows. testing a time slot against it touches only the few words the
+ * slot covers [CONSTANT TIME], the intervals of each owning section are kept next to the bits
+ * and scanned only after a hit, so a clash can name the section it collides with.
+ *
+ * checkEnrollment() and checkTimetable() build the occupancies they need with one query each
+ * and throw an SQLException naming the conflicting section, callers run them inside the
+ * unit of work that performs the write so a rejected change is rolled back.
+ */
+public final class WeeklyOccupancy {
+    public static final int MINUTES_PER_DAY  = 24 * 60;
+    public static final int MINUTES_PER_WEEK = 7 * MINUTES_PER_DAY;
+
+    private static final String[] DAYS = {"monday", "tuesday", "wednesday", "thursday", "friday", "saturday", "sunday"};
+
+    private static final String enrolledSlotsSql = "SELECT t.section_id, t.day, t.start_time, t.duration " +
+                                                   "FROM enrollments e JOIN timetable t ON t.section_id = e.section_id " +
+                                                   "WHERE e.student_id = ? AND e.semester = ?";
+    private static final String classmateSlotsSql = "SELECT DISTINCT t.section_id, t.day, t.start_time, t.duration " +
+                                                    "FROM enrollments e " +
+                                                    "JOIN enrollments o ON o.student_id = e.student_id AND o.semester = e.semester " +
+                                                    "JOIN timetable t ON t.section_id = o.section_id " +
+                                                    "WHERE e.section_id = ? AND o.section_id <> e.section_id";
+    private static final String roomSlotsSql = "SELECT t.section_id, t.day, t.start_time, t.duration, t.room " +
+                                               "FROM timetable t JOIN sections s ON s.id = t.section_id " +
+                                               "WHERE t.room = ? AND s.semester = ? AND t.section_id <> ?";
+
+    private final long[] bits = new long[(MINUTES_PER_WEEK + 63) / 64];
+    private final Map<String, List<int[]>> intervals = new LinkedHashMap<>();
+
+    /**
+     * MARKS given slot as occupied by owner, slots with an unknown day or time are ignored.
+     */
+    public void add(String owner, String day, String startTime, int durationMins) {
+        int from = minuteOfWeek(day, startTime);
+        if (from < 0 || durationMins <= 0) return;
+        int to = Math.min(MINUTES_PER_WEEK, from + durationMins);
+
+        for (int word = from >>> 6; word <= (to - 1) >>> 6; word++) {
+            bits[word] |= mask(word, from, to);
+        }
+        intervals.computeIfAbsent(owner, k -> new ArrayList<>()).add(new int[]{from, to});
+    }
+
+    public void add(String owner, Section.TimeSlot slot) {
+        add(owner, slot.day, slot.startTime, slot.durationMins);
+    }
+
+    /**
+     * @return owner of a slot overlapping given one, null when that time is free.
+     */
+    public String conflictOf(String day, String startTime, int durationMins) {
+        int from = minuteOfWeek(day, startTime);
+        if (from < 0 || durationMins <= 0) return null;
+        int to = Math.min(MINUTES_PER_WEEK, from + durationMins);
+
+        boolean hit = false;
+        for (int word = from >>> 6; word <= (to - 1) >>> 6 && !hit; word++) {
+            hit = (bits[word] & mask(word, from, to)) != 0;
+        }
+        if (!hit) return null;
+
+        for (Map.Entry<String, List<int[]>> entry : intervals.entrySet()) {
+            for (int[] interval : entry.getValue()) {
+                if (interval[0] < to && from < interval[1]) return entry.getKey();
+            }
+        }
+        return null;
+    }
+
+    public String conflictOf(Section.TimeSlot slot) {
+        return conflictOf(slot.day, slot.startTime, slot.durationMins);
+    }
+
+    public boolean isEmpty() {
+        return intervals.isEmpty();
+    }
+
+    /**
+     * @return minute of week [0 is monday 00:00] of given day and HH:MM time, -1 when either is unknown.
+     */
+    public static int minuteOfWeek(String day, String startTime) {
+        if (day == null || startTime == null) return -1;
+        int index = -1;
+        for (int i = 0; i < DAYS.length; i++) {
+            if (DAYS[i].equalsIgnoreCase(day.trim())) { index = i; break; }
+        }
+        if (index < 0) return -1;
+
+        String[] parts = startTime.trim().split(":");
+        if (parts.length != 2) return -1;
+        try {
+            int hours = Integer.parseInt(parts[0]);
+            int minutes = Integer.parseInt(parts[1]);
+            if (hours < 0 || hours > 23 || minutes < 0 || minutes > 59) return -1;
+            return index * MINUTES_PER_DAY + hours * 60 + minutes;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static long mask(int word, int from, int to) {
+        int lo = Math.max(from - (word << 6), 0);
+        int hi = Math.min(to - (word << 6), 64);
+        long upper = hi == 64 ? -1L : (1L << hi) - 1;
+        return upper & (-1L << lo);
+    }
+
+    /**
+     * CHECKS that given section does not clash with the other sections student takes in semester.
+     * expects the enrollment row of the section to exist already (reserveSeat inserts it).
+     *
+     * @throws SQLException naming the conflicting section.
+     */
+    public static void checkEnrollment(String studentId, String sectionId, String semester) throws SQLException {
+        WeeklyOccupancy taken = new WeeklyOccupancy();
+        List<Section.TimeSlot> wanted = new ArrayList<>();
+
+        SchemaRegistry.ensure(sqliteConnector.ERP_DATABASE);
+        try (Connection c = sqliteConnector.borrow(sqliteConnector.ERP_DATABASE);
+             PreparedStatement s = c.prepareStatement(enrolledSlotsSql)) {
+            s.setString(1, studentId);
+            s.setString(2, semester);
+            ResultSet rs = s.executeQuery();
+            while (rs.next()) {
+                String owner = rs.getString("section_id");
+                Section.TimeSlot slot = new Section.TimeSlot(rs.getString("day"), rs.getString("start_time"),
+                        rs.getInt("duration"), null);
+                if (owner.equals(sectionId)) wanted.add(slot);
+                else taken.add(owner, slot);
+            }
+        }
+
+        for (Section.TimeSlot slot : wanted) {
+            String conflict = taken.conflictOf(slot);
+            if (conflict != null) {
+                throw new SQLException("Cannot enroll: Section " + sectionId + " clashes with Section " +
+                        conflict + " on " + slot.day + " " + slot.startTime + ".");
+            }
+        }
+    }
+
+    /**
+     * CHECKS new slots of a section against other sections held in the same rooms that semester
+     * and against the other sections its enrolled students take.
+     *
+     * @throws SQLException naming the conflicting section.
+     */
+    public static void checkTimetable(String sectionId, String semester, List<Section.TimeSlot> slots) throws SQLException {
+        WeeklyOccupancy own = new WeeklyOccupancy();
+        for (Section.TimeSlot slot : slots) {
+            if (own.conflictOf(slot) != null) {
+                throw new SQLException("Cannot update timetable: slots of Section " + sectionId +
+                        " overlap each other on " + slot.day + " " + slot.startTime + ".");
+            }
+            own.add(sectionId, slot);
+        }
+        if (slots.isEmpty()) return;
+
+        SchemaRegistry.ensure(sqliteConnector.ERP_DATABASE);
+        try (Connection c = sqliteConnector.borrow(sqliteConnector.ERP_DATABASE)) {
+            Map<String, WeeklyOccupancy> rooms = new HashMap<>();
+            if (semester != null && !semester.isEmpty()) {
+                try (PreparedStatement s = c.prepareStatement(roomSlotsSql)) {
+                    for (Section.TimeSlot slot : slots) {
+                        if (slot.room == null || slot.room.isBlank() || rooms.containsKey(slot.room)) continue;
+                        WeeklyOccupancy room = new WeeklyOccupancy();
+                        s.setString(1, slot.room);
+                        s.setString(2, semester);
+                        s.setString(3, sectionId);
+                        ResultSet rs = s.executeQuery();
+                        while (rs.next()) {
+                            room.add(rs.getString("section_id"), rs.getString("day"),
+                                    rs.getString("start_time"), rs.getInt("duration"));
+                        }
+                        rooms.put(slot.room, room);
+                    }
+                }
+            }
+
+            WeeklyOccupancy classmates = new WeeklyOccupancy();
+            try (PreparedStatement s = c.prepareStatement(classmateSlotsSql)) {
+                s.setString(1, sectionId);
+                ResultSet rs = s.executeQuery();
+                while (rs.next()) {
+                    classmates.add(rs.getString("section_id"), rs.getString("day"),
+                            rs.getString("start_time"), rs.getInt("duration"));
+                }
+            }
+
+            for (Section.TimeSlot slot : slots) {
+                WeeklyOccupancy room = rooms.get(slot.room);
+                String conflict = room == null ? null : room.conflictOf(slot);
+                if (conflict != null) {
+                    throw new SQLException("Cannot update timetable: " + slot.room + " is used by Section " +
+                            conflict + " on " + slot.day + " " + slot.startTime + ".");
+                }
+                conflict = classmates.conflictOf(slot);
+                if (conflict != null) {
+                    throw new SQLException("Cannot update timetable: students of Section " + sectionId +
+                            " also take Section " + conflict + " on " + slot.day + " " + slot.startTime + ".");
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package Domain.Services;
+
+import Domain.Cache.EntityCache;
+import Domain.Concretes.Section;
+import Domain.Database.SchemaRegistry;
+import Domain.Database.UnitOfWork;
+import Domain.Database.sqliteConnector;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * WEEKLY SCHEDULE of one student in one semester, every timetable slot of the sections
+ * taken joined with section and course names, loaded with a single query [ONE ROUND TRIP].
+ * schedules are cached per (student, semester), enroll and drop drop the entry of that
+ * student, timetable, section and course edits drop every entry since they may touch many.
+ *
+ * cached schedules are shared and [READ ONLY], slots handed out must not be modified.
+ */
+public final class WeeklySchedule {
+
+    /**
+     * ENTRY is one timetable slot of a section together with the names shown for it.
+     */
+    public static final class Entry {
+        public final String sectionId;
+        public final String sectionName;
+        public final String courseId;
+        public final String courseName;
+        public final Section.TimeSlot slot;
+
+        Entry(String sectionId, String sectionName, String courseId, String courseName, Section.TimeSlot slot) {
+            this.sectionId = sectionId;
+            this.sectionName = sectionName;
+            this.courseId = courseId;
+            this.courseName = courseName;
+            this.slot = slot;
+        }
+
+        /**
+         * @return course name, falling back to section name and then section id.
+         */
+        public String getTitle() {
+            if (courseName != null) return courseName;
+            if (sectionName != null) return sectionName;
+            return sectionId;
+        }
+    }
+
+    private static final EntityCache<WeeklySchedule> cache = new EntityCache<>("weekly-schedule", 256);
+    private static final String scheduleSql = "SELECT t.section_id, s.name AS section_name, s.course_id, " +
+                                              "c.title AS course_name, t.day, t.start_time, t.duration, t.room " +
+                                              "FROM enrollments e " +
+                                              "JOIN timetable t ON t.section_id = e.section_id " +
+                                              "LEFT JOIN sections s ON s.id = e.section_id " +
+                                              "LEFT JOIN courses c ON c.id = s.course_id " +
+                                              "WHERE e.student_id = ? AND e.semester = ? " +
+                                              "ORDER BY e.section_id";
+
+    private final String studentId;
+    private final String semester;
+    private final List<Entry> entries;
+
+    private WeeklySchedule(String studentId, String semester, List<Entry> entries) {
+        this.studentId = studentId;
+        this.semester = semester;
+        this.entries = Collections.unmodifiableList(entries);
+    }
+
+    /**
+     * @return schedule of given student in given semester, loaded on first use [CACHED].
+     */
+    public static WeeklySchedule of(String studentId, String semester) throws SQLException {
+        return cache.get(key(studentId, semester), k -> load(studentId, semester));
+    }
+
+    public static EntityCache<WeeklySchedule> getCache() { return cache; }
+
+    /**
+     * DROPS the schedule of one student and semester, after enroll or drop.
+     */
+    public static void invalidate(String studentId, String semester) {
+        cache.invalidate(key(studentId, semester));
+    }
+
+    /**
+     * DROPS every schedule now and once the surrounding unit of work completes,
+     * after edits of timetables, sections or courses that any student may be taking.
+     */
+    public static void invalidateAll() {
+        cache.clear();
+        UnitOfWork.afterCompletion(cache::clear);
+    }
+
+    private static String key(String studentId, String semester) {
+        return studentId + "@" + semester;
+    }
+
+    private static WeeklySchedule load(String studentId, String semester) throws SQLException {
+        List<Entry> entries = new ArrayList<>();
+        SchemaRegistry.ensure(sqliteConnector.ERP_DATABASE);
+        try (Connection c = sqliteConnector.borrow(sqliteConnector.ERP_DATABASE);
+             PreparedStatement s = c.prepareStatement(scheduleSql)) {
+            s.setString(1, studentId);
+            s.setString(2, semester);
+            ResultSet rs = s.executeQuery();
+            while (rs.next()) {
+                entries.add(new Entry(rs.getString("section_id"), rs.getString("section_name"),
+                        rs.getString("course_id"), rs.getString("course_name"),
+                        new Section.TimeSlot(rs.getString("day"), rs.getString("start_time"),
+                                rs.getInt("duration"), rs.getString("room"))));
+            }
+        }
+        return new WeeklySchedule(studentId, semester, entries);
+    }
+
+    public String getStudentId() { return studentId; }
+    public String getSemester() { return semester; }
+    public List<Entry> getEntries() { return entries; }
+
+    /**
+     * @return slots grouped by section id, sections without slots are absent.
+     */
+    public Map<String, List<Section.TimeSlot>> getSlotsBySection() {
+        Map<String, List<Section.TimeSlot>> slots = new LinkedHashMap<>();
+        for (Entry entry : entries) {
+            slots.computeIfAbsent(entry.sectionId, k -> new ArrayList<>()).add(entry.slot);
+        }
+        return slots;
+    }
+}
@@ -1,5 +1,8 @@
 import Application.Views.LoginView;
 import Domain.Concretes.*;
+import Domain.Database.SchemaRegistry;
+import Domain.Services.ChangeFeed;
+import Domain.Services.TranscriptSummary;
 import javax.swing.SwingUtilities;
 import javax.swing.UIManager;
 import java.sql.SQLException;
@@ -8,7 +11,22 @@ import java.util.List;
 
 public class Main {
     public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("--rebuild-transcripts")) {
+            try {
+                SchemaRegistry.bootstrap();
+                long start = System.nanoTime();
+                int rows = TranscriptSummary.rebuildAll();
+                System.out.printf("Rebuilt %d transcript summaries in %.2f s%n", rows, (System.nanoTime() - start) / 1e9);
+            } catch (SQLException e) {
+                e.printStackTrace();
+                System.exit(1);
+            }
+            return;
+        }
+
         try {
+            SchemaRegistry.bootstrap();
+            ChangeFeed.start();
             Admin admin = new Admin("ADMIN", "Administrator", "admin@erp.com", "0000000000", "123");
             admin.onPresistenceSave();
         } catch (SQLException e) {
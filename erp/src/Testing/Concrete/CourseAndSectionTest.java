@@ -1,8 +1,14 @@
 package Testing.Concrete;
 
+import Domain.Abstracts.UserEntity;
 import Domain.Concretes.Course;
 import Domain.Concretes.Section;
+import Domain.Concretes.Student;
 import org.junit.jupiter.api.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import static org.junit.jupiter.api.Assertions.*;
 
 public class CourseAndSectionTest {
@@ -57,4 +63,76 @@ public class CourseAndSectionTest {
         assertEquals(85.5f, loaded.getA());
         assertEquals(100f, loaded.getO());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testBulkLoadMatchesSingleLoad() throws Exception {
+        Section a = new Section("BULK_A", "Bulk A", "C1", "I1", "S1", 30, 2);
+        a.setLabs(12);
+        a.setB(72.5f);
+        a.getTimetable().add(new Section.TimeSlot("Monday", "09:00", 60, "R1"));
+        a.getTimetable().add(new Section.TimeSlot("Wednesday", "09:00", 90, "R2"));
+        a.onPresistenceSave();
+        new Section("BULK_B", "Bulk B", "C2", "I2", "S1", 10, 0).onPresistenceSave();
+
+        Map<String, Section> loaded = Section.loadAll(List.of("BULK_B", "MISSING", "BULK_A", "BULK_B"));
+        assertEquals(List.of("BULK_B", "BULK_A"), List.copyOf(loaded.keySet()));
+
+        Section bulk = loaded.get("BULK_A");
+        Section single = new Section("BULK_A");
+        assertEquals(single.getName(), bulk.getName());
+        assertEquals(single.getCourseId(), bulk.getCourseId());
+        assertEquals(single.getContains(), bulk.getContains());
+        assertEquals(single.getLabs(), bulk.getLabs());
+        assertEquals(single.getB(), bulk.getB());
+        assertEquals(single.getTimetable().size(), bulk.getTimetable().size());
+        assertEquals("R2", bulk.getTimetable().get(1).room);
+    }
+
+    @Test
+    void testEntityCacheInvalidatesOnSave() throws Exception {
+        Course c = new Course("CACHE101", "Caching", 4, 40);
+        c.onPresistenceSave();
+
+        long misses = Course.getCache().getMisses();
+        long hits = Course.getCache().getHits();
+        Course first = Course.find("CACHE101");
+        assertSame(first, Course.find("CACHE101"));
+        assertEquals(misses + 1, Course.getCache().getMisses());
+        assertEquals(hits + 1, Course.getCache().getHits());
+
+        c.setCredits(2);
+        c.onPresistenceSave();
+
+        Course reloaded = Course.find("CACHE101");
+        assertNotSame(first, reloaded);
+        assertEquals(2, reloaded.getCredits());
+    }
+
+    @Test
+    void testGradebookMatchesGradeRecords() throws Exception {
+        new Section("GB_SEC", "Gradebook", "C1", "I1", "S1", 10, 0).onPresistenceSave();
+        Student graded = new Student("GB_STU_1", "Graded Student", "2025-01-01", "g@x.edu", "1", "pw");
+        Student ungraded = new Student("GB_STU_2", "Ungraded Student", "2025-01-01", "u@x.edu", "2", "pw");
+        graded.onPresistenceSave();
+        ungraded.onPresistenceSave();
+        graded.enrollInCourse("GB_SEC");
+        ungraded.enrollInCourse("GB_SEC");
+
+        Section section = new Section("GB_SEC");
+        Section.StudentGradeProxy marks = section.getStudentGradeRecord("GB_STU_1", UserEntity.Permission.PERMISSION_ADMIN);
+        marks.setLabs(10); marks.setQuiz(5); marks.setMidExams(20); marks.setBonus(2);
+        marks.WriteToDatabase();
+
+        Map<String, Section.GradebookRow> rows = new HashMap<>();
+        Section.streamGradebook("GB_SEC", r -> rows.put(r.studentId, r));
+        assertEquals(2, rows.size());
+
+        Section.GradebookRow row = rows.get("GB_STU_1");
+        assertEquals("Graded Student", row.studentName);
+        assertEquals(10f, row.labs);
+        assertEquals(20f, row.midExams);
+        assertEquals(37f, row.getTotal());
+        assertEquals(0f, rows.get("GB_STU_2").getTotal());
+        assertEquals("Ungraded Student", rows.get("GB_STU_2").studentName);
+    }
+}
@@ -0,0 +1,139 @@
+package Testing.Concrete;
+
+import Domain.Concretes.Section;
+import Domain.Concretes.Student;
+import Domain.Database.sqliteConnector;
+import org.junit.jupiter.api.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EnrollmentStressTest {
+
+    private static final String SECTION_ID = "SEC_RUSH";
+    private static final int CAPACITY = 100;
+    private static final int STUDENTS = 400;
+    private static final int THREADS = 32;
+
+    @BeforeEach
+    void setUp() { TestDatabaseUtils.clearAllTables(); }
+
+    @AfterEach
+    void tearDown() { TestDatabaseUtils.clearAllTables(); }
+
+    @Test
+    @DisplayName("Concurrent enrollments never overbook a section")
+    void testConcurrentEnrollmentNeverOverbooks() throws Exception {
+        new Section(SECTION_ID, "Registration Rush", "RUSH1", "I1", "Fall2025", CAPACITY, 0).onPresistenceSave();
+
+        List<Student> students = new ArrayList<>();
+        for (int i = 0; i < STUDENTS; i++) {
+            students.add(new Student("RUSH_" + i, "Rush Student " + i, "2025-01-01"));
+        }
+
+        AtomicInteger enrolled = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        List<Throwable> unexpected = new CopyOnWriteArrayList<>();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+
+        for (Student s : students) {
+            pool.submit(() -> {
+                try {
+                    start.await();
+                    s.enrollInCourse(SECTION_ID);
+                    enrolled.incrementAndGet();
+                } catch (SQLException e) {
+                    if (e.getMessage() != null && e.getMessage().contains("capacity")) rejected.incrementAndGet();
+                    else unexpected.add(e);
+                } catch (Throwable t) {
+                    unexpected.add(t);
+                }
+            });
+        }
+
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(60, TimeUnit.SECONDS), "enrollments did not finish");
+
+        assertTrue(unexpected.isEmpty(), "unexpected failures: " + unexpected);
+        assertEquals(CAPACITY, enrolled.get());
+        assertEquals(STUDENTS - CAPACITY, rejected.get());
+        assertEquals(CAPACITY, new Section(SECTION_ID).getContains());
+
+        try (Connection c = sqliteConnector.borrow(sqliteConnector.ERP_DATABASE);
+             PreparedStatement s = c.prepareStatement("SELECT COUNT(*) FROM enrollments WHERE section_id = ?")) {
+            s.setString(1, SECTION_ID);
+            ResultSet rs = s.executeQuery();
+            assertTrue(rs.next());
+            assertEquals(CAPACITY, rs.getInt(1));
+        }
+    }
+
+    @Test
+    @DisplayName("Saving a stale section does not give back taken seats")
+    void testStaleSectionSaveKeepsSeatCount() throws Exception {
+        new Section(SECTION_ID, "Registration Rush", "RUSH1", "I1", "Fall2025", CAPACITY, 0).onPresistenceSave();
+        Section stale = new Section(SECTION_ID);
+
+        AtomicInteger enrolled = new AtomicInteger();
+        List<Throwable> unexpected = new CopyOnWriteArrayList<>();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+
+        for (int i = 0; i < CAPACITY / 2; i++) {
+            Student s = new Student("RUSH_" + i, "Rush Student " + i, "2025-01-01");
+            pool.submit(() -> {
+                try {
+                    start.await();
+                    s.enrollInCourse(SECTION_ID);
+                    enrolled.incrementAndGet();
+                } catch (Throwable t) {
+                    unexpected.add(t);
+                }
+            });
+        }
+        // an editor holding the section since before the rush keeps saving it (weights, slabs, ...)
+        pool.submit(() -> {
+            try {
+                start.await();
+                for (int i = 0; i < 20; i++) {
+                    stale.setName("Registration Rush " + i);
+                    stale.onPresistenceSave();
+                }
+            } catch (Throwable t) {
+                unexpected.add(t);
+            }
+        });
+
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(60, TimeUnit.SECONDS), "enrollments did not finish");
+
+        assertTrue(unexpected.isEmpty(), "unexpected failures: " + unexpected);
+        assertEquals(CAPACITY / 2, enrolled.get());
+        assertEquals(0, stale.getContains());
+        assertEquals(CAPACITY / 2, new Section(SECTION_ID).getContains());
+    }
+
+    @Test
+    @DisplayName("Enrolling twice does not take a second seat")
+    void testDuplicateEnrollmentRejected() throws Exception {
+        new Section(SECTION_ID, "Registration Rush", "RUSH1", "I1", "Fall2025", CAPACITY, 0).onPresistenceSave();
+        Student s = new Student("RUSH_DUP", "Rush Duplicate", "2025-01-01");
+        s.onPresistenceSave();
+
+        s.enrollInCourse(SECTION_ID);
+        SQLException e = assertThrows(SQLException.class, () -> s.enrollInCourse(SECTION_ID));
+        assertTrue(e.getMessage().contains("already enrolled"));
+        assertEquals(1, new Section(SECTION_ID).getContains());
+    }
+}
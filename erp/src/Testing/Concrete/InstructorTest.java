@@ -3,6 +3,8 @@ package Testing.Concrete;
 import Domain.Concretes.Instructor;
 import Domain.Concretes.Section;
 import org.junit.jupiter.api.*;
+
+import java.util.List;
 import static org.junit.jupiter.api.Assertions.*;
 
 public class InstructorTest {
@@ -51,4 +53,29 @@ public class InstructorTest {
         assertEquals(80.0f, stats.getHighest());
         assertEquals(70.0f, stats.getLowest());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testEnterMarksBatch() throws Exception {
+        new Section("SEC_BATCH", "Batch", "C1", "INS_B", "Sem1", 10, 0).onPresistenceSave();
+        Instructor ins = new Instructor("INS_B");
+        ins.assignToSection("SEC_BATCH");
+        ins.onPresistenceSave();
+
+        ins.enterMarks("SEC_BATCH", "S1", 1,1,1,1,1,1,1);
+        ins.enterMarksBatch("SEC_BATCH", List.of(
+                new Section.GradeRow("S1", 10,10,10,10,10,10,10),
+                new Section.GradeRow("S2", 5,5,5,5,5,5,5)
+        ));
+
+        Section section = new Section("SEC_BATCH");
+        assertEquals(10f, section.getStudentGradeRecord("S1", ins.permission).getLabs());
+        assertEquals(5f, section.getStudentGradeRecord("S2", ins.permission).getBonus());
+
+        Instructor.CourseStatsModel stats = ins.getSectionStats("SEC_BATCH");
+        assertEquals(70.0f, stats.getHighest());
+        assertEquals(35.0f, stats.getLowest());
+
+        assertThrows(SecurityException.class, () -> ins.enterMarksBatch("SEC_OTHER",
+                List.of(new Section.GradeRow("S1", 0,0,0,0,0,0,0))));
+    }
+}
@@ -2,8 +2,12 @@ package Testing.Concrete;
 
 import Domain.Concretes.Student;
 import Domain.Concretes.Section;
+import Domain.Database.sqliteConnector;
 import org.junit.jupiter.api.*;
 import static org.junit.jupiter.api.Assertions.*;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.List;
 
@@ -89,4 +93,49 @@ public class StudentTest {
         assertTrue(exception.getMessage().toLowerCase().contains("capacity"),
                 "Exception should mention capacity limits");
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Test Contact and Credentials Load Lazily")
+    void testLazyContactAndCredentials() throws Exception {
+        new Student("STU_LAZY", "Lazy Student", "2024-09-01", "old@erp.edu", "555-0102", "secret").onPresistenceSave();
+
+        Student lazy = new Student("STU_LAZY");
+        Student other = new Student("STU_LAZY");
+        other.setEmail("new@erp.edu");
+        other.onPresistenceSave();
+
+        // not read until first access, so the later write is visible
+        assertEquals("new@erp.edu", lazy.getEmail());
+        assertEquals("555-0102", lazy.getPhone());
+        assertTrue(lazy.authenticate("secret"));
+
+        // saving a user whose models were never accessed keeps contact and password
+        new Student("STU_LAZY").onPresistenceSave();
+        Student reloaded = new Student("STU_LAZY");
+        assertEquals("new@erp.edu", reloaded.getEmail());
+        assertTrue(reloaded.authenticate("secret"));
+
+        new Student("STU_LAZY").setPassword("changed");
+        assertTrue(new Student("STU_LAZY").authenticate("changed"));
+        assertFalse(new Student("STU_LAZY").authenticate("secret"));
+    }
+
+    @Test
+    @DisplayName("Test New Student Without Contact Still Gets A Contact Row")
+    void testContactRowWrittenForNewStudent() throws Exception {
+        new Student("STU_BARE", "Bare Student", "2024-09-01").onPresistenceSave();
+
+        Student loaded = new Student("STU_BARE");
+        assertNull(loaded.getEmail());
+        loaded.setPhone("555-0103");
+        loaded.onPresistenceSave();
+
+        assertEquals("555-0103", new Student("STU_BARE").getPhone());
+        try (Connection c = sqliteConnector.borrow(sqliteConnector.ERP_DATABASE);
+             PreparedStatement s = c.prepareStatement("SELECT COUNT(*) FROM contact WHERE id = 'STU_BARE'")) {
+            ResultSet rs = s.executeQuery();
+            assertTrue(rs.next());
+            assertEquals(1, rs.getInt(1));
+        }
+    }
+}
@@ -1,6 +1,13 @@
 package Testing.Concrete;
 
+import Domain.Concretes.Course;
+import Domain.Concretes.Instructor;
+import Domain.Concretes.Section;
 import Domain.Database.sqliteConnector;
+import Domain.Services.CourseCatalog;
+import Domain.Services.SearchIndex;
+import Domain.Services.SectionStatistics;
+import Domain.Services.WeeklySchedule;
 import java.sql.Connection;
 import java.sql.Statement;
 import java.sql.SQLException;
@@ -14,7 +21,8 @@ public class TestDatabaseUtils {
                 "admins", "instructors", "students",
                 "courses", "sections", "teaching",
                 "enrollments", "records", "timetable",
-                "gradings", "slabs", "contact_info", "security"
+                "gradings", "slabs", "contact_info", "security",
+                "transcripts"
         };
 
         try (Connection conn = sqliteConnector.connect(DB_URL);
@@ -31,5 +39,15 @@ public class TestDatabaseUtils {
         } catch (SQLException e) {
             e.printStackTrace();
         }
+
+        Course.getCache().clear();
+        Section.getCache().clear();
+        Instructor.getCache().clear();
+        SectionStatistics.getCache().clear();
+        WeeklySchedule.getCache().clear();
+        SearchIndex.STUDENTS.invalidate();
+        SearchIndex.INSTRUCTORS.invalidate();
+        SearchIndex.COURSES.invalidate();
+        CourseCatalog.invalidateAll();
     }
 }
\ No newline at end of file
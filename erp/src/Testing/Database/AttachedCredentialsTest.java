@@ -0,0 +1,69 @@
+package Testing.Database;
+
+import Domain.Concretes.Student;
+import Domain.Database.UnitOfWork;
+import Domain.Database.sqliteConnector;
+import Testing.Concrete.TestDatabaseUtils;
+import org.junit.jupiter.api.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AttachedCredentialsTest {
+
+    @BeforeEach
+    void setUp() {
+        sqliteConnector.setCredentialsAttached(true);
+        TestDatabaseUtils.clearAllTables();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TestDatabaseUtils.clearAllTables();
+        sqliteConnector.setCredentialsAttached(false);
+    }
+
+    private static String permissionOf(String id) throws SQLException {
+        String sql = "SELECT c.permission_level FROM students s JOIN " + sqliteConnector.credentialsTable() +
+                     " c ON c.id = s.id WHERE s.id = ?";
+        try (Connection c = sqliteConnector.borrow(sqliteConnector.ERP_DATABASE);
+             PreparedStatement s = c.prepareStatement(sql)) {
+            s.setString(1, id);
+            ResultSet rs = s.executeQuery();
+            return rs.next() ? rs.getString(1) : null;
+        }
+    }
+
+    @Test
+    void testUserWritesShareOneTransaction() throws Exception {
+        UnitOfWork.execute(() -> {
+            new Student("ATT_STU", "Attached Student", "2025-01-01", "a@x.edu", "1", "pw").onPresistenceSave();
+            // uncommitted credentials are visible to the join, both files are on one connection
+            assertEquals("PERMISSION_STUDENT", permissionOf("ATT_STU"));
+        });
+        assertEquals("PERMISSION_STUDENT", permissionOf("ATT_STU"));
+
+        assertThrows(SQLException.class, () -> UnitOfWork.execute(() -> {
+            new Student("ATT_STU").onPresistenceDelete();
+            throw new SQLException("abort");
+        }));
+        assertEquals("PERMISSION_STUDENT", permissionOf("ATT_STU"));
+
+        new Student("ATT_STU").onPresistenceDelete();
+        assertNull(permissionOf("ATT_STU"));
+        assertFalse(new Student("ATT_STU").authenticate("pw"));
+    }
+
+    @Test
+    void testCredentialsStayInTheirOwnFile() throws Exception {
+        new Student("ATT_OWN", "Own File", "2025-01-01", "o@x.edu", "1", "pw").onPresistenceSave();
+
+        sqliteConnector.setCredentialsAttached(false);
+        assertTrue(new Student("ATT_OWN").authenticate("pw"));
+        new Student("ATT_OWN").onPresistenceDelete();
+    }
+}
@@ -0,0 +1,137 @@
+package Testing.Database;
+
+import Domain.Database.SchemaRegistry;
+import Domain.Database.sqliteConnector;
+import org.junit.jupiter.api.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class QueryPlanTest {
+
+    @BeforeAll
+    static void setUp() throws Exception { SchemaRegistry.bootstrap(); }
+
+    private static List<String> plan(String sql, int params) throws Exception {
+        List<String> details = new ArrayList<>();
+        try (Connection c = sqliteConnector.borrow(sqliteConnector.ERP_DATABASE);
+             PreparedStatement s = c.prepareStatement("EXPLAIN QUERY PLAN " + sql)) {
+            for (int i = 1; i <= params; i++) s.setString(i, "X");
+            ResultSet rs = s.executeQuery();
+            while (rs.next()) details.add(rs.getString("detail"));
+        }
+        return details;
+    }
+
+    private static void assertIndexed(String sql, int params) throws Exception {
+        List<String> details = plan(sql, params);
+        assertFalse(details.isEmpty(), sql);
+        for (String d : details) {
+            assertFalse(d.startsWith("SCAN"), "full scan in plan of [" + sql + "]: " + details);
+        }
+        assertTrue(details.stream().anyMatch(d -> d.contains("USING INDEX") || d.contains("USING COVERING INDEX")),
+                "no index in plan of [" + sql + "]: " + details);
+    }
+
+    private static void assertSortedByIndex(String sql, int params) throws Exception {
+        List<String> details = plan(sql, params);
+        assertTrue(details.stream().noneMatch(d -> d.contains("TEMP B-TREE")), "temporary sort in plan of [" + sql + "]: " + details);
+        assertTrue(details.stream().anyMatch(d -> d.contains("INDEX")), "no index in plan of [" + sql + "]: " + details);
+    }
+
+    @Test
+    void testSectionsByInstructorUsesIndex() throws Exception {
+        assertIndexed("SELECT id FROM sections WHERE instructor_id IN (?, ?)", 2);
+    }
+
+    @Test
+    void testSectionsByCourseAndSemesterUsesIndex() throws Exception {
+        assertIndexed("SELECT id FROM sections WHERE course_id = ? AND semester = ?", 2);
+    }
+
+    @Test
+    void testEnrollmentsBySectionUsesIndex() throws Exception {
+        assertIndexed("SELECT student_id FROM enrollments WHERE section_id = ?", 1);
+    }
+
+    @Test
+    void testRecordsBySectionUsesIndex() throws Exception {
+        assertIndexed("SELECT labs, quiz, mid, end, assign, proj, bonus FROM records WHERE section_id = ?", 1);
+        assertIndexed("SELECT AVG(labs+quiz+mid+end+assign+proj+bonus) FROM records WHERE section_id = ?", 1);
+    }
+
+    @Test
+    void testGradebookJoinUsesIndexes() throws Exception {
+        assertIndexed("SELECT e.student_id, COALESCE(st.name, e.student_id) AS name, " +
+                "r.labs, r.quiz, r.mid, r.end, r.assign, r.proj, r.bonus " +
+                "FROM enrollments e " +
+                "LEFT JOIN students st ON st.id = e.student_id " +
+                "LEFT JOIN records r ON r.student_id = e.student_id AND r.section_id = e.section_id " +
+                "WHERE e.section_id = ?", 1);
+    }
+
+    @Test
+    void testTranscriptMaintenanceUsesIndexes() throws Exception {
+        assertIndexed("SELECT e.student_id, e.semester, c.credits, r.labs, sl.O FROM enrollments e " +
+                "JOIN sections s ON s.id = e.section_id " +
+                "LEFT JOIN courses c ON c.id = s.course_id " +
+                "LEFT JOIN slabs sl ON sl.id = e.section_id " +
+                "LEFT JOIN records r ON r.student_id = e.student_id AND r.section_id = e.section_id " +
+                "WHERE e.student_id = ?", 1);
+        assertIndexed("SELECT semester, credits, grade_points, stale FROM transcripts " +
+                "WHERE student_id = ? ORDER BY semester", 1);
+        assertIndexed("SELECT student_id, semester FROM enrollments WHERE section_id = ? AND student_id = ?", 2);
+    }
+
+    @Test
+    void testClashChecksUseIndexes() throws Exception {
+        assertIndexed("SELECT t.section_id, t.day, t.start_time, t.duration " +
+                "FROM enrollments e JOIN timetable t ON t.section_id = e.section_id " +
+                "WHERE e.student_id = ? AND e.semester = ?", 2);
+        assertIndexed("SELECT DISTINCT t.section_id, t.day, t.start_time, t.duration FROM enrollments e " +
+                "JOIN enrollments o ON o.student_id = e.student_id AND o.semester = e.semester " +
+                "JOIN timetable t ON t.section_id = o.section_id " +
+                "WHERE e.section_id = ? AND o.section_id <> e.section_id", 1);
+        assertIndexed("SELECT t.section_id, t.day, t.start_time, t.duration, t.room " +
+                "FROM timetable t JOIN sections s ON s.id = t.section_id " +
+                "WHERE t.room = ? AND s.semester = ? AND t.section_id <> ?", 2);
+    }
+
+    @Test
+    void testWeeklyScheduleUsesIndexes() throws Exception {
+        assertIndexed("SELECT t.section_id, s.name, c.title, t.day FROM enrollments e " +
+                "JOIN timetable t ON t.section_id = e.section_id " +
+                "LEFT JOIN sections s ON s.id = e.section_id " +
+                "LEFT JOIN courses c ON c.id = s.course_id " +
+                "WHERE e.student_id = ? AND e.semester = ? ORDER BY e.section_id", 2);
+    }
+
+    @Test
+    void testCourseCatalogUsesIndexes() throws Exception {
+        assertIndexed("SELECT s.id, i.name, ct.email, g.labs, sl.O FROM sections s " +
+                "LEFT JOIN instructors i ON i.id = s.instructor_id " +
+                "LEFT JOIN contact ct ON ct.id = s.instructor_id " +
+                "LEFT JOIN gradings g ON g.id = s.id " +
+                "LEFT JOIN slabs sl ON sl.id = s.id " +
+                "WHERE s.semester = ? ORDER BY s.id", 1);
+        assertSortedByIndex("SELECT s.id FROM sections s WHERE s.semester = ? ORDER BY s.id", 1);
+    }
+
+    @Test
+    void testPagedListsSortByIndex() throws Exception {
+        assertSortedByIndex("SELECT s.id, s.name, ct.email FROM students s LEFT JOIN contact ct ON ct.id = s.id " +
+                "WHERE ((s.name, s.id) > (?, ?)) ORDER BY s.name ASC, s.id ASC LIMIT 100", 2);
+        assertSortedByIndex("SELECT s.id, s.enrollment_date FROM students s LEFT JOIN contact ct ON ct.id = s.id " +
+                "ORDER BY s.enrollment_date DESC, s.id DESC LIMIT 1 OFFSET 500", 0);
+        assertSortedByIndex("SELECT i.id, i.name FROM instructors i LEFT JOIN contact ct ON ct.id = i.id " +
+                "WHERE ((i.name, i.id) < (?, ?) OR i.name IS NULL) ORDER BY i.name DESC, i.id DESC LIMIT 100", 2);
+        assertSortedByIndex("SELECT id, title FROM courses ORDER BY title ASC, id ASC LIMIT 100", 0);
+        assertSortedByIndex("SELECT id, semester FROM sections WHERE ((semester, id) > (?, ?)) " +
+                "ORDER BY semester ASC, id ASC LIMIT 100", 2);
+    }
+}
@@ -0,0 +1,37 @@
+package Testing.Database;
+
+import Domain.Database.SchemaRegistry;
+import Domain.Database.sqliteConnector;
+import org.junit.jupiter.api.*;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SchemaRegistryTest {
+
+    @Test
+    void testBootstrapRecordsLatestVersion() throws Exception {
+        SchemaRegistry.bootstrap();
+
+        for (String url : List.of(sqliteConnector.ERP_DATABASE, sqliteConnector.CREDENTIALS_DATABASE)) {
+            List<SchemaRegistry.Migration> migrations = SchemaRegistry.getMigrations(url);
+            int latest = migrations.get(migrations.size() - 1).getVersion();
+            assertEquals(latest, SchemaRegistry.currentVersion(url));
+        }
+    }
+
+    @Test
+    void testEnsureIsIdempotent() throws Exception {
+        SchemaRegistry.ensure(sqliteConnector.ERP_DATABASE);
+        SchemaRegistry.ensure(sqliteConnector.ERP_DATABASE);
+
+        try (Connection c = sqliteConnector.borrow(sqliteConnector.ERP_DATABASE);
+             ResultSet rs = c.createStatement().executeQuery("SELECT COUNT(*) FROM schema_version")) {
+            assertTrue(rs.next());
+            assertEquals(SchemaRegistry.getMigrations(sqliteConnector.ERP_DATABASE).size(), rs.getInt(1));
+        }
+    }
+}
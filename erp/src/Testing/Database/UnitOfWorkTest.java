@@ -0,0 +1,45 @@
+package Testing.Database;
+
+import Domain.Concretes.Section;
+import Domain.Concretes.Student;
+import Domain.Database.UnitOfWork;
+import Testing.Concrete.TestDatabaseUtils;
+import org.junit.jupiter.api.*;
+
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UnitOfWorkTest {
+
+    @BeforeEach
+    void setUp() { TestDatabaseUtils.clearAllTables(); }
+
+    @AfterEach
+    void tearDown() { TestDatabaseUtils.clearAllTables(); }
+
+    @Test
+    void testFailedUnitRollsBackEveryModel() throws Exception {
+        assertThrows(SQLException.class, () -> UnitOfWork.execute(() -> {
+            new Section("UOW_SEC", "UoW Section", "C1", "I1", "S1", 10, 0).onPresistenceSave();
+            new Student("UOW_STU", "UoW Student", "2025-01-01", "u@x.edu", "1", "pw").onPresistenceSave();
+            throw new SQLException("abort");
+        }));
+
+        assertFalse(UnitOfWork.isActive());
+        assertNull(new Section("UOW_SEC").getSemester());
+        assertFalse(new Student("UOW_STU").authenticate("pw"));
+    }
+
+    @Test
+    void testNestedUnitsCommitTogether() throws Exception {
+        UnitOfWork.execute(() -> {
+            new Section("UOW_SEC", "UoW Section", "C1", "I1", "S1", 10, 0).onPresistenceSave();
+            UnitOfWork.execute(() ->
+                    new Student("UOW_STU", "UoW Student", "2025-01-01", "u@x.edu", "1", "pw").onPresistenceSave());
+        });
+
+        assertEquals("S1", new Section("UOW_SEC").getSemester());
+        assertTrue(new Student("UOW_STU").authenticate("pw"));
+    }
+}
@@ -0,0 +1,179 @@
+package Testing.Database;
+
+import Domain.Concretes.Course;
+import Domain.Database.UnitOfWork;
+import Domain.Database.WriteQueue;
+import Domain.Database.sqliteConnector;
+import Testing.Concrete.TestDatabaseUtils;
+import org.junit.jupiter.api.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WriteQueueTest {
+
+    @BeforeEach
+    void setUp() { TestDatabaseUtils.clearAllTables(); }
+
+    @AfterEach
+    void tearDown() { TestDatabaseUtils.clearAllTables(); }
+
+    private static boolean courseExists(String id) throws SQLException {
+        try (Connection c = sqliteConnector.borrow(sqliteConnector.ERP_DATABASE);
+             PreparedStatement s = c.prepareStatement("SELECT 1 FROM courses WHERE id = ?")) {
+            s.setString(1, id);
+            ResultSet rs = s.executeQuery();
+            return rs.next();
+        }
+    }
+
+    @Test
+    void testQueuedUnitsCommitAsOneGroupAndFailAlone() throws Exception {
+        // hold the writer so the units below queue up behind it
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> blocker = WriteQueue.submit(() -> {
+            started.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        });
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+
+        long batches = WriteQueue.getBatches();
+        long writes = WriteQueue.getWrites();
+        List<CompletableFuture<String>> futures = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            String id = "WQ_C" + i;
+            boolean fails = i == 3;
+            futures.add(WriteQueue.submit(() -> {
+                new Course(id, "Queued", 4, 10).onPresistenceSave();
+                if (fails) throw new SQLException("abort " + id);
+                return id;
+            }));
+        }
+        release.countDown();
+        blocker.get(10, TimeUnit.SECONDS);
+
+        for (int i = 0; i < 10; i++) {
+            if (i == 3) {
+                ExecutionException e = assertThrows(ExecutionException.class, futures.get(3)::get);
+                assertEquals("abort WQ_C3", e.getCause().getMessage());
+                assertFalse(courseExists("WQ_C3"));
+            } else {
+                assertEquals("WQ_C" + i, futures.get(i).get(10, TimeUnit.SECONDS));
+                assertTrue(courseExists("WQ_C" + i));
+            }
+        }
+        // one group for the blocker, one for the ten queued units
+        assertEquals(batches + 2, WriteQueue.getBatches());
+        assertEquals(writes + 10, WriteQueue.getWrites());
+    }
+
+    @Test
+    void testNestedUnitsRunInPlaceOnTheWriter() throws Exception {
+        String id = UnitOfWork.call(() -> {
+            assertTrue(WriteQueue.isWriterThread());
+            new Course("WQ_OUTER", "Outer", 4, 10).onPresistenceSave();
+            return UnitOfWork.call(() -> {
+                new Course("WQ_INNER", "Inner", 4, 10).onPresistenceSave();
+                return "WQ_INNER";
+            });
+        });
+
+        assertEquals("WQ_INNER", id);
+        assertTrue(courseExists("WQ_OUTER"));
+        assertTrue(courseExists("WQ_INNER"));
+        assertFalse(WriteQueue.isWriterThread());
+    }
+
+    @Test
+    void testUnitsStartedAfterCommitRunAsTheirOwnGroup() throws Exception {
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        AtomicBoolean ranEarly = new AtomicBoolean();
+        UnitOfWork.execute(() -> {
+            new Course("WQ_FIRST", "First", 4, 10).onPresistenceSave();
+            UnitOfWork.afterCommit(() -> {
+                try {
+                    UnitOfWork.execute(() -> {
+                        assertTrue(UnitOfWork.isActive());
+                        new Course("WQ_HOOK", "Hook", 4, 10).onPresistenceSave();
+                        UnitOfWork.afterCommit(() -> ranEarly.set(true));
+                        throw new SQLException("abort hook");
+                    });
+                } catch (Throwable t) {
+                    failure.set(t);
+                }
+            });
+        });
+
+        assertEquals("abort hook", failure.get().getMessage());
+        assertFalse(ranEarly.get());
+        assertTrue(courseExists("WQ_FIRST"));
+        assertFalse(courseExists("WQ_HOOK"));
+    }
+
+    @Test
+    void testInterruptedCallerStillSeesItsCommit() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> blocker = WriteQueue.submit(() -> {
+            started.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        });
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+
+        AtomicReference<Object> outcome = new AtomicReference<>();
+        AtomicBoolean stillInterrupted = new AtomicBoolean();
+        Thread caller = new Thread(() -> {
+            try {
+                outcome.set(UnitOfWork.call(() -> {
+                    new Course("WQ_INTR", "Interrupted", 4, 10).onPresistenceSave();
+                    return "WQ_INTR";
+                }));
+            } catch (Throwable t) {
+                outcome.set(t);
+            }
+            stillInterrupted.set(Thread.currentThread().isInterrupted());
+        });
+        caller.start();
+        Thread.sleep(100);
+        caller.interrupt(); // a cancelled background load
+        release.countDown();
+        caller.join(10000);
+        blocker.get(10, TimeUnit.SECONDS);
+
+        assertEquals("WQ_INTR", outcome.get());
+        assertTrue(stillInterrupted.get());
+        assertTrue(courseExists("WQ_INTR"));
+    }
+
+    @Test
+    void testBusyErrorsAreRecognised() {
+        assertTrue(WriteQueue.isBusy(new SQLException("busy", null, 5)));
+        assertTrue(WriteQueue.isBusy(new RuntimeException(new SQLException("busy snapshot", null, 517))));
+        assertTrue(WriteQueue.isBusy(new SQLException("locked", null, 6)));
+        assertFalse(WriteQueue.isBusy(new SQLException("constraint", null, 19)));
+        assertFalse(WriteQueue.isBusy(new IllegalStateException("broken")));
+    }
+}
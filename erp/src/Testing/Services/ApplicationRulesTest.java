@@ -0,0 +1,73 @@
+package Testing.Services;
+
+import Domain.Database.sqliteConnector;
+import Domain.Rules.ApplicationRules;
+import Domain.Services.ChangeFeed;
+import org.junit.jupiter.api.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ApplicationRulesTest {
+
+    private static void clearSettings() throws Exception {
+        try (Connection c = sqliteConnector.borrow(sqliteConnector.ERP_DATABASE); Statement s = c.createStatement()) {
+            s.executeUpdate("DELETE FROM settings");
+        }
+        ApplicationRules.invalidate();
+    }
+
+    @BeforeEach
+    void setUp() throws Exception { clearSettings(); }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        ChangeFeed.stop();
+        clearSettings();
+    }
+
+    @Test
+    void testSnapshotIsKeptUntilARuleIsWritten() {
+        ApplicationRules.Settings defaults = ApplicationRules.getSettings();
+        assertSame(defaults, ApplicationRules.getSettings());
+        assertEquals(ApplicationRules.DEFAULT_SEMESTER, defaults.currentSemester);
+        assertFalse(defaults.maintenanceMode);
+        assertNull(defaults.addDropDeadlineDate);
+        assertFalse(ApplicationRules.isPastAddDropDeadline());
+
+        long version = ApplicationRules.getVersion();
+        ApplicationRules.setAddDropDeadline("2000-01-31");
+        assertTrue(ApplicationRules.getVersion() > version);
+
+        ApplicationRules.Settings updated = ApplicationRules.getSettings();
+        assertNotSame(defaults, updated);
+        assertEquals(LocalDate.of(2000, 1, 31), updated.addDropDeadlineDate);
+        assertTrue(ApplicationRules.isPastAddDropDeadline());
+        assertFalse(updated.isPastAddDropDeadline(LocalDate.of(2000, 1, 31)));
+
+        ApplicationRules.setAddDropDeadline("not a date");
+        assertEquals("not a date", ApplicationRules.getAddDropDeadline());
+        assertNull(ApplicationRules.getAddDropDeadlineDate());
+    }
+
+    @Test
+    void testWritesOfOtherProcessesArriveThroughTheFeed() throws Exception {
+        ChangeFeed.start();
+        ApplicationRules.Settings before = ApplicationRules.getSettings();
+        try (Connection c = DriverManager.getConnection(sqliteConnector.ERP_DATABASE); Statement s = c.createStatement()) {
+            s.execute("PRAGMA busy_timeout = 5000");
+            s.executeUpdate("INSERT INTO settings(key, value) VALUES('current_semester', 'SPRING_2030')");
+            s.executeUpdate("INSERT INTO settings(key, value) VALUES('maintenance_mode', 'true')");
+        }
+
+        // nothing is read again until the feed reports the change
+        assertSame(before, ApplicationRules.getSettings());
+        ChangeFeed.poll();
+        assertEquals("SPRING_2030", ApplicationRules.getCurrentSemester());
+        assertTrue(ApplicationRules.isMaintenanceMode());
+    }
+}
@@ -0,0 +1,63 @@
+package Testing.Services;
+
+import Domain.Services.AsyncDataService;
+import org.junit.jupiter.api.*;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AsyncDataServiceTest {
+
+    @Test
+    void testQueryRunsOffCallerThread() throws Exception {
+        Thread caller = Thread.currentThread();
+        Thread worker = AsyncDataService.supply(Thread::currentThread).get(5, TimeUnit.SECONDS);
+
+        assertNotSame(caller, worker);
+        assertTrue(worker.getName().startsWith("erp-data-"));
+    }
+
+    @Test
+    void testChannelDeliversOnlyLatestRequest() throws Exception {
+        AsyncDataService.Channel channel = new AsyncDataService.Channel();
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch delivered = new CountDownLatch(1);
+        List<String> results = new CopyOnWriteArrayList<>();
+
+        channel.submit(() -> {
+            release.await();
+            return "stale";
+        }, Runnable::run, results::add, Throwable::printStackTrace);
+        channel.submit(() -> "fresh", Runnable::run, r -> {
+            results.add(r);
+            delivered.countDown();
+        }, Throwable::printStackTrace);
+        release.countDown();
+
+        assertTrue(delivered.await(5, TimeUnit.SECONDS));
+        Thread.sleep(100);
+        assertEquals(List.of("fresh"), results);
+        assertFalse(channel.isBusy());
+    }
+
+    @Test
+    void testCancelledFutureDoesNotComplete() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CompletableFuture<String> future = AsyncDataService.supply(() -> {
+            started.countDown();
+            Thread.sleep(10_000);
+            return "late";
+        });
+
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        future.cancel(true);
+
+        assertTrue(future.isCancelled());
+        assertThrows(Exception.class, future::join);
+    }
+}
@@ -0,0 +1,46 @@
+package Testing.Services;
+
+import Domain.Abstracts.UserEntity;
+import Domain.Concretes.Student;
+import Domain.Services.AuthenticationService;
+import Testing.Concrete.TestDatabaseUtils;
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AuthenticationServiceTest {
+
+    @BeforeEach
+    void setUp() throws Exception {
+        TestDatabaseUtils.clearAllTables();
+        new Student("STU_AUTH", "Auth Student", "2024-09-01", "auth@erp.edu", "555-0103", "secret").onPresistenceSave();
+    }
+
+    @AfterEach
+    void tearDown() { TestDatabaseUtils.clearAllTables(); }
+
+    @Test
+    void testLoginMaterializesUserOnSuccess() throws Exception {
+        UserEntity user = AuthenticationService.login("STU_AUTH", "secret", UserEntity.Permission.PERMISSION_STUDENT);
+        assertInstanceOf(Student.class, user);
+        assertEquals("Auth Student", user.getName());
+        assertEquals("auth@erp.edu", user.getEmail());
+    }
+
+    @Test
+    void testRejectedAttempts() throws Exception {
+        assertNull(AuthenticationService.login("STU_AUTH", "wrong", UserEntity.Permission.PERMISSION_STUDENT));
+        assertNull(AuthenticationService.login("STU_AUTH", "secret", UserEntity.Permission.PERMISSION_INSTRUCTOR));
+        assertNull(AuthenticationService.login("STU_NOBODY", "secret", UserEntity.Permission.PERMISSION_STUDENT));
+        assertNull(AuthenticationService.login("", "secret", UserEntity.Permission.PERMISSION_STUDENT));
+        assertNull(AuthenticationService.login(null, "secret", UserEntity.Permission.PERMISSION_STUDENT));
+    }
+
+    @Test
+    void testMissingUserRowIsRejected() throws Exception {
+        // credentials outlive the erp rows here, the user itself is gone
+        TestDatabaseUtils.clearAllTables();
+        assertTrue(AuthenticationService.verify("STU_AUTH", "secret", UserEntity.Permission.PERMISSION_STUDENT));
+        assertNull(AuthenticationService.login("STU_AUTH", "secret", UserEntity.Permission.PERMISSION_STUDENT));
+    }
+}
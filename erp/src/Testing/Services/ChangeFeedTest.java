@@ -0,0 +1,149 @@
+package Testing.Services;
+
+import Domain.Concretes.Course;
+import Domain.Concretes.Section;
+import Domain.Concretes.Student;
+import Domain.Database.ChangeLog;
+import Domain.Database.WriteQueue;
+import Domain.Database.sqliteConnector;
+import Domain.Events.CachesCleared;
+import Domain.Events.DomainEvent;
+import Domain.Events.DomainEvents;
+import Domain.Events.EnrollmentChanged;
+import Domain.Services.ChangeFeed;
+import Domain.Services.CourseCatalog;
+import Domain.Services.SearchIndex;
+import Testing.Concrete.TestDatabaseUtils;
+import org.junit.jupiter.api.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ChangeFeedTest {
+
+    private final List<DomainEvent> seen = new CopyOnWriteArrayList<>();
+    private DomainEvents.Subscription subscription;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        TestDatabaseUtils.clearAllTables();
+        new Course("CF_C", "Feeds", 4, 10).onPresistenceSave();
+        new Section("CF_S", "Section", "CF_C", "NOBODY", "Sem1", 5, 0).onPresistenceSave();
+        new Student("CF_OWN", "Own Student", "2025-01-01").onPresistenceSave();
+        subscription = DomainEvents.subscribe(DomainEvent.class, seen::add);
+        ChangeFeed.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        ChangeFeed.stop();
+        subscription.cancel();
+        TestDatabaseUtils.clearAllTables();
+    }
+
+    // a connection outside the pool, standing in for another instance of the application
+    private static Connection otherProcess() throws Exception {
+        Connection c = DriverManager.getConnection(sqliteConnector.ERP_DATABASE);
+        try (Statement s = c.createStatement()) {
+            s.execute("PRAGMA busy_timeout = 5000");
+        }
+        return c;
+    }
+
+    @Test
+    void testExternalChangesInvalidateOnlyTheirEntities() throws Exception {
+        SearchIndex.STUDENTS.ensureLoaded();
+        CourseCatalog before = CourseCatalog.of("Sem1");
+
+        // writes of this process are announced in process and skipped by the feed
+        new Student("CF_OWN").enrollInCourse("CF_S");
+        ChangeFeed.poll();
+        assertEquals(1, seen.stream().filter(e -> e instanceof EnrollmentChanged).count());
+        seen.clear();
+
+        try (Connection c = otherProcess(); Statement s = c.createStatement()) {
+            s.executeUpdate("INSERT INTO students(id, name, enrollment_date) VALUES('CF_EXT', 'External Person', '2025-01-01')");
+            s.executeUpdate("INSERT INTO enrollments(student_id, section_id, semester) VALUES('CF_EXT', 'CF_S', 'Sem1')");
+            s.executeUpdate("UPDATE sections SET contains = contains + 1 WHERE id = 'CF_S'");
+        }
+        ChangeFeed.poll();
+        assertEquals(0, ChangeFeed.poll());
+
+        assertEquals(List.of("CF_EXT"), SearchIndex.STUDENTS.search("external", 10));
+        assertEquals(2, CourseCatalog.of("Sem1").getSection("CF_S").contains);
+        assertNotSame(before, CourseCatalog.of("Sem1"));
+
+        EnrollmentChanged external = (EnrollmentChanged) seen.stream()
+                .filter(e -> e instanceof EnrollmentChanged).findFirst().orElseThrow();
+        assertEquals("CF_EXT", external.studentId);
+        assertTrue(external.enrolled);
+        assertEquals("Sem1", external.semester);
+    }
+
+    @Test
+    void testSequenceOfAnUndoneUnitIsNotTakenForOwn() throws Exception {
+        SearchIndex.STUDENTS.ensureLoaded();
+        // hold the writer so a unit that writes and a failing one after it commit as one group
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> blocker = WriteQueue.submit(() -> {
+            started.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        });
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        CompletableFuture<Void> kept = WriteQueue.submit(() -> {
+            new Course("CF_KEPT", "Kept", 4, 10).onPresistenceSave();
+            return null;
+        });
+        CompletableFuture<Void> undone = WriteQueue.submit(() -> {
+            new Student("CF_GHOST", "Ghost Student", "2025-01-01").onPresistenceSave();
+            throw new SQLException("abort");
+        });
+        release.countDown();
+        blocker.get(10, TimeUnit.SECONDS);
+        kept.get(10, TimeUnit.SECONDS);
+        assertThrows(ExecutionException.class, undone::get);
+
+        // the undone sequence numbers are handed out again, here to another process
+        try (Connection c = otherProcess(); Statement s = c.createStatement()) {
+            s.executeUpdate("INSERT INTO students(id, name, enrollment_date) VALUES('CF_EXT', 'External Person', '2025-01-01')");
+        }
+        ChangeFeed.poll();
+        assertEquals(List.of("CF_EXT"), SearchIndex.STUDENTS.search("external", 10));
+    }
+
+    @Test
+    void testTooManyChangesClearEveryCache() throws Exception {
+        SearchIndex.STUDENTS.ensureLoaded();
+        try (Connection c = otherProcess();
+             PreparedStatement s = c.prepareStatement("INSERT INTO students(id, name, enrollment_date) VALUES(?, 'Bulk', '2025-01-01')")) {
+            c.setAutoCommit(false);
+            for (int i = 0; i <= ChangeLog.MAX_CHANGES; i++) {
+                s.setString(1, "CF_BULK_" + i);
+                s.executeUpdate();
+            }
+            c.commit();
+        }
+        ChangeFeed.poll();
+
+        assertFalse(SearchIndex.STUDENTS.isLoaded());
+        assertTrue(seen.stream().anyMatch(e -> e instanceof CachesCleared));
+        assertEquals(ChangeLog.MAX_CHANGES + 1, SearchIndex.STUDENTS.search("bulk", 2 * ChangeLog.MAX_CHANGES).size());
+    }
+}
@@ -0,0 +1,75 @@
+package Testing.Services;
+
+import Domain.Concretes.Course;
+import Domain.Concretes.Instructor;
+import Domain.Concretes.Section;
+import Domain.Concretes.Student;
+import Domain.Services.CourseCatalog;
+import Testing.Concrete.TestDatabaseUtils;
+import org.junit.jupiter.api.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CourseCatalogTest {
+
+    @BeforeEach
+    void setUp() throws Exception {
+        TestDatabaseUtils.clearAllTables();
+        new Course("CC_A", "Algorithms", 4, 10).onPresistenceSave();
+        new Course("CC_B", "Biology", 2, 10).onPresistenceSave();
+        new Instructor("CC_INS", "Catalog Teacher", "teach@uni.edu", "1", "pw").onPresistenceSave();
+        new Section("CC_A2", "A Two", "CC_A", "CC_INS", "Sem1", 2, 0).onPresistenceSave();
+        new Section("CC_A1", "A One", "CC_A", "CC_INS", "Sem1", 1, 0).onPresistenceSave();
+        new Section("CC_B1", "B One", "CC_B", "NOBODY", "Sem2", 5, 0).onPresistenceSave();
+        new Student("CC_STU", "Catalog Student", "2025-01-01").onPresistenceSave();
+    }
+
+    @AfterEach
+    void tearDown() { TestDatabaseUtils.clearAllTables(); }
+
+    @Test
+    void testSnapshotGroupsSectionsWithInstructors() throws Exception {
+        CourseCatalog catalog = CourseCatalog.of("Sem1");
+        assertSame(catalog, CourseCatalog.of("Sem1"));
+
+        assertEquals(2, catalog.getCourses().size());
+        CourseCatalog.CourseEntry algorithms = catalog.getCourses().get(0);
+        assertEquals("CC_A", algorithms.id);
+        assertEquals(4, algorithms.credits);
+        assertEquals("CC_A1", algorithms.sections.get(0).id);
+        assertEquals("CC_A2", algorithms.sections.get(1).id);
+        assertEquals("Catalog Teacher", algorithms.sections.get(0).instructorName);
+        assertEquals("teach@uni.edu", algorithms.sections.get(0).instructorEmail);
+        assertTrue(catalog.getCourses().get(1).sections.isEmpty());
+
+        assertNull(CourseCatalog.of("Sem2").getSection("CC_B1").instructorName);
+        assertEquals(1, catalog.search("algo").size());
+        assertThrows(UnsupportedOperationException.class, () -> algorithms.sections.clear());
+    }
+
+    @Test
+    void testSeatAndSectionChangesSwapInNewSnapshot() throws Exception {
+        CourseCatalog before = CourseCatalog.of("Sem1");
+        CourseCatalog other = CourseCatalog.of("Sem2");
+
+        new Student("CC_STU").enrollInCourse("CC_A1");
+        CourseCatalog after = CourseCatalog.of("Sem1");
+        assertNotSame(before, after);
+        assertEquals(0, before.getSection("CC_A1").contains);
+        assertEquals(1, after.getSection("CC_A1").contains);
+        assertTrue(after.getSection("CC_A1").isFull());
+        assertSame(before.getSection("CC_A2"), after.getSection("CC_A2"));
+        assertSame(other, CourseCatalog.of("Sem2"));
+
+        // moving a section to another semester moves it between snapshots
+        Section moved = new Section("CC_A2");
+        moved.setSemester("Sem2");
+        moved.onPresistenceSave();
+        assertNull(CourseCatalog.of("Sem1").getSection("CC_A2"));
+        assertEquals("CC_A", CourseCatalog.of("Sem2").getSection("CC_A2").courseId);
+
+        new Course("CC_B", "Botany", 2, 10).onPresistenceSave();
+        assertEquals(0, CourseCatalog.getSnapshotCount());
+        assertEquals("Botany", CourseCatalog.of("Sem2").getCourses().get(1).title);
+    }
+}
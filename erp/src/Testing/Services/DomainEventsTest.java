@@ -0,0 +1,91 @@
+package Testing.Services;
+
+import Domain.Concretes.Course;
+import Domain.Concretes.Section;
+import Domain.Concretes.Student;
+import Domain.Database.UnitOfWork;
+import Domain.Events.DomainEvent;
+import Domain.Events.DomainEvents;
+import Domain.Events.EnrollmentChanged;
+import Domain.Events.GradeWritten;
+import Domain.Events.SectionUpdated;
+import Testing.Concrete.TestDatabaseUtils;
+import org.junit.jupiter.api.*;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DomainEventsTest {
+
+    private final List<DomainEvents.Subscription> subscriptions = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        TestDatabaseUtils.clearAllTables();
+        new Course("DE_C", "Events", 4, 10).onPresistenceSave();
+        new Section("DE_S", "Section", "DE_C", "NOBODY", "Sem1", 5, 0).onPresistenceSave();
+        new Student("DE_STU", "Event Student", "2025-01-01").onPresistenceSave();
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (DomainEvents.Subscription subscription : subscriptions) subscription.cancel();
+        TestDatabaseUtils.clearAllTables();
+    }
+
+    @Test
+    void testEventsDeliveredOnlyAfterCommit() throws Exception {
+        List<EnrollmentChanged> seen = new ArrayList<>();
+        subscriptions.add(DomainEvents.subscribe(EnrollmentChanged.class, seen::add));
+
+        UnitOfWork.execute(() -> {
+            new Student("DE_STU").enrollInCourse("DE_S");
+            assertTrue(seen.isEmpty());
+        });
+        assertEquals(1, seen.size());
+        EnrollmentChanged enrolled = seen.get(0);
+        assertEquals("DE_STU", enrolled.studentId);
+        assertEquals("Sem1", enrolled.semester);
+        assertTrue(enrolled.enrolled);
+        assertEquals(1, enrolled.contains);
+        assertEquals(1, enrolled.getDelta());
+
+        // a rolled back drop is never announced
+        assertThrows(SQLException.class, () -> UnitOfWork.execute(() -> {
+            new Student("DE_STU").dropFromCourse("DE_S");
+            throw new SQLException("rollback");
+        }));
+        assertEquals(1, seen.size());
+
+        new Student("DE_STU").dropFromCourse("DE_S");
+        assertEquals(2, seen.size());
+        assertFalse(seen.get(1).enrolled);
+        assertEquals(0, seen.get(1).contains);
+    }
+
+    @Test
+    void testTypedDeliveryCancelAndFailingSubscriber() throws Exception {
+        List<DomainEvent> all = new ArrayList<>();
+        List<SectionUpdated> updates = new ArrayList<>();
+        subscriptions.add(DomainEvents.subscribe(DomainEvent.class, event -> { throw new IllegalStateException("broken"); }));
+        subscriptions.add(DomainEvents.subscribe(DomainEvent.class, all::add));
+        DomainEvents.Subscription updated = DomainEvents.subscribe(SectionUpdated.class, updates::add);
+        subscriptions.add(updated);
+
+        DomainEvents.publish(new GradeWritten("DE_S", "DE_STU"));
+        DomainEvents.publish(new SectionUpdated("DE_S", false));
+        assertEquals(2, all.size());
+        assertEquals(1, updates.size());
+        assertEquals("DE_S", updates.get(0).sectionId);
+
+        int count = DomainEvents.getSubscriberCount(SectionUpdated.class);
+        updated.cancel();
+        assertEquals(count - 1, DomainEvents.getSubscriberCount(SectionUpdated.class));
+        DomainEvents.publish(new SectionUpdated("DE_S", true));
+        assertEquals(1, updates.size());
+        assertEquals(3, all.size());
+    }
+}
@@ -0,0 +1,80 @@
+package Testing.Services;
+
+import Domain.Concretes.Student;
+import Domain.Database.UnitOfWork;
+import Domain.Services.KeysetPager;
+import Testing.Concrete.TestDatabaseUtils;
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class KeysetPagerTest {
+    private static final int STUDENTS = 120;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        TestDatabaseUtils.clearAllTables();
+        UnitOfWork.execute(() -> {
+            for (int i = 0; i < STUDENTS; i++) {
+                // few distinct names and some missing dates, so ties and nulls cross page borders
+                String date = i % 7 == 0 ? null : String.format("2025-01-%02d", 1 + i % 5);
+                new Student(String.format("KP_%03d", (i * 37) % STUDENTS), "Student " + (i % 9), date).onPresistenceSave();
+            }
+        });
+    }
+
+    @AfterEach
+    void tearDown() { TestDatabaseUtils.clearAllTables(); }
+
+    private static List<Object[]> walk(int sortColumn, boolean ascending, int pageSize) throws Exception {
+        List<Object[]> all = new ArrayList<>();
+        Object[] after = null;
+        while (true) {
+            List<Object[]> page = KeysetPager.STUDENTS.page(sortColumn, ascending, after, pageSize);
+            all.addAll(page);
+            if (page.size() < pageSize) return all;
+            after = page.get(page.size() - 1);
+        }
+    }
+
+    private static void assertOrdered(List<Object[]> rows, int sortColumn, boolean ascending) {
+        Comparator<Object[]> order = Comparator.comparing((Object[] r) -> (String) r[sortColumn],
+                Comparator.nullsFirst(Comparator.<String>naturalOrder()))
+                .thenComparing(r -> (String) r[0]);
+        if (!ascending) order = order.reversed();
+
+        List<Object[]> expected = new ArrayList<>(rows);
+        expected.sort(order);
+        assertEquals(STUDENTS, rows.size());
+        for (int i = 0; i < rows.size(); i++) assertEquals(expected.get(i)[0], rows.get(i)[0]);
+        assertEquals(STUDENTS, rows.stream().map(r -> r[0]).distinct().count());
+    }
+
+    @Test
+    void testPagesCoverListOnceInEveryOrder() throws Exception {
+        assertEquals(STUDENTS, KeysetPager.STUDENTS.count());
+        for (int column : new int[]{0, 1, 4}) {
+            for (boolean ascending : new boolean[]{true, false}) {
+                assertOrdered(walk(column, ascending, 13), column, ascending);
+            }
+        }
+    }
+
+    @Test
+    void testSeekMatchesSequentialPosition() throws Exception {
+        List<Object[]> sequential = walk(4, false, 25);
+        for (int position : new int[]{0, 24, 57, STUDENTS - 1}) {
+            Object[] anchor = KeysetPager.STUDENTS.seek(4, false, position);
+            assertEquals(sequential.get(position)[0], anchor[0]);
+
+            List<Object[]> next = KeysetPager.STUDENTS.page(4, false, anchor, 5);
+            for (int i = 0; i < next.size(); i++) assertEquals(sequential.get(position + 1 + i)[0], next.get(i)[0]);
+        }
+        assertNull(KeysetPager.STUDENTS.seek(0, true, STUDENTS));
+        assertFalse(KeysetPager.STUDENTS.isSortable(2));
+    }
+}
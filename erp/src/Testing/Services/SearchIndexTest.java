@@ -0,0 +1,76 @@
+package Testing.Services;
+
+import Domain.Concretes.Course;
+import Domain.Concretes.Student;
+import Domain.Database.UnitOfWork;
+import Domain.Services.SearchIndex;
+import Testing.Concrete.TestDatabaseUtils;
+import org.junit.jupiter.api.*;
+
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SearchIndexTest {
+
+    @BeforeEach
+    void setUp() throws Exception {
+        TestDatabaseUtils.clearAllTables();
+        UnitOfWork.execute(() -> {
+            new Student("SRC_001", "Ada Lovelace", "2025-01-01", "ada@uni.edu", "1", "pw").onPresistenceSave();
+            new Student("SRC_002", "Alan Turing", "2025-01-01", "turing@uni.edu", "2", "pw").onPresistenceSave();
+            new Student("SRC_003", "Grace Hopper", "2025-01-01", "grace@navy.mil", "3", "pw").onPresistenceSave();
+            new Student("ADA_004", "Charles Babbage", "2025-01-01", "charles@uni.edu", "4", "pw").onPresistenceSave();
+        });
+    }
+
+    @AfterEach
+    void tearDown() { TestDatabaseUtils.clearAllTables(); }
+
+    @Test
+    void testPrefixSubstringAndRanking() throws Exception {
+        SearchIndex index = SearchIndex.STUDENTS;
+        assertEquals(List.of("SRC_003"), index.search("hopp", 10));
+        assertEquals(List.of("SRC_003"), index.search("NAVY", 10));
+        assertEquals(List.of("SRC_002"), index.search("turing", 10));
+        // one and two character terms only match the start of a word
+        assertTrue(index.search("ur", 10).isEmpty());
+        assertEquals(List.of("ADA_004", "SRC_001", "SRC_002"), index.search("a", 10));
+
+        // id prefix outranks a name prefix, which outranks a match inside a word
+        assertEquals(List.of("ADA_004", "SRC_001"), index.search("ada", 10));
+        assertEquals(List.of("SRC_001"), index.search("ada love", 10));
+        assertEquals(List.of("SRC_001", "SRC_002"), index.search("src_00 uni", 10));
+        assertEquals(List.of("SRC_001"), index.search("src", 1));
+        assertTrue(index.search("zzz", 10).isEmpty());
+        assertTrue(index.search("  ", 10).isEmpty());
+    }
+
+    @Test
+    void testCommittedWritesUpdateIndex() throws Exception {
+        SearchIndex index = SearchIndex.STUDENTS;
+        index.ensureLoaded();
+        assertEquals(4, index.size());
+
+        Student ada = new Student("SRC_001");
+        ada.setName("Augusta King");
+        ada.onPresistenceSave();
+        assertTrue(index.search("lovelace", 10).isEmpty());
+        assertEquals(List.of("SRC_001"), index.search("augusta", 10));
+
+        assertThrows(SQLException.class, () -> UnitOfWork.execute(() -> {
+            new Student("SRC_005", "Rolled Back", "2025-01-01", "rb@uni.edu", "5", "pw").onPresistenceSave();
+            throw new SQLException("abort");
+        }));
+        assertTrue(index.search("rolled", 10).isEmpty());
+
+        new Student("SRC_003").onPresistenceDelete();
+        assertTrue(index.search("grace", 10).isEmpty());
+        assertEquals(3, index.size());
+
+        new Course("CS101", "Analytical Engines", 4, 30).onPresistenceSave();
+        assertEquals(List.of("CS101"), SearchIndex.COURSES.search("engine", 10));
+        assertEquals(List.of("CS101"), SearchIndex.COURSES.search("cs1", 10));
+    }
+}
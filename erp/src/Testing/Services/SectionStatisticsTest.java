@@ -0,0 +1,113 @@
+package Testing.Services;
+
+import Domain.Abstracts.UserEntity;
+import Domain.Concretes.Instructor;
+import Domain.Concretes.Section;
+import Domain.Database.UnitOfWork;
+import Domain.Services.SectionStatistics;
+import Testing.Concrete.TestDatabaseUtils;
+import org.junit.jupiter.api.*;
+
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SectionStatisticsTest {
+
+    private Instructor instructor;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        TestDatabaseUtils.clearAllTables();
+        new Section("SEC_ST", "Stats", "C1", "INS_ST", "Sem1", 10, 0).onPresistenceSave();
+        instructor = new Instructor("INS_ST");
+        instructor.assignToSection("SEC_ST");
+        instructor.onPresistenceSave();
+    }
+
+    @AfterEach
+    void tearDown() { TestDatabaseUtils.clearAllTables(); }
+
+    private static Section.GradeRow row(String studentId, float total) {
+        return new Section.GradeRow(studentId, total, 0, 0, 0, 0, 0, 0);
+    }
+
+    private static SectionStatistics reloaded() throws SQLException {
+        SectionStatistics.invalidate("SEC_ST");
+        return SectionStatistics.of("SEC_ST");
+    }
+
+    @Test
+    void testWritesUpdateCachedStatistics() throws Exception {
+        instructor.enterMarksBatch("SEC_ST", List.of(row("S1", 95), row("S2", 72), row("S3", 40)));
+        SectionStatistics stats = SectionStatistics.of("SEC_ST");
+        assertEquals(3, stats.getCount());
+
+        instructor.enterMarks("SEC_ST", "S2", 85, 0, 0, 0, 0, 0, 0);
+        instructor.enterMarksBatch("SEC_ST", List.of(row("S4", 15)));
+
+        assertSame(stats, SectionStatistics.of("SEC_ST"));
+        assertEquals(4, stats.getCount());
+        assertEquals(85f, stats.getTotal("S2"));
+        assertEquals(15f, stats.getLowest());
+        assertEquals(95f, stats.getHighest());
+
+        SectionStatistics fresh = reloaded();
+        assertEquals(fresh.getSum(), stats.getSum(), 0.001);
+        assertEquals(fresh.getMedian(), stats.getMedian());
+        assertEquals(fresh.getGradeCounts(), stats.getGradeCounts());
+        assertArrayEquals(fresh.getScoreBins(), stats.getScoreBins());
+    }
+
+    @Test
+    void testPercentilesAndDistributions() throws Exception {
+        instructor.enterMarksBatch("SEC_ST", List.of(
+                row("S1", 10), row("S2", 20), row("S3", 30), row("S4", 40), row("S5", 100)));
+        SectionStatistics stats = SectionStatistics.of("SEC_ST");
+
+        assertEquals(30f, stats.getMedian());
+        assertEquals(40f, stats.getAverage());
+        assertEquals(20f, stats.getPercentile(25));
+        assertEquals(70f, stats.getPercentile(87.5));
+        assertEquals(100f, stats.getPercentile(100));
+
+        assertEquals(1, stats.getGradeCounts().get("O"));
+        assertEquals(1, stats.getGradeCounts().get("C-"));
+        assertEquals(1, stats.getGradeCounts().get("D"));
+        assertEquals(2, stats.getGradeCounts().get("F"));
+
+        int[] bins = stats.getScoreBins();
+        assertEquals(1, bins[1]);
+        assertEquals(1, bins[4]);
+        assertEquals(1, bins[SectionStatistics.SCORE_BINS - 1]);
+    }
+
+    @Test
+    void testRolledBackWriteIsNotApplied() throws Exception {
+        instructor.enterMarksBatch("SEC_ST", List.of(row("S1", 50)));
+        SectionStatistics stats = SectionStatistics.of("SEC_ST");
+
+        assertThrows(SQLException.class, () -> UnitOfWork.execute(() -> {
+            Section.writeGrades("SEC_ST", List.of(row("S1", 90), row("S2", 60)),
+                    UserEntity.Permission.PERMISSION_ADMIN);
+            throw new SQLException("abort");
+        }));
+
+        assertEquals(1, stats.getCount());
+        assertEquals(50f, stats.getTotal("S1"));
+        assertEquals(1, reloaded().getCount());
+    }
+
+    @Test
+    void testSlabChangeRebuildsGrades() throws Exception {
+        instructor.enterMarksBatch("SEC_ST", List.of(row("S1", 85)));
+        assertEquals(1, SectionStatistics.of("SEC_ST").getGradeCounts().get("A-"));
+
+        Section section = new Section("SEC_ST");
+        section.setA(84);
+        section.onPresistenceSave();
+
+        assertEquals(1, SectionStatistics.of("SEC_ST").getGradeCounts().get("A"));
+    }
+}
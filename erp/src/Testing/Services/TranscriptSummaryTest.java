@@ -0,0 +1,109 @@
+package Testing.Services;
+
+import Domain.Concretes.Admin;
+import Domain.Concretes.Course;
+import Domain.Concretes.Section;
+import Domain.Concretes.Student;
+import Domain.Services.TranscriptSummary;
+import Testing.Concrete.TestDatabaseUtils;
+import org.junit.jupiter.api.*;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TranscriptSummaryTest {
+
+    private Student student;
+    private Admin admin;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        TestDatabaseUtils.clearAllTables();
+        new Course("TC_A", "Course A", 4, 10).onPresistenceSave();
+        new Course("TC_B", "Course B", 2, 10).onPresistenceSave();
+        new Course("TC_C", "Course C", 3, 10).onPresistenceSave();
+        new Section("TS_A", "Section A", "TC_A", "INS", "Sem1", 10, 0).onPresistenceSave();
+        new Section("TS_B", "Section B", "TC_B", "INS", "Sem1", 10, 0).onPresistenceSave();
+        new Section("TS_C", "Section C", "TC_C", "INS", "Sem2", 10, 0).onPresistenceSave();
+
+        student = new Student("TSTU", "Transcript Student", "2025-01-01");
+        student.onPresistenceSave();
+        student.enrollInCourse("TS_A");
+        student.enrollInCourse("TS_B");
+        student.enrollInCourse("TS_C");
+
+        admin = new Admin("ADMIN", "Administrator");
+        admin.overrideStudentGrade("TS_A", "TSTU", 85, 0, 0, 0, 0, 0, 0); // A- : 9
+        admin.overrideStudentGrade("TS_B", "TSTU", 50, 5, 0, 0, 0, 0, 0); // C  : 6
+    }
+
+    @AfterEach
+    void tearDown() { TestDatabaseUtils.clearAllTables(); }
+
+    private TranscriptSummary semester(String semester) throws Exception {
+        for (TranscriptSummary s : TranscriptSummary.forStudent("TSTU")) {
+            if (s.getSemester().equals(semester)) return s;
+        }
+        return null;
+    }
+
+    @Test
+    void testSummaryFollowsGradeWrites() throws Exception {
+        List<TranscriptSummary> rows = TranscriptSummary.forStudent("TSTU");
+        assertEquals(2, rows.size());
+
+        TranscriptSummary sem1 = semester("Sem1");
+        assertEquals(6, sem1.getCredits());
+        assertEquals(48.0, sem1.getGradePoints(), 0.001);
+        assertEquals(8.0, sem1.getSgpa(), 0.001);
+        assertEquals(TranscriptSummary.GOOD_STANDING, sem1.getStanding());
+
+        TranscriptSummary sem2 = semester("Sem2");
+        assertEquals(3, sem2.getCredits());
+        assertEquals(0.0, sem2.getSgpa(), 0.001);
+        assertEquals(TranscriptSummary.ACADEMIC_WARNING, sem2.getStanding());
+
+        admin.overrideStudentGrade("TS_C", "TSTU", 95, 0, 0, 0, 0, 0, 0);
+        assertEquals(10.0, semester("Sem2").getSgpa(), 0.001);
+    }
+
+    @Test
+    void testSlabAndCreditChangesRecompute() throws Exception {
+        Section section = new Section("TS_B");
+        section.setC(56);
+        section.onPresistenceSave();
+        assertEquals(46.0 / 6, semester("Sem1").getSgpa(), 0.001);
+
+        Course course = new Course("TC_B");
+        course.setCredits(4);
+        course.onPresistenceSave();
+        assertEquals(8, semester("Sem1").getCredits());
+        assertEquals(56.0 / 8, semester("Sem1").getSgpa(), 0.001);
+    }
+
+    @Test
+    void testDroppingLastSectionRemovesSemester() throws Exception {
+        student.dropFromCourse("TS_C");
+        assertNull(semester("Sem2"));
+
+        student.dropFromCourse("TS_B");
+        assertEquals(4, semester("Sem1").getCredits());
+        assertEquals(9.0, semester("Sem1").getSgpa(), 0.001);
+    }
+
+    @Test
+    void testRebuildMatchesMaintainedRows() throws Exception {
+        List<TranscriptSummary> maintained = TranscriptSummary.forStudent("TSTU");
+
+        assertEquals(2, TranscriptSummary.rebuildAll());
+        List<TranscriptSummary> rebuilt = TranscriptSummary.forStudent("TSTU");
+
+        assertEquals(maintained.size(), rebuilt.size());
+        for (int i = 0; i < maintained.size(); i++) {
+            assertEquals(maintained.get(i).getSemester(), rebuilt.get(i).getSemester());
+            assertEquals(maintained.get(i).getCredits(), rebuilt.get(i).getCredits());
+            assertEquals(maintained.get(i).getGradePoints(), rebuilt.get(i).getGradePoints(), 0.001);
+        }
+    }
+}
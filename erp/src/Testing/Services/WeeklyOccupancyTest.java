@@ -0,0 +1,93 @@
+package Testing.Services;
+
+import Domain.Concretes.Admin;
+import Domain.Concretes.Section;
+import Domain.Concretes.Student;
+import Domain.Services.WeeklyOccupancy;
+import Testing.Concrete.TestDatabaseUtils;
+import org.junit.jupiter.api.*;
+
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WeeklyOccupancyTest {
+
+    private Admin admin;
+    private Student student;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        TestDatabaseUtils.clearAllTables();
+        new Section("WO_A", "Section A", "C1", "INS", "Sem1", 10, 0).onPresistenceSave();
+        new Section("WO_B", "Section B", "C2", "INS", "Sem1", 10, 0).onPresistenceSave();
+        new Section("WO_C", "Section C", "C3", "INS", "Sem2", 10, 0).onPresistenceSave();
+
+        admin = new Admin("ADMIN", "Administrator");
+        admin.setSectionTimetable("WO_A", List.of(new Section.TimeSlot("Monday", "10:00", 90, "R1")));
+        student = new Student("WO_STU", "Occupancy Student", "2025-01-01");
+        student.onPresistenceSave();
+    }
+
+    @AfterEach
+    void tearDown() { TestDatabaseUtils.clearAllTables(); }
+
+    @Test
+    void testBitsetOverlap() {
+        WeeklyOccupancy week = new WeeklyOccupancy();
+        week.add("S1", "Monday", "00:50", 30);   // crosses the first 64 minute word
+        week.add("S2", "sunday", "23:30", 120);  // clamped to the end of the week
+
+        assertEquals(50, WeeklyOccupancy.minuteOfWeek("Monday", "00:50"));
+        assertEquals(-1, WeeklyOccupancy.minuteOfWeek("Someday", "10:00"));
+        assertEquals(-1, WeeklyOccupancy.minuteOfWeek("Monday", "25:00"));
+
+        assertEquals("S1", week.conflictOf("Monday", "01:19", 10));
+        assertNull(week.conflictOf("Monday", "01:20", 10));
+        assertNull(week.conflictOf("Monday", "00:00", 50));
+        assertEquals("S2", week.conflictOf("Sunday", "23:59", 1));
+    }
+
+    @Test
+    void testClashingEnrollmentIsRejected() throws Exception {
+        student.enrollInCourse("WO_A");
+        admin.setSectionTimetable("WO_B", List.of(new Section.TimeSlot("Monday", "11:00", 60, "R2")));
+
+        SQLException e = assertThrows(SQLException.class, () -> student.enrollInCourse("WO_B"));
+        assertTrue(e.getMessage().contains("WO_A"), e.getMessage());
+        assertEquals(0, new Section("WO_B").getContains());
+        assertFalse(new Student("WO_STU").getWeeklySchedule("Sem1").containsKey("WO_B"));
+
+        admin.setSectionTimetable("WO_C", List.of(new Section.TimeSlot("Monday", "10:00", 60, "R1")));
+        student.enrollInCourse("WO_C"); // same time, other semester
+    }
+
+    @Test
+    void testBackToBackSlotsDoNotClash() throws Exception {
+        admin.setSectionTimetable("WO_B", List.of(new Section.TimeSlot("Monday", "11:30", 60, "R1")));
+        student.enrollInCourse("WO_A");
+        student.enrollInCourse("WO_B");
+    }
+
+    @Test
+    void testTimetableEditsAreChecked() throws Exception {
+        SQLException room = assertThrows(SQLException.class, () -> admin.setSectionTimetable("WO_B",
+                List.of(new Section.TimeSlot("Monday", "09:00", 90, "R1"))));
+        assertTrue(room.getMessage().contains("WO_A"), room.getMessage());
+        assertTrue(new Section("WO_B").getTimetable().isEmpty());
+
+        assertThrows(SQLException.class, () -> admin.setSectionTimetable("WO_B", List.of(
+                new Section.TimeSlot("Tuesday", "09:00", 90, "R2"),
+                new Section.TimeSlot("Tuesday", "10:00", 30, "R3"))));
+
+        student.enrollInCourse("WO_A");
+        student.enrollInCourse("WO_B");
+        SQLException classmate = assertThrows(SQLException.class, () -> admin.setSectionTimetable("WO_B",
+                List.of(new Section.TimeSlot("Monday", "11:00", 60, "R2"))));
+        assertTrue(classmate.getMessage().contains("WO_A"), classmate.getMessage());
+
+        admin.setSectionTimetable("WO_B", List.of(new Section.TimeSlot("Monday", "12:00", 60, "R2")));
+        assertEquals(1, new Section("WO_B").getTimetable().size());
+    }
+}
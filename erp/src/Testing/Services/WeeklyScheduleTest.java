@@ -0,0 +1,76 @@
+package Testing.Services;
+
+import Domain.Concretes.Admin;
+import Domain.Concretes.Course;
+import Domain.Concretes.Section;
+import Domain.Concretes.Student;
+import Domain.Services.WeeklySchedule;
+import Testing.Concrete.TestDatabaseUtils;
+import org.junit.jupiter.api.*;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WeeklyScheduleTest {
+
+    private Admin admin;
+    private Student student;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        TestDatabaseUtils.clearAllTables();
+        new Course("WS_C", "Scheduling", 4, 10).onPresistenceSave();
+        new Section("WS_A", "Section A", "WS_C", "INS", "Sem1", 10, 0).onPresistenceSave();
+        new Section("WS_B", "Section B", "NO_COURSE", "INS", "Sem1", 10, 0).onPresistenceSave();
+
+        admin = new Admin("ADMIN", "Administrator");
+        admin.setSectionTimetable("WS_A", List.of(
+                new Section.TimeSlot("Monday", "09:00", 60, "R1"),
+                new Section.TimeSlot("Wednesday", "09:00", 60, "R1")));
+        admin.setSectionTimetable("WS_B", List.of(new Section.TimeSlot("Tuesday", "11:00", 90, "R2")));
+
+        student = new Student("WS_STU", "Schedule Student", "2025-01-01");
+        student.onPresistenceSave();
+        student.enrollInCourse("WS_A");
+    }
+
+    @AfterEach
+    void tearDown() { TestDatabaseUtils.clearAllTables(); }
+
+    @Test
+    void testScheduleJoinsNames() throws Exception {
+        student.enrollInCourse("WS_B");
+        WeeklySchedule schedule = WeeklySchedule.of("WS_STU", "Sem1");
+
+        assertEquals(3, schedule.getEntries().size());
+        assertEquals(2, schedule.getSlotsBySection().get("WS_A").size());
+        for (WeeklySchedule.Entry entry : schedule.getEntries()) {
+            assertEquals(entry.sectionId.equals("WS_A") ? "Scheduling" : "Section B", entry.getTitle());
+        }
+        assertTrue(WeeklySchedule.of("WS_STU", "Sem2").getEntries().isEmpty());
+    }
+
+    @Test
+    void testCachedUntilEnrollmentOrTimetableChanges() throws Exception {
+        WeeklySchedule first = WeeklySchedule.of("WS_STU", "Sem1");
+        assertSame(first, WeeklySchedule.of("WS_STU", "Sem1"));
+
+        student.enrollInCourse("WS_B");
+        WeeklySchedule enrolled = WeeklySchedule.of("WS_STU", "Sem1");
+        assertNotSame(first, enrolled);
+        assertEquals(3, enrolled.getEntries().size());
+
+        admin.setSectionTimetable("WS_B", List.of());
+        assertEquals(2, WeeklySchedule.of("WS_STU", "Sem1").getEntries().size());
+
+        student.dropFromCourse("WS_A");
+        assertTrue(student.getWeeklySchedule("Sem1").isEmpty());
+
+        Course course = new Course("WS_C");
+        course.setName("Renamed");
+        course.onPresistenceSave();
+        student.enrollInCourse("WS_A");
+        assertEquals("Renamed", WeeklySchedule.of("WS_STU", "Sem1").getEntries().get(0).getTitle());
+    }
+}